@@ -1,16 +1,20 @@
-
-package classes.clienttools;
-
-import java.io.*;
-
-
-/**
-    This class holds the changeable server options. When these options may have changed, clients download an instance of this class to get the new options.
-    @author Belicza Andras
-*/
-public class ChangeableServerOptions implements Serializable {
-
-    /** Value of the serverOptions.gameType. */
-    public int gameType;
-    
-}
+
+package classes.clienttools;
+
+import java.io.*;
+
+
+/**
+    This class holds the changeable server options. When these options may have changed, clients download an instance of this class to get the new options.
+    @author Belicza Andras
+*/
+public class ChangeableServerOptions implements Serializable {
+
+    /** Value of the serverOptions.gameType. */
+    public int  gameType;
+    /** Value of the serverOptions.periodTime (duration of a cycle of the server). */
+    public long periodTime;
+    /** Value of the serverOptions.snapshotAtCyclesCount (number of cycles of the server in a snapshot tick). */
+    public int  snapshotAtCyclesCount;
+    
+}
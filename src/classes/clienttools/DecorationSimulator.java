@@ -0,0 +1,120 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.decorations.*;
+import java.awt.*;
+
+
+/**
+    Simulates the decorations on the client. The server only tells the decoration bursts, the point decorations
+    are spawned from them here (every client spawns the same ones), and are stepped by the same movement rules as the server would do.
+    The decorations are stepped once for every cycle of the server (a snapshot tick is one or more cycles), the ones of a new burst are stepped
+    from the tick of the burst, so they are at the same place as if we had seen the burst in time.
+*/
+class DecorationSimulator {
+
+    /** Maximum number of ticks stepped at once (decorations have settled by then anyway). */
+    private static final int MAX_STEPPED_TICKS = 200;
+
+    /** Width of the map. */
+    private final int              mapWidth;
+    /** Height of the map. */
+    private final int              mapHeight;
+    /** The simulated point decorations. */
+    private final PointDecorations pointDecorations      = new PointDecorations();
+    /** The map datas the movement rules are working on. */
+    private byte[]                 mapDatas;
+    /** The movement rules, null until the map datas arrive. */
+    private MovementRules          movementRules;
+    /** Tick of the last simulated snapshot. */
+    private int                    lastTick              = SnapshotConsts.NO_TICK;
+    /** Entity id of the last spawned decoration burst (entity ids are given out in increasing order). */
+    private int                    lastDecorationBurstId = HasEntityId.NO_ENTITY_ID;
+    /** Number of cycles of the server in a snapshot tick. */
+    private volatile int           cyclesPerTick         = 1;
+
+    /**
+        Creates a new DecorationSimulator.
+        @param mapWidth width of the map
+        @param mapHeight height of the map
+    */
+    DecorationSimulator( final int mapWidth, final int mapHeight ) {
+        this.mapWidth  = mapWidth;
+        this.mapHeight = mapHeight;
+    }
+
+    /**
+        Sets the map datas. The movement rules are recreated only if the datas are replaced (a full map update arrived),
+        the changes are applied by the map receiver in place.
+        @param mapDatas the map datas
+    */
+    void setMapDatas( final byte[] mapDatas ) {
+        if ( mapDatas == null || mapDatas == this.mapDatas )
+            return;
+        this.mapDatas = mapDatas;
+        movementRules = new MovementRules( new Map( mapDatas, mapWidth, mapHeight ) );
+    }
+
+    /**
+        Sets the number of cycles of the server in a snapshot tick.
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+    */
+    void setCyclesPerTick( final int cyclesPerTick ) {
+        this.cyclesPerTick = Math.max( 1, cyclesPerTick );
+    }
+
+    /**
+        Draws the simulated decorations being in a window.
+        @param graphicsContext graphics context in wich to draw
+        @param windowX1 x coordinate of the upper left corner of the window
+        @param windowY1 y coordinate of the upper left corner of the window
+        @param windowX2 x coordinate of the lower right corner of the window
+        @param windowY2 y coordinate of the lower right corner of the window
+        @param doubleSized tells whether we have to draw the point decorations in double size
+        @param rubblesColor color of the rubbles
+    */
+    synchronized void draw( final Graphics graphicsContext, final int windowX1, final int windowY1, final int windowX2, final int windowY2, final boolean doubleSized, final Color rubblesColor ) {
+        pointDecorations.draw( graphicsContext, windowX1, windowY1, windowX2, windowY2, doubleSized, rubblesColor );
+    }
+
+    /**
+        Simulates the decorations up to the tick of an applied snapshot, and spawns the decorations of the new bursts of the snapshot.
+        Nothing is simulated until the map datas arrive (the bursts are kept in the snapshots for a while, they will not be lost).
+        @param snapshot the applied snapshot
+        @throws IOException if a record is corrupt
+    */
+    synchronized void simulate( final WorldSnapshot snapshot ) throws IOException {
+        if ( movementRules == null )
+            return;
+        final int tick = snapshot.getTick();
+        if ( lastTick != SnapshotConsts.NO_TICK )
+            for ( int steppedTick = Math.max( lastTick + 1, tick - MAX_STEPPED_TICKS + 1 ); steppedTick <= tick; steppedTick++ )
+                stepTick( 0 );
+        lastTick = tick;
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_DECORATION_BURSTS ); index++ ) {
+            final int decorationBurstId = snapshot.getId( SnapshotConsts.SECTION_DECORATION_BURSTS, index );
+            if ( decorationBurstId <= lastDecorationBurstId )
+                continue;
+            lastDecorationBurstId = decorationBurstId;
+            final DecorationBurst decorationBurst = EntityCodec.decodeDecorationBurst( snapshot.getRecord( SnapshotConsts.SECTION_DECORATION_BURSTS, index ) );
+            final int             fromIndex       = pointDecorations.size();   // The point decorations of the burst are appended to the end
+            decorationBurst.spawnPointDecorations( pointDecorations );
+            for ( int steppedTick = Math.max( decorationBurst.getSpawnTick(), tick - MAX_STEPPED_TICKS + 1 ); steppedTick <= tick; steppedTick++ )
+                stepTick( fromIndex );
+        }
+    }
+
+    /**
+        Steps point decorations by the cycles of a tick.
+        @param fromIndex index of the first point decoration to step (the following ones are stepped all)
+    */
+    private void stepTick( final int fromIndex ) {
+        for ( int cycleCounter = cyclesPerTick; cycleCounter > 0; cycleCounter-- )
+            movementRules.stepPointDecorations( pointDecorations, fromIndex );
+    }
+
+}
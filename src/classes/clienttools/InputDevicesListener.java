@@ -1,207 +1,246 @@
-
-package classes.clienttools;
-
-import java.awt.event.*;
-import classes.servertools.*;
-import java.rmi.*;
-import classes.servertools.gamecore.*;
-import java.awt.*;
-
-
-/**
-    Listens and process input device events: keyboard and mouse.
-    @author Belicza Andras
-*/
-class InputDevicesListener implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
-
-    /** Array of control keys. */
-    public static final int[] CONTROL_KEYS = { KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT };
-
-    /** Reference to the remote player. */
-    private final RemotePlayer          remotePlayer;
-    /** Reference to the client side game handler. */
-    private final ClientSideGameHandler clientSideGameHandler;
-    /** Point of the mouse (in the game sceen component). */
-    private final Point                 mousePoint    = new Point();
-    /** Position of the mouse in the terrain. */
-    private final FloatVector           mousePosition = new FloatVector();
-
-    /**
-        Creates a new InputDevicesListener.
-        @param remotePlayer reference to the remote player
-        @param clientSideGameHandler reference to the client side game handler
-    */
-    InputDevicesListener( final RemotePlayer remotePlayer, final ClientSideGameHandler clientSideGameHandler ) {
-        this.remotePlayer          = remotePlayer;
-        this.clientSideGameHandler = clientSideGameHandler;
-    }
-    
-    /**
-        To handle keypressed events (implementing KeyListener interface).
-        @param ke details of the key event
-    */
-    public void keyPressed( final KeyEvent ke ) {
-        final int keyCode = ke.getKeyCode();
-        try {
-            for ( int controlKeyIndex = 0; controlKeyIndex < CONTROL_KEYS.length; controlKeyIndex++ )
-                if ( keyCode == CONTROL_KEYS[ controlKeyIndex ] ) {
-                    remotePlayer.setControlKeyState( controlKeyIndex, true );
-                    break;
-                }
-            if ( keyCode == KeyEvent.VK_PAUSE )
-                remotePlayer.requestForPauseOrResume();
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        To handle keyreleased events (implementing KeyListener interface).
-        @param ke details of the key event
-    */
-    public void keyReleased( final KeyEvent ke ) {
-        final int keyCode = ke.getKeyCode();
-        try {
-            for ( int controlKeyIndex = 0; controlKeyIndex <CONTROL_KEYS.length; controlKeyIndex++ )
-                if ( keyCode == CONTROL_KEYS[ controlKeyIndex ] ) {
-                    remotePlayer.setControlKeyState( controlKeyIndex, false );
-                    break;
-                }
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        To handle keytyped events (implementing KeyListener interface).
-        @param ke details of the key event
-    */
-    public void keyTyped( final KeyEvent ke ) {
-        final int keyChar = ke.getKeyChar();
-        try {
-            if ( keyChar >= KeyEvent.VK_1 && keyChar <= KeyEvent.VK_9 ) {
-                remotePlayer.selectWeapon( keyChar - KeyEvent.VK_1 );
-                return;
-            }
-            switch( keyChar ) {
-                case '+':
-                    clientSideGameHandler.increaseGameSceenDimension();
-                    break;
-                case '-':
-                    clientSideGameHandler.decreaseGameSceenDimension();
-                    break;
-                case '*':
-                    clientSideGameHandler.increaseMapZoomingFactor();
-                    break;
-                case '/':
-                    clientSideGameHandler.decreaseMapZoomingFactor();
-                    break;
-            }
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        To handle mouseclicked events (implementing MouseListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseClicked( final MouseEvent me ) {
-    }
-
-    /**
-        To handle mouseentered events (implementing MouseListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseEntered( final MouseEvent me ) {
-    }
-
-    /**
-        To handle mouseexited events (implementing MouseListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseExited( final MouseEvent me ) {
-    }
-
-    /**
-        To handle mousePressed events (implementing MouseListener interface).
-        @param me details of the mouse event
-    */
-    public void mousePressed( final MouseEvent me ) {
-        try {
-            if ( me.getButton() == MouseEvent.BUTTON1 )       // left button
-                remotePlayer.setControlKeyState( Player.KEY_INDEX_FIRE, true );
-            else if ( me.getButton() == MouseEvent.BUTTON3 )  // right button
-                remotePlayer.setControlKeyState( Player.KEY_INDEX_ROPE, true );
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        To handle mousereleased events (implementing MouseListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseReleased( final MouseEvent me ) {
-        try {
-            if ( me.getButton() == MouseEvent.BUTTON1 )       // left button
-                remotePlayer.setControlKeyState( Player.KEY_INDEX_FIRE, false );
-            else if ( me.getButton() == MouseEvent.BUTTON3 )  // right button
-                remotePlayer.setControlKeyState( Player.KEY_INDEX_ROPE, false );
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        To handle mousedragged events (implementing MouseMotionListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseDragged( final MouseEvent me ) {
-        mousePoint.setLocation( me.getPoint() );
-        updateMousePosition();
-    }
-
-    /**
-        To handle mousemoved events (implementing MouseMotionListener interface).
-        @param me details of the mouse event
-    */
-    public void mouseMoved( final MouseEvent me ) {
-        mousePoint.setLocation( me.getPoint() );
-        updateMousePosition();
-    }
-
-    /**
-        To handle mousewheelmoved events ( implementing MouseWheelListener interface).
-        @param me details of the mouse wheel moved event
-    */
-    public void mouseWheelMoved( final MouseWheelEvent me ) {
-        try {
-            remotePlayer.rotateWeaponBy( me.getWheelRotation() );
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-
-    /**
-        Updates the position of the mouse at the server.
-    */
-    public void updateMousePosition() {
-        try {
-            mousePosition.x = mousePoint.x - clientSideGameHandler.getContextTranslationX();
-            mousePosition.y = mousePoint.y - clientSideGameHandler.getContextTranslationY();
-            remotePlayer.setMousePosition( mousePosition.x, mousePosition.y );
-        }
-        catch ( RemoteException re ) {
-        }
-    }
-    
-    /**
-        Returns the position of the mouse.
-        @return the position of the mouse
-    */
-    public FloatVector getMousePosition() {
-        return mousePosition;
-    }
-
-}
+
+package classes.clienttools;
+
+import java.awt.event.*;
+import classes.servertools.*;
+import java.rmi.*;
+import classes.servertools.gamecore.*;
+import java.awt.*;
+import classes.nettools.*;
+
+
+/**
+    Listens and process input device events: keyboard and mouse.
+    The control inputs are collected into input frames (one per client tick) instead of being sent to the server one by one.
+    @author Belicza Andras
+*/
+class InputDevicesListener implements KeyListener, MouseListener, MouseMotionListener, MouseWheelListener {
+
+    /** Array of control keys. */
+    public static final int[] CONTROL_KEYS = { KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT };
+
+    /** Reference to the remote player. */
+    private final RemotePlayer          remotePlayer;
+    /** Reference to the client side game handler. */
+    private final ClientSideGameHandler clientSideGameHandler;
+    /** Point of the mouse (in the game sceen component). */
+    private final Point                 mousePoint    = new Point();
+    /** Position of the mouse in the terrain. */
+    private final FloatVector           mousePosition = new FloatVector();
+    /** States of the control keys, bit i is set if the control key of index i is pressed. */
+    private int                         controlKeyBits;
+    /** Control keys pressed since the last input frame (so taps shorter than a tick are not lost). */
+    private int                         pressedControlKeyBits;
+    /** Index of the weapon selected since the last input frame, or InputFrame.NO_WEAPON_SELECTION. */
+    private int                         weaponSelection = InputFrame.NO_WEAPON_SELECTION;
+    /** Sum of the weapon rotations since the last input frame. */
+    private int                         weaponRotation;
+    /** The last created input frame. */
+    private InputFrame                  lastInputFrame;
+
+    /**
+        Creates a new InputDevicesListener.
+        @param remotePlayer reference to the remote player
+        @param clientSideGameHandler reference to the client side game handler
+    */
+    InputDevicesListener( final RemotePlayer remotePlayer, final ClientSideGameHandler clientSideGameHandler ) {
+        this.remotePlayer          = remotePlayer;
+        this.clientSideGameHandler = clientSideGameHandler;
+    }
+    
+    /**
+        To handle keypressed events (implementing KeyListener interface).
+        @param ke details of the key event
+    */
+    public void keyPressed( final KeyEvent ke ) {
+        final int keyCode = ke.getKeyCode();
+        try {
+            for ( int controlKeyIndex = 0; controlKeyIndex < CONTROL_KEYS.length; controlKeyIndex++ )
+                if ( keyCode == CONTROL_KEYS[ controlKeyIndex ] ) {
+                    setControlKeyState( controlKeyIndex, true );
+                    break;
+                }
+            if ( keyCode == KeyEvent.VK_PAUSE )
+                remotePlayer.requestForPauseOrResume();
+        }
+        catch ( RemoteException re ) {
+        }
+    }
+
+    /**
+        To handle keyreleased events (implementing KeyListener interface).
+        @param ke details of the key event
+    */
+    public void keyReleased( final KeyEvent ke ) {
+        final int keyCode = ke.getKeyCode();
+        for ( int controlKeyIndex = 0; controlKeyIndex <CONTROL_KEYS.length; controlKeyIndex++ )
+            if ( keyCode == CONTROL_KEYS[ controlKeyIndex ] ) {
+                setControlKeyState( controlKeyIndex, false );
+                break;
+            }
+    }
+
+    /**
+        To handle keytyped events (implementing KeyListener interface).
+        @param ke details of the key event
+    */
+    public void keyTyped( final KeyEvent ke ) {
+        final int keyChar = ke.getKeyChar();
+        if ( keyChar >= KeyEvent.VK_1 && keyChar <= KeyEvent.VK_9 ) {
+            synchronized ( this ) {
+                weaponSelection = keyChar - KeyEvent.VK_1;
+                weaponRotation  = 0;
+            }
+            return;
+        }
+        switch( keyChar ) {
+            case '+':
+                clientSideGameHandler.increaseGameSceenDimension();
+                break;
+            case '-':
+                clientSideGameHandler.decreaseGameSceenDimension();
+                break;
+            case '*':
+                clientSideGameHandler.increaseMapZoomingFactor();
+                break;
+            case '/':
+                clientSideGameHandler.decreaseMapZoomingFactor();
+                break;
+        }
+    }
+
+    /**
+        To handle mouseclicked events (implementing MouseListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseClicked( final MouseEvent me ) {
+    }
+
+    /**
+        To handle mouseentered events (implementing MouseListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseEntered( final MouseEvent me ) {
+    }
+
+    /**
+        To handle mouseexited events (implementing MouseListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseExited( final MouseEvent me ) {
+    }
+
+    /**
+        To handle mousePressed events (implementing MouseListener interface).
+        @param me details of the mouse event
+    */
+    public void mousePressed( final MouseEvent me ) {
+        if ( me.getButton() == MouseEvent.BUTTON1 )       // left button
+            setControlKeyState( Player.KEY_INDEX_FIRE, true );
+        else if ( me.getButton() == MouseEvent.BUTTON3 )  // right button
+            setControlKeyState( Player.KEY_INDEX_ROPE, true );
+    }
+
+    /**
+        To handle mousereleased events (implementing MouseListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseReleased( final MouseEvent me ) {
+        if ( me.getButton() == MouseEvent.BUTTON1 )       // left button
+            setControlKeyState( Player.KEY_INDEX_FIRE, false );
+        else if ( me.getButton() == MouseEvent.BUTTON3 )  // right button
+            setControlKeyState( Player.KEY_INDEX_ROPE, false );
+    }
+
+    /**
+        To handle mousedragged events (implementing MouseMotionListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseDragged( final MouseEvent me ) {
+        mousePoint.setLocation( me.getPoint() );
+        updateMousePosition();
+    }
+
+    /**
+        To handle mousemoved events (implementing MouseMotionListener interface).
+        @param me details of the mouse event
+    */
+    public void mouseMoved( final MouseEvent me ) {
+        mousePoint.setLocation( me.getPoint() );
+        updateMousePosition();
+    }
+
+    /**
+        To handle mousewheelmoved events ( implementing MouseWheelListener interface).
+        @param me details of the mouse wheel moved event
+    */
+    public synchronized void mouseWheelMoved( final MouseWheelEvent me ) {
+        weaponRotation += me.getWheelRotation();
+    }
+
+    /**
+        Updates the position of the mouse in the terrain. It will be sent to the server in the next input frame.
+    */
+    public synchronized void updateMousePosition() {
+        mousePosition.x = mousePoint.x - clientSideGameHandler.getContextTranslationX();
+        mousePosition.y = mousePoint.y - clientSideGameHandler.getContextTranslationY();
+    }
+
+    /**
+        Sets the state of a control key. It will be sent to the server in the next input frame.
+        @param keyIndex the index of the key
+        @param state state of the key, true if pressed, false if released
+    */
+    private synchronized void setControlKeyState( final int keyIndex, final boolean state ) {
+        if ( state ) {
+            controlKeyBits        |= 1 << keyIndex;
+            pressedControlKeyBits |= 1 << keyIndex;
+        }
+        else
+            controlKeyBits &= ~( 1 << keyIndex );
+    }
+
+    /**
+        Creates the input frame of a client tick from the inputs collected since the last frame.
+        @param tick the client tick
+        @param viewWidth width of the view of the client
+        @param viewHeight height of the view of the client
+        @return the input frame of the tick, or null if the input has not changed since the last frame
+    */
+    public synchronized InputFrame createInputFrame( final int tick, final int viewWidth, final int viewHeight ) {
+        final int controlKeyBits = this.controlKeyBits | pressedControlKeyBits;
+        if ( lastInputFrame != null && lastInputFrame.controlKeyBits == controlKeyBits && lastInputFrame.aimX == mousePosition.x && lastInputFrame.aimY == mousePosition.y
+             && weaponSelection == InputFrame.NO_WEAPON_SELECTION && weaponRotation == 0 && lastInputFrame.viewWidth == viewWidth && lastInputFrame.viewHeight == viewHeight )
+            return null;
+        lastInputFrame        = new InputFrame( tick, controlKeyBits, mousePosition.x, mousePosition.y, weaponSelection, weaponRotation, viewWidth, viewHeight );
+        pressedControlKeyBits = 0;
+        weaponSelection       = InputFrame.NO_WEAPON_SELECTION;
+        weaponRotation        = 0;
+        return lastInputFrame;
+    }
+
+    /**
+        Returns the states of the control keys of the last input frame (the server handles our worm by these until the next frame).
+        @return the states of the control keys of the last input frame
+    */
+    public synchronized int getControlKeyBits() {
+        return lastInputFrame == null ? 0 : lastInputFrame.controlKeyBits;
+    }
+    
+    /**
+        Returns the tick of the last input frame.
+        @return the tick of the last input frame, or SnapshotConsts.NO_TICK if no input frame has been created yet
+    */
+    public synchronized int getLastInputFrameTick() {
+        return lastInputFrame == null ? SnapshotConsts.NO_TICK : lastInputFrame.tick;
+    }
+
+    /**
+        Returns the position of the mouse.
+        @return the position of the mouse
+    */
+    public FloatVector getMousePosition() {
+        return mousePosition;
+    }
+
+}
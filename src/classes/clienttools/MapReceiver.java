@@ -0,0 +1,65 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.utilities.*;
+
+
+/**
+    Receives the map updates and applies them to the map datas of the client.
+*/
+public class MapReceiver implements SnapshotConsts {
+
+    /** The datas of the map, null until the first full update arrives. */
+    private byte[] mapDatas;
+    /** Version of the map datas. */
+    private int    version = NO_MAP_VERSION;
+
+    /**
+        Returns the datas of the map. The array is updated in place by the updates of changes.
+        @return the datas of the map, or null if no full update has arrived yet
+    */
+    public byte[] getMapDatas() {
+        return mapDatas;
+    }
+
+    /**
+        Returns the version of the map datas (this is what we ask the changes since).
+        @return the version of the map datas
+    */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+        Applies a map update. Updates made against a different version than ours are dropped.
+        @param update the encoded update
+        @return true if the update has been applied; false if it has been dropped
+    */
+    public boolean applyUpdate( final byte[] update ) {
+        try {
+            final DataInputStream input       = new DataInputStream( new ByteArrayInputStream( update ) );
+            final int             newVersion  = input.readInt();
+            final int             baseVersion = input.readInt();
+            if ( input.readByte() == MAP_UPDATE_FULL ) {
+                final byte[] newMapDatas = new byte[ input.readInt() ];
+                input.readFully( newMapDatas );
+                mapDatas = newMapDatas;
+            }
+            else {
+                if ( mapDatas == null || baseVersion != version )
+                    return false;
+                for ( int changesCount = input.readInt(); changesCount > 0; changesCount-- )
+                    mapDatas[ input.readInt() ] = input.readByte();
+            }
+            version = newVersion;
+            return true;
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Receives the message updates, and drops the messages which have been received already.
+*/
+public class MessageReceiver implements SnapshotConsts {
+
+    /** Sequence of the last received message. */
+    private int          lastSequence = NO_MESSAGE_SEQUENCE;
+    /** The new messages of the last applied update. */
+    private final Vector messages     = new Vector();
+
+    /**
+        Returns the sequence of the last received message (this is what we acknowledge to the server).
+        @return the sequence of the last received message
+    */
+    public int getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+        Returns the new messages of the last applied update.
+        @return the new messages of the last applied update
+    */
+    public Vector getMessages() {
+        return messages;
+    }
+
+    /**
+        Applies a message update: the messages we have not received yet become the new messages.
+        @param update the encoded update
+        @return true if the update contained new messages; false otherwise
+    */
+    public boolean applyUpdate( final byte[] update ) {
+        messages.removeAllElements();
+        try {
+            final DataInputStream input           = new DataInputStream( new ByteArrayInputStream( update ) );
+            final int             newLastSequence = input.readInt();
+            for ( int sequence = newLastSequence - input.readInt() + 1; sequence <= newLastSequence; sequence++ ) {
+                final String message = input.readUTF();
+                if ( sequence > lastSequence )
+                    messages.add( message );
+            }
+            if ( newLastSequence > lastSequence )
+                lastSequence = newLastSequence;
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+        }
+        return !messages.isEmpty();
+    }
+
+}
@@ -0,0 +1,247 @@
+
+package classes.clienttools;
+
+import classes.nettools.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+
+
+/**
+    Predicts the movement of our worm: steps it by the same movement rules as the server does, once in every cycle of the server
+    (the cycles are timed by the period time of the server, not by ours), with our input taken in that time,
+    so we don't have to wait for the server to see it moving.
+    Our input frames are tagged by our ticks (our cycle counter), so the history remembers the tick of our input frame in effect in every predicted cycle.
+    When a new authoritative state arrives, the prediction restarts from it, and the cycles the server
+    has not stepped with our input yet are replayed. If we have been idle for longer than the history (no new input frame was sent),
+    the cycles are related to the snapshot ticks as they were at the last reconciliation, all the remembered cycles have the last known input then.
+    Worms on a rope are not predicted (the rope is handled by the server only).
+*/
+class MovementPredictor {
+
+    /** Number of cycles whose input is remembered: we don't predict further than this. */
+    private static final int INPUT_HISTORY_LENGTH = 128;
+    /** Value of the cycle offset when it is not known. */
+    private static final int UNKNOWN_CYCLE_OFFSET = Integer.MIN_VALUE;
+
+    /** Index of our player. */
+    private final int             ownIndex;
+    /** Width of the map. */
+    private final int             mapWidth;
+    /** Height of the map. */
+    private final int             mapHeight;
+    /** States of the control keys of the last cycles, indexed by cycle. */
+    private final int[]           controlKeyBitsHistory = new int[ INPUT_HISTORY_LENGTH ];
+    /** Ticks of our input frames in effect in the last cycles, indexed by cycle. */
+    private final int[]           inputTicksHistory     = new int[ INPUT_HISTORY_LENGTH ];
+    /** Cycles of the entries of the history. */
+    private final int[]           historyCycles         = new int[ INPUT_HISTORY_LENGTH ];
+    /** States of the control keys of the cycle under stepping. */
+    private final boolean[]       controlKeyStates      = new boolean[ Player.CONTROL_KEYS_COUNT ];
+    /** The map datas the movement rules are working on. */
+    private byte[]                mapDatas;
+    /** The movement rules, null until the map datas arrive. */
+    private MovementRules         movementRules;
+    /** States of the players of the last authoritative snapshot (we collide with them). */
+    private PlayerState[]         playerStates;
+    /** The predicted state of our worm under stepping, null if the movement is not predicted. */
+    private PlayerState           predictedState;
+    /** Copy of the predicted state published for drawing (it is never changed), null if the movement is not predicted. */
+    private volatile PlayerState  publishedState;
+    /** Tick of the last authoritative snapshot the prediction was reconciled with. */
+    private int                   reconciledTick        = SnapshotConsts.NO_TICK;
+    /** Number of cycles of the server in a snapshot tick. */
+    private int                   cyclesPerTick         = 1;
+    /** Duration of a cycle of the server in ms, 0 if not known yet. */
+    private long                  cycleDuration;
+    /** Time of the next cycle to be predicted in ms. */
+    private long                  nextCycleTime;
+    /** The last predicted cycle (our own counter of the cycles of the server), -1 if none has been predicted yet. */
+    private int                   lastCycle             = -1;
+    /** The first cycle not covered by a snapshot minus the tick of the snapshot times cyclesPerTick, as at the last reconciliation. */
+    private int                   cycleOffset           = UNKNOWN_CYCLE_OFFSET;
+
+    /**
+        Creates a new MovementPredictor.
+        @param ownIndex index of our player
+        @param mapWidth width of the map
+        @param mapHeight height of the map
+    */
+    MovementPredictor( final int ownIndex, final int mapWidth, final int mapHeight ) {
+        this.ownIndex  = ownIndex;
+        this.mapWidth  = mapWidth;
+        this.mapHeight = mapHeight;
+        for ( int slotIndex = historyCycles.length - 1; slotIndex >= 0; slotIndex-- )
+            historyCycles[ slotIndex ] = -1;
+    }
+
+    /**
+        Sets the map datas. The movement rules are recreated only if the datas are replaced (a full map update arrived),
+        the changes are applied by the map receiver in place.
+        @param mapDatas the map datas
+    */
+    void setMapDatas( final byte[] mapDatas ) {
+        if ( mapDatas == null || mapDatas == this.mapDatas )
+            return;
+        this.mapDatas = mapDatas;
+        movementRules = new MovementRules( new Map( mapDatas, mapWidth, mapHeight ) ) {
+            protected boolean hitsOtherPlayer( final PlayerState playerState, final int playerIndex ) {
+                for ( int otherPlayerIndex = playerStates.length - 1; otherPlayerIndex >= 0; otherPlayerIndex-- )
+                    if ( otherPlayerIndex != playerIndex && playerStates[ otherPlayerIndex ] != null && playerState.hitsExtensiveObject( playerStates[ otherPlayerIndex ] ) )
+                        return true;
+                return false;
+            }
+        };
+    }
+
+    /**
+        Sets the duration of a cycle of the server.
+        @param cycleDuration duration of a cycle of the server in ms
+    */
+    void setCycleDuration( final long cycleDuration ) {
+        this.cycleDuration = cycleDuration;
+    }
+
+    /**
+        Sets the number of cycles of the server in a snapshot tick.
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+    */
+    void setCyclesPerTick( final int cyclesPerTick ) {
+        if ( Math.max( 1, cyclesPerTick ) != this.cyclesPerTick )
+            cycleOffset = UNKNOWN_CYCLE_OFFSET;
+        this.cyclesPerTick = Math.max( 1, cyclesPerTick );
+    }
+
+    /**
+        Returns the tick of the last authoritative snapshot the prediction was reconciled with.
+        @return the tick of the last authoritative snapshot the prediction was reconciled with
+    */
+    int getReconciledTick() {
+        return reconciledTick;
+    }
+
+    /**
+        Reconciles the prediction with an authoritative snapshot: restarts it from the authoritative state of our worm,
+        and replays the cycles the server has not stepped with our input yet.
+        The server applied our input frame of our tick lastInputFrameTick in snapshot lastInputFrameAppliedTick, and kept that input
+        in its following cycles: the snapshot covers our predicted cycles from the first one having that input,
+        through the cycles of the snapshots from lastInputFrameAppliedTick to snapshotTick. The input was applied in one of the
+        cycles of the tick lastInputFrameAppliedTick, we don't know which one: we take the middle one.
+        If that input is older than the history, but it is in effect in the oldest remembered cycle (we have been idle),
+        the first cycle not covered by the snapshot is determined by the cycle offset of the last reconciliation.
+        @param snapshotTick tick of the authoritative snapshot
+        @param playerStates states of the players in the authoritative snapshot
+    */
+    void reconcile( final int snapshotTick, final PlayerState[] playerStates ) {
+        reconciledTick    = snapshotTick;
+        this.playerStates = playerStates;
+        predictedState    = null;
+        final PlayerState authoritativeState = playerStates[ ownIndex ];
+        if ( movementRules == null || authoritativeState == null || authoritativeState.rope != null || authoritativeState.lastInputFrameTick == SnapshotConsts.NO_TICK )
+            return;
+        final int appliedCycle = findFirstCycle( authoritativeState.lastInputFrameTick );
+        final int firstCycle;
+        if ( appliedCycle >= 0 ) {
+            firstCycle  = appliedCycle + ( snapshotTick - authoritativeState.lastInputFrameAppliedTick ) * cyclesPerTick + ( cyclesPerTick + 1 ) / 2;
+            cycleOffset = firstCycle - snapshotTick * cyclesPerTick;
+        }
+        else if ( cycleOffset != UNKNOWN_CYCLE_OFFSET && isInEffectInOldestCycle( authoritativeState.lastInputFrameTick ) )
+            firstCycle = snapshotTick * cyclesPerTick + cycleOffset;
+        else
+            return;                          // We lag too much behind, we don't know the inputs
+        predictedState = Player.createPlayerState();
+        predictedState.copyMotion( authoritativeState );
+        for ( int cycle = firstCycle; cycle <= lastCycle && predictedState != null; cycle++ )
+            step( cycle );
+    }
+
+    /**
+        Finds the first predicted cycle having our input of a tick (or of a later tick).
+        @param inputTick tick of our input
+        @return the first predicted cycle having our input of the tick, or -1 if it is not in the history anymore
+    */
+    private int findFirstCycle( final int inputTick ) {
+        final int oldestCycle = Math.max( 0, lastCycle - INPUT_HISTORY_LENGTH + 1 );
+        for ( int cycle = oldestCycle; cycle <= lastCycle; cycle++ )
+            if ( inputTicksHistory[ cycle % inputTicksHistory.length ] >= inputTick )
+                return cycle > oldestCycle || oldestCycle == 0 ? cycle : -1;   // Cycles before the oldest one might have had it too
+        return -1;
+    }
+
+    /**
+        Tells whether our input frame of a tick is in effect in the oldest remembered cycle.
+        @param inputTick tick of our input frame
+        @return true if our input frame of the tick is in effect in the oldest remembered cycle; false otherwise
+    */
+    private boolean isInEffectInOldestCycle( final int inputTick ) {
+        return lastCycle >= 0 && inputTicksHistory[ Math.max( 0, lastCycle - INPUT_HISTORY_LENGTH + 1 ) % inputTicksHistory.length ] == inputTick;
+    }
+
+    /**
+        Predicts the movement of the cycles of the server elapsed until a time, and publishes the predicted state.
+        If we were stalled for long, the missed cycles are not caught up.
+        @param inputTick tick of our last input frame (the one in effect)
+        @param controlKeyBits states of the control keys of our last input frame
+        @param time the time in ms
+    */
+    void predict( final int inputTick, final int controlKeyBits, final long time ) {
+        if ( cycleDuration <= 0 )
+            return;                          // We don't know the period time of the server yet
+        if ( lastCycle < 0 || time - nextCycleTime > INPUT_HISTORY_LENGTH * cycleDuration ) {
+            nextCycleTime = time;
+            cycleOffset   = UNKNOWN_CYCLE_OFFSET;   // The skipped cycles break the relation of the cycles to the ticks
+        }
+        for ( ; nextCycleTime <= time; nextCycleTime += cycleDuration ) {
+            final int cycle = ++lastCycle;
+            controlKeyBitsHistory[ cycle % controlKeyBitsHistory.length ] = controlKeyBits;
+            inputTicksHistory    [ cycle % inputTicksHistory.length     ] = inputTick;
+            historyCycles        [ cycle % historyCycles.length         ] = cycle;
+            if ( predictedState != null )
+                step( cycle );
+        }
+        publish();
+    }
+
+    /**
+        Publishes a copy of the predicted state for drawing. The view is drawn by another thread,
+        so the state under stepping is never shown, the published copy is replaced instead.
+    */
+    private void publish() {
+        PlayerState publishedState = null;
+        if ( predictedState != null ) {
+            publishedState = Player.createPlayerState();
+            publishedState.copyMotion( predictedState );
+        }
+        this.publishedState = publishedState;
+    }
+
+    /**
+        Steps the predicted state of our worm by the input of a cycle.
+        If the rope key is pressed in the cycle, the prediction stops (until the next reconciliation).
+        @param cycle the cycle
+    */
+    private void step( final int cycle ) {
+        if ( historyCycles[ cycle % historyCycles.length ] != cycle ) {
+            predictedState = null;
+            return;
+        }
+        final int controlKeyBits = controlKeyBitsHistory[ cycle % controlKeyBitsHistory.length ];
+        if ( ( controlKeyBits & ( 1 << Player.KEY_INDEX_ROPE ) ) != 0 ) {
+            predictedState = null;
+            return;
+        }
+        for ( int keyIndex = controlKeyStates.length - 1; keyIndex >= 0; keyIndex-- )
+            controlKeyStates[ keyIndex ] = ( controlKeyBits & ( 1 << keyIndex ) ) != 0;
+        movementRules.calculatePlayerForce( predictedState );
+        movementRules.handleMovingKeys( predictedState, controlKeyStates, cycle );
+        movementRules.stepPlayer( predictedState, ownIndex );
+    }
+
+    /**
+        Returns the predicted state of our worm. Can be called by any thread, the returned state is never changed.
+        @return the predicted state of our worm, or null if the movement is not predicted
+    */
+    PlayerState getPredictedState() {
+        return publishedState;
+    }
+
+}
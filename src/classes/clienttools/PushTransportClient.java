@@ -0,0 +1,224 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import classes.nettools.*;
+
+
+/**
+    Client side of the push transport. Receives the state updates pushed by the server,
+    and sends our input frames and the acknowledgements of the received snapshots.
+*/
+public class PushTransportClient implements TransportConsts {
+
+    /** Timeout of connecting to the server (ms). */
+    private static final int CONNECT_TIMEOUT = 5000;
+
+    /** The channel of the connection. */
+    private final SocketChannel         socketChannel;
+    /** Assembler of the received frames. */
+    private final FrameAssembler        frameAssembler = new FrameAssembler();
+    /** Buffer to build the payloads of the frames to be sent in. */
+    private final PayloadBuffer         payloadBuffer  = new PayloadBuffer();
+    /** Output stream to build the payloads of the frames to be sent with. */
+    private final DataOutputStream      payloadOutput  = new DataOutputStream( payloadBuffer );
+    /** Reused buffer of the frames to be sent. */
+    private ByteBuffer                  frameBuffer;
+    /** Status flags of the last state update. */
+    private byte                        statusFlags;
+    /** Kick message of the last state update. */
+    private String                      kickMessage;
+    /** Snapshot delta of the last state update. */
+    private byte[]                      snapshotDelta;
+    /** Message update of the last state update. */
+    private byte[]                      messageUpdate;
+    /** Map update of the last state update, or null if it didn't contain one. */
+    private byte[]                      mapUpdate;
+
+    /**
+        Creates a new PushTransportClient: connects to the server and says hello.
+        @param serverHost host name or IP address of the server
+        @param port port of the push transport server
+        @param playerIndex index of our player
+        @param pushTransportKey the push transport key of our player
+        @throws IOException if connecting to the server fails
+    */
+    public PushTransportClient( final String serverHost, final int port, final int playerIndex, final int pushTransportKey ) throws IOException {
+        socketChannel = SocketChannel.open();
+        try {
+            socketChannel.socket().connect( new InetSocketAddress( serverHost, port ), CONNECT_TIMEOUT );
+            socketChannel.socket().setTcpNoDelay( true );
+            payloadOutput.writeInt( playerIndex );
+            payloadOutput.writeInt( pushTransportKey );
+            sendFrame( FRAME_HELLO );
+            socketChannel.configureBlocking( false );
+        }
+        catch ( IOException ie ) {
+            socketChannel.close();
+            throw ie;
+        }
+    }
+
+    /**
+        Sends the frame whose payload has been built in the payload buffer.
+        Frames sent by the client are small, the socket buffer has room for them.
+        @param frameType type of the frame
+        @throws IOException if writing to the channel fails
+    */
+    private void sendFrame( final byte frameType ) throws IOException {
+        frameBuffer = FrameAssembler.writeFrame( frameBuffer, frameType, payloadBuffer );
+        payloadBuffer.reset();
+        while ( frameBuffer.hasRemaining() )
+            socketChannel.write( frameBuffer );
+    }
+
+    /**
+        Sends an acknowledgement to the server.
+        @param acknowledgedTick tick of the last snapshot we have got
+        @param viewTick tick of the snapshot we show, or SnapshotConsts.NO_TICK if we show none yet
+        @param requestFlags the request flags
+        @throws IOException if writing to the channel fails
+    */
+    public void sendAcknowledgement( final int acknowledgedTick, final int viewTick, final byte requestFlags ) throws IOException {
+        payloadOutput.writeInt( acknowledgedTick );
+        payloadOutput.writeInt( viewTick );
+        payloadOutput.writeByte( requestFlags );
+        sendFrame( FRAME_ACKNOWLEDGEMENT );
+    }
+
+    /**
+        Sends an input frame to the server.
+        @param inputFrame the input frame
+        @throws IOException if writing to the channel fails
+    */
+    public void sendInputFrame( final InputFrame inputFrame ) throws IOException {
+        inputFrame.writeTo( payloadOutput );
+        sendFrame( FRAME_INPUT );
+    }
+
+    /**
+        Receives the next state update if it has arrived. Does not block.
+        @return true if a state update has been received (its parts can be queried); false if there is no complete state update
+        @throws EOFException if the server has closed the connection
+        @throws IOException if reading from the channel fails or an invalid frame arrives
+    */
+    public boolean receiveStateUpdate() throws IOException {
+        if ( !frameAssembler.nextFrame() ) {
+            if ( frameAssembler.readFrom( socketChannel ) < 0 )
+                throw new EOFException();
+            if ( !frameAssembler.nextFrame() )
+                return false;
+        }
+        if ( frameAssembler.getFrameType() != FRAME_STATE_UPDATE )
+            throw new IOException( "Invalid frame type: " + frameAssembler.getFrameType() );
+        final ByteBuffer payload = frameAssembler.getFramePayload();
+        try {
+            statusFlags   = payload.get();
+            kickMessage   = ( statusFlags & STATUS_PLAYER_KICKED ) != 0 ? readUTF( payload ) : null;
+            snapshotDelta = null;
+            messageUpdate = null;
+            mapUpdate     = null;
+            if ( ( statusFlags & STATUS_PLAYER_CLOSED ) != 0 )
+                return true;
+            snapshotDelta = readPart( payload );
+            messageUpdate = readPart( payload );
+            mapUpdate     = readPart( payload );
+        }
+        catch ( BufferUnderflowException bue ) {
+            throw new IOException( "Truncated state update frame." );
+        }
+        return true;
+    }
+
+    /**
+        Reads a length prefixed part of a state update.
+        @param payload payload of the state update
+        @return the part, or null if it is empty
+        @throws IOException if the length of the part is invalid
+    */
+    private static byte[] readPart( final ByteBuffer payload ) throws IOException {
+        final int length = payload.getInt();
+        if ( length < 0 || length > payload.remaining() )
+            throw new IOException( "Invalid state update part length: " + length );
+        if ( length == 0 )
+            return null;
+        final byte[] part = new byte[ length ];
+        payload.get( part );
+        return part;
+    }
+
+    /**
+        Reads a string written by DataOutput.writeUTF().
+        @param payload payload to read from
+        @return the string read
+        @throws IOException if the string is not encoded properly
+    */
+    private static String readUTF( final ByteBuffer payload ) throws IOException {
+        final byte[] encodedString = new byte[ 2 + ( payload.getShort( payload.position() ) & 0xffff ) ];   // The length is part of the encoding
+        payload.get( encodedString );
+        return new DataInputStream( new ByteArrayInputStream( encodedString ) ).readUTF();
+    }
+
+    /**
+        Returns whether our player has been closed according to the last state update.
+        @return true if our player has been closed; false otherwise
+    */
+    public boolean isPlayerClosed() {
+        return ( statusFlags & STATUS_PLAYER_CLOSED ) != 0;
+    }
+
+    /**
+        Returns whether our player has been kicked according to the last state update.
+        @return true if our player has been kicked; false otherwise
+    */
+    public boolean isPlayerKicked() {
+        return ( statusFlags & STATUS_PLAYER_KICKED ) != 0;
+    }
+
+    /**
+        Returns the kick message of the last state update.
+        @return the kick message of the last state update
+    */
+    public String getKickMessage() {
+        return kickMessage;
+    }
+
+    /**
+        Returns the snapshot delta of the last state update.
+        @return the snapshot delta of the last state update, or null if it was sent in a state datagram
+    */
+    public byte[] getSnapshotDelta() {
+        return snapshotDelta;
+    }
+
+    /**
+        Returns the message update of the last state update.
+        @return the message update of the last state update, or null if it has no new message
+    */
+    public byte[] getMessageUpdate() {
+        return messageUpdate;
+    }
+
+    /**
+        Returns the map update of the last state update.
+        @return the map update of the last state update, or null if the map has not changed
+    */
+    public byte[] getMapUpdate() {
+        return mapUpdate;
+    }
+
+    /**
+        Closes the connection.
+    */
+    public void close() {
+        try {
+            socketChannel.close();
+        }
+        catch ( IOException ie ) {
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Buffer of the received snapshots, so the view can be drawn at any rate, independently from the arrival of the snapshots.
+    The view shows the world as it was an interpolation delay ago: the positions of the worms, their ropes and the bullets
+    are interpolated between the two buffered snapshots around that time. This way the jitter of the network is not seen,
+    as long as the interpolation delay covers it.
+    The time of the snapshots is calculated from their ticks and the duration of a tick of the server;
+    the offset of the clock of the server is estimated from the arrival times of the snapshots.
+*/
+class SnapshotInterpolator {
+
+    /** Number of buffered snapshots. */
+    private static final int   BUFFER_LENGTH                = 32;
+    /** If the estimated clock offset is off by more than this (in ms), it is resynchronized instead of being smoothed (e.g. after a pause). */
+    private static final long  CLOCK_RESYNC_THRESHOLD       = 1000;
+    /** Shift of the weight of the new samples of the clock offset (the estimation moves 1/8 of the way to a new sample). */
+    private static final int   CLOCK_OFFSET_SMOOTHING_SHIFT = 3;
+    /** Worms moving more than this between two snapshots (in pixels) have been teleported (e.g. respawned), they are not interpolated. */
+    private static final float MAX_INTERPOLATED_DISTANCE    = 64.0f;
+
+    /** The buffered snapshots, in the order of their ticks. */
+    private final WorldSnapshot[]          snapshots              = new WorldSnapshot[ BUFFER_LENGTH ];
+    /** Informations for drawing of the buffered snapshots. */
+    private final InformationsForDrawing[] informationsForDrawings = new InformationsForDrawing[ BUFFER_LENGTH ];
+    /** Index of the slot of the next snapshot to buffer. */
+    private int                            nextSlotIndex;
+    /** Number of the buffered snapshots. */
+    private int                            size;
+    /** Duration of a tick of the server in ms, 0 if not known yet. */
+    private long                           tickDuration;
+    /** Estimated offset of our clock to the clock of the server: local arrival time of a snapshot minus its time on the server. */
+    private long                           clockOffset;
+    /** Tells whether the clock offset has been estimated. */
+    private boolean                        clockSynchronized;
+    /** Tick of the snapshot shown by the last interpolation (the one interpolated from). */
+    private volatile int                   shownTick = SnapshotConsts.NO_TICK;
+
+    /**
+        Sets the duration of a tick of the server. If it changes, the clock offset has to be estimated again.
+        @param tickDuration duration of a tick of the server in ms
+    */
+    synchronized void setTickDuration( final long tickDuration ) {
+        if ( tickDuration != this.tickDuration ) {
+            this.tickDuration = tickDuration;
+            clockSynchronized = false;
+        }
+    }
+
+    /**
+        Buffers a received snapshot.
+        @param snapshot the snapshot
+        @param informationsForDrawing informations for drawing built from the snapshot
+        @param arrivalTime local time of the arrival of the snapshot in ms
+    */
+    synchronized void addSnapshot( final WorldSnapshot snapshot, final InformationsForDrawing informationsForDrawing, final long arrivalTime ) {
+        if ( tickDuration > 0 ) {
+            final long clockOffsetSample = arrivalTime - snapshot.getTick() * tickDuration;
+            if ( !clockSynchronized || Math.abs( clockOffsetSample - clockOffset ) > CLOCK_RESYNC_THRESHOLD ) {
+                clockOffset       = clockOffsetSample;
+                clockSynchronized = true;
+            }
+            else
+                clockOffset += ( clockOffsetSample - clockOffset ) >> CLOCK_OFFSET_SMOOTHING_SHIFT;
+        }
+        snapshots              [ nextSlotIndex ] = snapshot;
+        informationsForDrawings[ nextSlotIndex ] = informationsForDrawing;
+        nextSlotIndex = ( nextSlotIndex + 1 ) % BUFFER_LENGTH;
+        if ( size < BUFFER_LENGTH )
+            size++;
+    }
+
+    /**
+        Returns the tick of the snapshot shown by the last interpolation (the one interpolated from).
+        The server checks the instant shots of our player against the world of this tick.
+        @return the tick of the shown snapshot, or SnapshotConsts.NO_TICK if nothing has been shown yet
+    */
+    int getShownTick() {
+        return shownTick;
+    }
+
+    /**
+        Creates the informations for drawing the world as it was at a given time.
+        If the time is later than the last buffered snapshot, the last snapshot is shown (we don't extrapolate).
+        @param time local time to show the world at in ms (the current time minus the interpolation delay)
+        @return the informations for drawing, or null if no snapshot has been buffered yet
+    */
+    synchronized InformationsForDrawing interpolate( final long time ) {
+        if ( size == 0 )
+            return null;
+        final int lastSlotIndex = ( nextSlotIndex + BUFFER_LENGTH - 1 ) % BUFFER_LENGTH;
+        if ( !clockSynchronized )
+            return createInformationsForDrawing( lastSlotIndex, -1, 0.0f );
+        final double tick = (double) ( time - clockOffset ) / tickDuration;
+        int fromSlotIndex = -1, toSlotIndex = -1;
+        for ( int bufferedCounter = 0; bufferedCounter < size; bufferedCounter++ ) {
+            final int slotIndex = ( lastSlotIndex + BUFFER_LENGTH - bufferedCounter ) % BUFFER_LENGTH;
+            if ( snapshots[ slotIndex ].getTick() <= tick ) {
+                fromSlotIndex = slotIndex;
+                break;
+            }
+            toSlotIndex = slotIndex;
+        }
+        if ( fromSlotIndex < 0 )   // Older than all buffered snapshots
+            return createInformationsForDrawing( toSlotIndex, -1, 0.0f );
+        if ( toSlotIndex < 0 )     // Newer than all buffered snapshots
+            return createInformationsForDrawing( fromSlotIndex, -1, 0.0f );
+        final int fromTick = snapshots[ fromSlotIndex ].getTick();
+        return createInformationsForDrawing( fromSlotIndex, toSlotIndex, (float) ( ( tick - fromTick ) / ( snapshots[ toSlotIndex ].getTick() - fromTick ) ) );
+    }
+
+    /**
+        Creates the informations for drawing interpolated between two buffered snapshots.
+        The buffered objects are not modified, the interpolated entities are new objects.
+        The entities appear and disappear with the snapshot we interpolate from.
+        @param fromSlotIndex index of the slot of the snapshot to interpolate from
+        @param toSlotIndex index of the slot of the snapshot to interpolate to, or -1 if there is nothing to interpolate to
+        @param rate rate of the interpolation (0 means the snapshot we interpolate from, 1 means the one we interpolate to)
+        @return the informations for drawing
+    */
+    private InformationsForDrawing createInformationsForDrawing( final int fromSlotIndex, final int toSlotIndex, final float rate ) {
+        final InformationsForDrawing fromInformations = informationsForDrawings[ fromSlotIndex ];
+        shownTick = snapshots[ fromSlotIndex ].getTick();
+        final InformationsForDrawing toInformations   = toSlotIndex < 0 ? null : informationsForDrawings[ toSlotIndex ];
+        final PlayerState[] playerStates = new PlayerState[ fromInformations.playerStates.length ];
+        for ( int playerIndex = 0; playerIndex < playerStates.length; playerIndex++ ) {
+            final PlayerState fromState = fromInformations.playerStates[ playerIndex ];
+            if ( fromState == null )
+                continue;
+            final PlayerState playerState = playerStates[ playerIndex ] = Player.createPlayerState();
+            playerState.copyState( fromState );
+            final PlayerState toState = toInformations == null ? null : toInformations.playerStates[ playerIndex ];
+            if ( toState != null && fromState.position.distanceTo( toState.position ) <= MAX_INTERPOLATED_DISTANCE )
+                interpolatePosition( playerState.position, fromState.position, toState.position, rate );
+            if ( fromState.rope != null ) {        // The start of the rope is the position of the worm
+                playerState.rope             = new Rope( playerState.position );
+                playerState.rope.hasEndPoint = fromState.rope.hasEndPoint;
+                if ( toState != null && toState.rope != null )
+                    interpolatePosition( playerState.rope.position, fromState.rope.getEndPosition(), toState.rope.getEndPosition(), rate );
+                else {
+                    playerState.rope.position.x = fromState.rope.getEndPosition().x;
+                    playerState.rope.position.y = fromState.rope.getEndPosition().y;
+                }
+            }
+        }
+        final WorldSnapshot fromSnapshot = snapshots[ fromSlotIndex ];
+        final WorldSnapshot toSnapshot   = toSlotIndex < 0 ? null : snapshots[ toSlotIndex ];
+        final Vector        bullets      = new Vector( fromSnapshot.getSize( SnapshotConsts.SECTION_BULLETS ) );
+        for ( int index = 0; index < fromSnapshot.getSize( SnapshotConsts.SECTION_BULLETS ); index++ ) {
+            final Bullet fromBullet = (Bullet) fromSnapshot.getEntity( SnapshotConsts.SECTION_BULLETS, index );
+            final int    toIndex    = toSnapshot == null ? -1 : toSnapshot.indexOf( SnapshotConsts.SECTION_BULLETS, fromSnapshot.getId( SnapshotConsts.SECTION_BULLETS, index ) );
+            if ( toIndex < 0 || toSnapshot.getRecord( SnapshotConsts.SECTION_BULLETS, toIndex ) == fromSnapshot.getRecord( SnapshotConsts.SECTION_BULLETS, index ) )
+                bullets.add( fromBullet );
+            else
+                try {
+                    final Bullet bullet = EntityCodec.decodeBullet( fromSnapshot.getRecord( SnapshotConsts.SECTION_BULLETS, index ) );
+                    interpolatePosition( bullet.position, fromBullet.position, ( (Bullet) toSnapshot.getEntity( SnapshotConsts.SECTION_BULLETS, toIndex ) ).position, rate );
+                    bullets.add( bullet );
+                }
+                catch ( IOException ie ) {   // This should never happen: the record has been decoded already
+                    Logging.logError( ie );
+                    bullets.add( fromBullet );
+                }
+        }
+        final InformationsForDrawing informationsForDrawing = new InformationsForDrawing( playerStates, bullets, fromInformations.explosions, fromInformations.polylineShots );
+        informationsForDrawing.changeableServerOptionsChangeCounter = fromInformations.changeableServerOptionsChangeCounter;
+        return informationsForDrawing;
+    }
+
+    /**
+        Interpolates a position between two positions.
+        @param position position to be set
+        @param fromPosition position to interpolate from
+        @param toPosition position to interpolate to
+        @param rate rate of the interpolation
+    */
+    private static void interpolatePosition( final FloatVector position, final FloatVector fromPosition, final FloatVector toPosition, final float rate ) {
+        position.x = fromPosition.x + ( toPosition.x - fromPosition.x ) * rate;
+        position.y = fromPosition.y + ( toPosition.y - fromPosition.y ) * rate;
+    }
+
+}
@@ -0,0 +1,136 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import classes.servertools.gamecore.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Receives the world snapshot deltas, applies them to the snapshots received earlier,
+    and rebuilds the informations needed for drawing.
+*/
+public class SnapshotReceiver {
+
+    /** Empty snapshot: base of the full snapshots. */
+    private static final WorldSnapshot EMPTY_SNAPSHOT = new WorldSnapshot( SnapshotConsts.NO_TICK );
+
+    /** Maximum number of players (length of the player states array). */
+    private final int              maxNumberOfPlayers;
+    /** Ring of the last received snapshots, indexed by tick. */
+    private final WorldSnapshot[]  snapshots = new WorldSnapshot[ SnapshotConsts.HISTORY_LENGTH ];
+    /** Tick of the last applied snapshot. */
+    private int                    lastTick  = SnapshotConsts.NO_TICK;
+    /** The last applied snapshot. */
+    private WorldSnapshot          lastSnapshot;
+    /** Informations for drawing built from the last applied snapshot. */
+    private InformationsForDrawing informationsForDrawing;
+
+    /**
+        Creates a new SnapshotReceiver.
+        @param maxNumberOfPlayers maximum number of players
+    */
+    public SnapshotReceiver( final int maxNumberOfPlayers ) {
+        this.maxNumberOfPlayers = maxNumberOfPlayers;
+    }
+
+    /**
+        Returns the tick of the last applied snapshot (this is what we acknowledge to the server).
+        @return the tick of the last applied snapshot
+    */
+    public int getLastTick() {
+        return lastTick;
+    }
+
+    /**
+        Returns the last applied snapshot.
+        @return the last applied snapshot, or null if no snapshot has been applied yet
+    */
+    public WorldSnapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    /**
+        Returns the informations for drawing built from the last applied snapshot.
+        @return the informations for drawing, or null if no snapshot has been applied yet
+    */
+    public InformationsForDrawing getInformationsForDrawing() {
+        return informationsForDrawing;
+    }
+
+    /**
+        Applies a delta. Deltas older than the last applied snapshot and deltas whose base is unknown are dropped.
+        @param delta the encoded delta
+        @return true if the delta has been applied; false if it has been dropped
+    */
+    public boolean applyDelta( final byte[] delta ) {
+        try {
+            final DataInputStream input    = new DataInputStream( new ByteArrayInputStream( delta ) );
+            final int             tick     = input.readInt();
+            final int             baseTick = input.readInt();
+            final int             changeableServerOptionsChangeCounter = input.readInt();
+            if ( tick == SnapshotConsts.NO_TICK || tick <= lastTick )
+                return false;
+            WorldSnapshot base = EMPTY_SNAPSHOT;
+            if ( baseTick != SnapshotConsts.NO_TICK ) {
+                base = snapshots[ baseTick % snapshots.length ];
+                if ( base == null || base.getTick() != baseTick )
+                    return false;
+            }
+            final WorldSnapshot snapshot = DeltaCodec.readDelta( input, base, tick );
+            informationsForDrawing = buildInformationsForDrawing( snapshot );
+            informationsForDrawing.changeableServerOptionsChangeCounter = changeableServerOptionsChangeCounter;
+            snapshots[ tick % snapshots.length ] = snapshot;
+            lastSnapshot = snapshot;
+            lastTick     = tick;
+            return true;
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+            return false;
+        }
+    }
+
+    /**
+        Builds the informations for drawing from a snapshot. Decodes the entities not decoded yet.
+        Players far from our view are only present by their summaries: their states are approximated from those (good for the minimap).
+        @param snapshot snapshot to build from
+        @return the informations for drawing
+        @throws IOException if a record is corrupt
+    */
+    private InformationsForDrawing buildInformationsForDrawing( final WorldSnapshot snapshot ) throws IOException {
+        final PlayerState[] playerStates = new PlayerState[ maxNumberOfPlayers ];
+        for ( int index = snapshot.getSize( SnapshotConsts.SECTION_PLAYER_STATES ) - 1; index >= 0; index-- ) {
+            final int playerIndex = snapshot.getId( SnapshotConsts.SECTION_PLAYER_STATES, index );
+            if ( playerIndex < maxNumberOfPlayers )
+                playerStates[ playerIndex ] = EntityCodec.decodePlayerState( snapshot.getRecord( SnapshotConsts.SECTION_PLAYER_STATES, index ), snapshot.findRecord( SnapshotConsts.SECTION_PLAYER_INFOS, playerIndex ) );
+        }
+        for ( int index = snapshot.getSize( SnapshotConsts.SECTION_PLAYER_SUMMARIES ) - 1; index >= 0; index-- ) {
+            final int playerIndex = snapshot.getId( SnapshotConsts.SECTION_PLAYER_SUMMARIES, index );
+            if ( playerIndex < maxNumberOfPlayers && playerStates[ playerIndex ] == null )
+                playerStates[ playerIndex ] = EntityCodec.decodePlayerSummary( snapshot.getRecord( SnapshotConsts.SECTION_PLAYER_SUMMARIES, index ), snapshot.findRecord( SnapshotConsts.SECTION_PLAYER_INFOS, playerIndex ) );
+        }
+        final Vector bullets = new Vector( snapshot.getSize( SnapshotConsts.SECTION_BULLETS ) );
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_BULLETS ); index++ ) {
+            if ( snapshot.getEntity( SnapshotConsts.SECTION_BULLETS, index ) == null )
+                snapshot.setEntity( SnapshotConsts.SECTION_BULLETS, index, EntityCodec.decodeBullet( snapshot.getRecord( SnapshotConsts.SECTION_BULLETS, index ) ) );
+            bullets.add( snapshot.getEntity( SnapshotConsts.SECTION_BULLETS, index ) );
+        }
+        final Vector explosions = new Vector( snapshot.getSize( SnapshotConsts.SECTION_EXPLOSIONS ) );
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_EXPLOSIONS ); index++ ) {
+            if ( snapshot.getEntity( SnapshotConsts.SECTION_EXPLOSIONS, index ) == null )
+                snapshot.setEntity( SnapshotConsts.SECTION_EXPLOSIONS, index, EntityCodec.decodeExplosion( snapshot.getRecord( SnapshotConsts.SECTION_EXPLOSIONS, index ) ) );
+            explosions.add( snapshot.getEntity( SnapshotConsts.SECTION_EXPLOSIONS, index ) );
+        }
+        final Vector polylineShots = new Vector( snapshot.getSize( SnapshotConsts.SECTION_POLYLINE_SHOTS ) );
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_POLYLINE_SHOTS ); index++ ) {
+            if ( snapshot.getEntity( SnapshotConsts.SECTION_POLYLINE_SHOTS, index ) == null )
+                snapshot.setEntity( SnapshotConsts.SECTION_POLYLINE_SHOTS, index, EntityCodec.decodePolylineShot( snapshot.getRecord( SnapshotConsts.SECTION_POLYLINE_SHOTS, index ) ) );
+            polylineShots.add( snapshot.getEntity( SnapshotConsts.SECTION_POLYLINE_SHOTS, index ) );
+        }
+        return new InformationsForDrawing( playerStates, bullets, explosions, polylineShots );
+    }
+
+}
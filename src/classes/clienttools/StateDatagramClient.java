@@ -0,0 +1,129 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import classes.nettools.*;
+
+
+/**
+    Client side of the state datagram channel. Receives the snapshot deltas sent in unreliable datagrams,
+    drops the stale ones (arriving after a newer one), and acknowledges the received ones by the headers of its own datagrams.
+*/
+public class StateDatagramClient implements TransportConsts {
+
+    /** The datagram channel connected to the server. */
+    private final DatagramChannel   datagramChannel;
+    /** Sequencer of the state datagrams. */
+    private final DatagramSequencer datagramSequencer = new DatagramSequencer();
+    /** Buffer to receive the state datagrams into. */
+    private final ByteBuffer        receiveBuffer     = ByteBuffer.allocate( MAX_STATE_DATAGRAM_LENGTH );
+    /** Buffer to build our datagrams in. */
+    private final ByteBuffer        sendBuffer        = ByteBuffer.allocate( DatagramSequencer.HEADER_LENGTH + 8 );
+    /** Index of our player. */
+    private final int               playerIndex;
+    /** The push transport key of our player. */
+    private final int               pushTransportKey;
+    /** Sequence number of the last received state datagram. */
+    private int                     lastSequence;
+    /** Snapshot delta of the last received state datagram. */
+    private byte[]                  snapshotDelta;
+
+    /**
+        Creates a new StateDatagramClient.
+        @param serverHost host name or IP address of the server
+        @param port port of the state datagram channel of the server
+        @param playerIndex index of our player
+        @param pushTransportKey the push transport key of our player
+        @throws IOException if opening the datagram channel fails
+    */
+    public StateDatagramClient( final String serverHost, final int port, final int playerIndex, final int pushTransportKey ) throws IOException {
+        this.playerIndex      = playerIndex;
+        this.pushTransportKey = pushTransportKey;
+        datagramChannel       = DatagramChannel.open();
+        try {
+            datagramChannel.configureBlocking( false );
+            datagramChannel.connect( new InetSocketAddress( serverHost, port ) );
+        }
+        catch ( IOException ie ) {
+            datagramChannel.close();
+            throw ie;
+        }
+    }
+
+    /**
+        Sends a datagram to the server: it tells our address to the server and acknowledges the received state datagrams.
+        @throws IOException if sending the datagram fails
+    */
+    public void sendAcknowledgement() throws IOException {
+        sendBuffer.clear();
+        datagramSequencer.writeHeader( sendBuffer, datagramSequencer.nextSequence() );
+        sendBuffer.putInt( playerIndex );
+        sendBuffer.putInt( pushTransportKey );
+        sendBuffer.flip();
+        try {
+            datagramChannel.write( sendBuffer );
+        }
+        catch ( PortUnreachableException pe ) {   // Datagrams may be lost anyway, the reliable connection will tell if the server is gone
+        }
+    }
+
+    /**
+        Receives the next state datagram if it has arrived. Does not block. Stale datagrams are dropped.
+        @return true if a state datagram has been received (its snapshot delta can be queried); false if there is no more
+        @throws IOException if reading from the channel fails
+    */
+    public boolean receiveStateDatagram() throws IOException {
+        while ( true ) {
+            receiveBuffer.clear();
+            try {
+                if ( datagramChannel.read( receiveBuffer ) <= 0 )
+                    return false;
+            }
+            catch ( PortUnreachableException pe ) {
+                return false;
+            }
+            receiveBuffer.flip();
+            if ( receiveBuffer.remaining() < DatagramSequencer.HEADER_LENGTH )
+                continue;
+            final int sequence = receiveBuffer.getInt();
+            receiveBuffer.getInt();   // Server's ack of our datagrams: we don't use that
+            receiveBuffer.getInt();
+            if ( datagramSequencer.isStale( sequence ) )
+                continue;
+            lastSequence  = sequence;
+            snapshotDelta = new byte[ receiveBuffer.remaining() ];
+            receiveBuffer.get( snapshotDelta );
+            return true;
+        }
+    }
+
+    /**
+        Returns the snapshot delta of the last received state datagram.
+        @return the snapshot delta of the last received state datagram
+    */
+    public byte[] getSnapshotDelta() {
+        return snapshotDelta;
+    }
+
+    /**
+        Marks the last received state datagram as received: it will be acknowledged. Should be called if its delta could be applied.
+    */
+    public void acknowledgeLastStateDatagram() {
+        datagramSequencer.markReceived( lastSequence );
+    }
+
+    /**
+        Closes the datagram channel.
+    */
+    public void close() {
+        try {
+            datagramChannel.close();
+        }
+        catch ( IOException ie ) {
+        }
+    }
+
+}
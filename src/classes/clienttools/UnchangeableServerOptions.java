@@ -1,28 +1,33 @@
-
-package classes.clienttools;
-
-import java.io.*;
-
-
-/**
-    This class holds the unchangeable server options. Clients download once an instance of this class to get these options.
-    @author Belicza Andras
-*/
-public class UnchangeableServerOptions implements Serializable {
-
-    /** Value of the serverOptions.mapWidth at the time when a new game starts. */
-    public int mapWidth;
-    /** Value of the serverOptions.mapWidth at the time when a new game starts. */
-    public int mapHeight;
-    /** Value of the serverOptions.maxNumberOfPlayers at the time when a new game starts. */
-    public int maxNumberOfPlayers;
-    
-    /**
-        Redefining toString() method. Returns the string representation of unchangeable server options.
-        @return the string representation of unchangeable server options
-    */
-    public String toString() {
-        return "map width = " + mapWidth + ", map height = " + mapHeight + ", max number of players = " + maxNumberOfPlayers;
-    }
-    
-}
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+
+
+/**
+    This class holds the unchangeable server options. Clients download once an instance of this class to get these options.
+    @author Belicza Andras
+*/
+public class UnchangeableServerOptions implements Serializable {
+
+    /** Value of the serverOptions.mapWidth at the time when a new game starts. */
+    public int mapWidth;
+    /** Value of the serverOptions.mapWidth at the time when a new game starts. */
+    public int mapHeight;
+    /** Value of the serverOptions.maxNumberOfPlayers at the time when a new game starts. */
+    public int maxNumberOfPlayers;
+    /** Port of the push transport server, or TransportConsts.NO_PUSH_TRANSPORT_PORT if the server does not provide push transport. */
+    public int pushTransportPort = TransportConsts.NO_PUSH_TRANSPORT_PORT;
+    /** Port of the state datagram channel of the server, or TransportConsts.NO_STATE_DATAGRAM_PORT if the server does not provide it. */
+    public int stateDatagramPort = TransportConsts.NO_STATE_DATAGRAM_PORT;
+    
+    /**
+        Redefining toString() method. Returns the string representation of unchangeable server options.
+        @return the string representation of unchangeable server options
+    */
+    public String toString() {
+        return "map width = " + mapWidth + ", map height = " + mapHeight + ", max number of players = " + maxNumberOfPlayers + ", push transport = " + ( pushTransportPort == TransportConsts.NO_PUSH_TRANSPORT_PORT ? "disabled" : "enabled" ) + ", state datagrams = " + ( stateDatagramPort == TransportConsts.NO_STATE_DATAGRAM_PORT ? "disabled" : "enabled" );
+    }
+    
+}
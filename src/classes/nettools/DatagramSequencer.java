@@ -0,0 +1,89 @@
+
+package classes.nettools;
+
+import java.nio.*;
+
+
+/**
+    Sequence numbering of the datagrams of one side of a state datagram channel.
+    Every datagram starts with a header: int sequence number, int newest received remote sequence number (ack),
+    and an int bitfield of the 32 remote sequence numbers before the ack (bit i is set if ack - 1 - i has been received).
+    Datagrams not newer than the newest received one are stale: they are dropped on arrival instead of being processed late.
+    The methods synchronize on the sequencer, so a caller can make a series of calls atomic by synchronizing on it too.
+*/
+public class DatagramSequencer {
+
+    /** Length of the datagram header. */
+    public static final int HEADER_LENGTH   = 12;
+    /** Number of sequence numbers covered by the ack (the ack itself + the bitfield). */
+    public static final int ACK_WINDOW      = 33;
+    /** Sequence number value indicating that there is no sequence number. */
+    public static final int NO_SEQUENCE     = -1;
+
+    /** Sequence number of the next outgoing datagram. */
+    private int nextSequence   = 0;
+    /** Newest received remote sequence number. */
+    private int remoteSequence = NO_SEQUENCE;
+    /** Bitfield of the received remote sequence numbers before the newest one. */
+    private int remoteAckBits  = 0;
+
+    /**
+        Returns the sequence number for the next outgoing datagram.
+        @return the sequence number for the next outgoing datagram
+    */
+    public synchronized int nextSequence() {
+        return nextSequence++;
+    }
+
+    /**
+        Writes a datagram header.
+        @param datagram buffer to write the header into
+        @param sequence sequence number of the datagram
+    */
+    public synchronized void writeHeader( final ByteBuffer datagram, final int sequence ) {
+        datagram.putInt( sequence );
+        datagram.putInt( remoteSequence );
+        datagram.putInt( remoteAckBits );
+    }
+
+    /**
+        Tells whether a received remote sequence number is stale (not newer than the newest received one).
+        @param sequence the received remote sequence number
+        @return true if the datagram is stale and has to be dropped; false otherwise
+    */
+    public synchronized boolean isStale( final int sequence ) {
+        return sequence <= remoteSequence;
+    }
+
+    /**
+        Marks a remote sequence number as received, so it will be acknowledged in the next headers.
+        Only datagrams which are not stale can be marked.
+        @param sequence the received remote sequence number
+    */
+    public synchronized void markReceived( final int sequence ) {
+        if ( sequence <= remoteSequence )
+            return;
+        if ( remoteSequence != NO_SEQUENCE ) {
+            final int shift = sequence - remoteSequence;
+            remoteAckBits = shift < 32 ? ( remoteAckBits << shift ) | ( 1 << ( shift - 1 ) ) : ( shift == 32 ? 1 << 31 : 0 );
+        }
+        remoteSequence = sequence;
+    }
+
+    /**
+        Tells whether a sequence number is acknowledged by a received header.
+        @param sequence the sequence number to be checked
+        @param ack the ack of the received header
+        @param ackBits the ack bitfield of the received header
+        @return true if the sequence number is acknowledged; false otherwise
+    */
+    public static boolean isAcknowledged( final int sequence, final int ack, final int ackBits ) {
+        if ( sequence == NO_SEQUENCE || ack == NO_SEQUENCE || sequence > ack )
+            return false;
+        if ( sequence == ack )
+            return true;
+        final int distance = ack - sequence;
+        return distance <= 32 && ( ackBits & ( 1 << ( distance - 1 ) ) ) != 0;
+    }
+
+}
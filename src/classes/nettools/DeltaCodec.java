@@ -0,0 +1,109 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.util.*;
+
+
+/**
+    Writes and reads the differences of world snapshots.
+    A delta contains for each section the ids of the removed entities and the records of the added and changed entities.
+    A delta against an empty snapshot is a full snapshot.
+    Counts and lengths are varints, ids are written as varint differences from the previous id (they are ascending).
+*/
+public class DeltaCodec {
+
+    /**
+        Writes the difference of two snapshots.
+        @param output output to write the delta to
+        @param base the snapshot the receiver already has
+        @param target the snapshot to be transferred
+        @throws IOException if writing to the output fails
+    */
+    public static void writeDelta( final DataOutputStream output, final WorldSnapshot base, final WorldSnapshot target ) throws IOException {
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            final int   baseSize       = base  .getSize( section );
+            final int   targetSize     = target.getSize( section );
+            final int[] removedIds     = new int[ baseSize   ];
+            final int[] changedIndices = new int[ targetSize ];
+            int removedCount = 0, changedCount = 0;
+            int baseIndex = 0, targetIndex = 0;
+            while ( baseIndex < baseSize || targetIndex < targetSize ) {
+                final int baseId   = baseIndex   < baseSize   ? base  .getId( section, baseIndex   ) : Integer.MAX_VALUE;
+                final int targetId = targetIndex < targetSize ? target.getId( section, targetIndex ) : Integer.MAX_VALUE;
+                if ( baseId < targetId )
+                    removedIds[ removedCount++ ] = base.getId( section, baseIndex++ );
+                else if ( baseId > targetId )
+                    changedIndices[ changedCount++ ] = targetIndex++;
+                else {
+                    final byte[] baseRecord   = base  .getRecord( section, baseIndex++ );
+                    final byte[] targetRecord = target.getRecord( section, targetIndex );
+                    if ( baseRecord != targetRecord && !Arrays.equals( baseRecord, targetRecord ) )
+                        changedIndices[ changedCount++ ] = targetIndex;
+                    targetIndex++;
+                }
+            }
+            WireFormat.writeVarInt( output, removedCount );
+            for ( int removedIndex = 0, previousId = 0; removedIndex < removedCount; previousId = removedIds[ removedIndex++ ] )
+                WireFormat.writeVarInt( output, removedIds[ removedIndex ] - previousId );
+            WireFormat.writeVarInt( output, changedCount );
+            for ( int changedIndex = 0, previousId = 0; changedIndex < changedCount; changedIndex++ ) {
+                final byte[] record = target.getRecord( section, changedIndices[ changedIndex ] );
+                final int    id     = target.getId( section, changedIndices[ changedIndex ] );
+                WireFormat.writeVarInt( output, id - previousId );
+                WireFormat.writeVarInt( output, record.length );
+                output.write( record );
+                previousId = id;
+            }
+        }
+    }
+
+    /**
+        Reads a delta and applies it to a base snapshot. The base snapshot is not modified.
+        Decoded entities of the unchanged records are taken over from the base snapshot.
+        @param input input to read the delta from
+        @param base the snapshot the delta was made against
+        @param tick tick of the result snapshot
+        @return the result snapshot
+        @throws IOException if reading from the input fails
+    */
+    public static WorldSnapshot readDelta( final DataInputStream input, final WorldSnapshot base, final int tick ) throws IOException {
+        final WorldSnapshot result = new WorldSnapshot( tick );
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            final int   removedCount = WireFormat.readVarInt( input );
+            final int[] removedIds   = new int[ removedCount ];
+            for ( int removedIndex = 0, previousId = 0; removedIndex < removedCount; previousId = removedIds[ removedIndex++ ] )
+                removedIds[ removedIndex ] = previousId + WireFormat.readVarInt( input );
+            final int      changedCount   = WireFormat.readVarInt( input );
+            final int[]    changedIds     = new int [ changedCount ];
+            final byte[][] changedRecords = new byte[ changedCount ][];
+            for ( int changedIndex = 0, previousId = 0; changedIndex < changedCount; previousId = changedIds[ changedIndex++ ] ) {
+                changedIds    [ changedIndex ] = previousId + WireFormat.readVarInt( input );
+                changedRecords[ changedIndex ] = new byte[ WireFormat.readVarInt( input ) ];
+                input.readFully( changedRecords[ changedIndex ] );
+            }
+            final int baseSize = base.getSize( section );
+            int baseIndex = 0, changedIndex = 0, removedIndex = 0;
+            while ( baseIndex < baseSize || changedIndex < changedCount ) {
+                final int baseId = baseIndex < baseSize ? base.getId( section, baseIndex ) : Integer.MAX_VALUE;
+                if ( changedIndex < changedCount && changedIds[ changedIndex ] <= baseId ) {
+                    if ( changedIds[ changedIndex ] == baseId )
+                        baseIndex++;     // Replaced by the changed record
+                    result.addRecord( section, changedIds[ changedIndex ], changedRecords[ changedIndex ], null );
+                    changedIndex++;
+                }
+                else {
+                    while ( removedIndex < removedCount && removedIds[ removedIndex ] < baseId )
+                        removedIndex++;
+                    if ( removedIndex < removedCount && removedIds[ removedIndex ] == baseId )
+                        removedIndex++;
+                    else
+                        result.addRecord( section, baseId, base.getRecord( section, baseIndex ), base.getEntity( section, baseIndex ) );
+                    baseIndex++;
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,389 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.awt.*;
+import classes.*;
+import classes.utilities.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+import classes.servertools.gamecore.decorations.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Encodes the entities of the game into snapshot records, and decodes the records back into drawable entities.
+    Positions and velocities are quantized, ints are varints, entity classes are identified by type tags.
+    An instance is not thread safe: it reuses its buffer.
+*/
+public class EntityCodec {
+
+    /** Buffer of the record under encoding. */
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    /** Output to write the record under encoding. */
+    private final DataOutputStream      recordOutput = new DataOutputStream( recordBuffer );
+
+    /**
+        Returns the type tag of a bullet.
+        @param bullet bullet whose type tag to be returned
+        @return the type tag of the bullet
+    */
+    public static byte getBulletType( final Bullet bullet ) {
+        if ( bullet instanceof PointBullet )
+            return SnapshotConsts.TYPE_POINT_BULLET;
+        if ( bullet instanceof SplinterGrenade )
+            return SnapshotConsts.TYPE_SPLINTER_GRENADE;
+        if ( bullet instanceof ExplosiveGrenade )
+            return SnapshotConsts.TYPE_EXPLOSIVE_GRENADE;
+        if ( bullet instanceof Rocket )
+            return SnapshotConsts.TYPE_ROCKET;
+        return SnapshotConsts.TYPE_UNKNOWN;
+    }
+
+    /**
+        Returns the type tag of a polyline shot.
+        @param polylineShot polyline shot whose type tag to be returned
+        @return the type tag of the polyline shot
+    */
+    public static byte getPolylineShotType( final PolylineShot polylineShot ) {
+        if ( polylineShot instanceof Laser )
+            return SnapshotConsts.TYPE_LASER;
+        if ( polylineShot instanceof Lightning )
+            return SnapshotConsts.TYPE_LIGHTNING;
+        return SnapshotConsts.TYPE_UNKNOWN;
+    }
+
+    /**
+        Returns the record of the buffer, and resets the buffer.
+        @return the record of the buffer
+    */
+    private byte[] takeRecord() {
+        final byte[] record = recordBuffer.toByteArray();
+        recordBuffer.reset();
+        return record;
+    }
+
+    /**
+        Encodes the rarely changing informations of a player (name, color, kills, deaths).
+        @param playerState state of the player
+        @return the encoded record
+    */
+    public byte[] encodePlayerInfo( final PlayerState playerState ) {
+        try {
+            recordOutput.writeUTF ( playerState.name == null ? "" : playerState.name );
+            recordOutput.writeByte( playerState.wormColorIndex );
+            WireFormat.writeVarInt( recordOutput, playerState.killCounter  );
+            WireFormat.writeVarInt( recordOutput, playerState.deathCounter );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes the state of a player (everything what changes while playing).
+        @param playerState state of the player
+        @return the encoded record
+    */
+    public byte[] encodePlayerState( final PlayerState playerState ) {
+        try {
+            WireFormat.writeQuantized( recordOutput, playerState.position.x     , SnapshotConsts.POSITION_SCALE );
+            WireFormat.writeQuantized( recordOutput, playerState.position.y     , SnapshotConsts.POSITION_SCALE );
+            WireFormat.writeQuantized( recordOutput, playerState.getVelocity().x, SnapshotConsts.VELOCITY_SCALE );
+            WireFormat.writeQuantized( recordOutput, playerState.getVelocity().y, SnapshotConsts.VELOCITY_SCALE );
+            WireFormat.writeQuantized( recordOutput, playerState.mousePosition.x, SnapshotConsts.POSITION_SCALE );
+            WireFormat.writeQuantized( recordOutput, playerState.mousePosition.y, SnapshotConsts.POSITION_SCALE );
+            recordOutput.writeByte ( playerState.getPositionType() );
+            recordOutput.writeByte ( playerState.direction );
+            recordOutput.writeByte ( playerState.phase     );
+            recordOutput.writeByte ( playerState.weaponIndex );
+            WireFormat.writeVarInt( recordOutput, playerState.weapon.getReloadingTime()    );
+            WireFormat.writeVarInt( recordOutput, playerState.weapon.getMaxReloadingTime() );
+            WireFormat.writeVarInt( recordOutput, playerState.hitPoint          );
+            WireFormat.writeVarInt( recordOutput, playerState.oxygenBottleLevel );
+            WireFormat.writeVarInt( recordOutput, playerState.lastInputFrameTick        );
+            WireFormat.writeVarInt( recordOutput, playerState.lastInputFrameAppliedTick );
+            recordOutput.writeBoolean( playerState.rope != null );
+            if ( playerState.rope != null ) {
+                final FloatVector ropeEndPosition = playerState.rope.getEndPosition();
+                WireFormat.writeQuantized( recordOutput, ropeEndPosition.x, SnapshotConsts.POSITION_SCALE );
+                WireFormat.writeQuantized( recordOutput, ropeEndPosition.y, SnapshotConsts.POSITION_SCALE );
+            }
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes the coarse summary of a player for the minimap: the indices of the wall cell of the player.
+        Summaries are sent about every player, states only about the players near the viewport of the client.
+        @param playerState state of the player
+        @return the encoded record
+    */
+    public byte[] encodePlayerSummary( final PlayerState playerState ) {
+        try {
+            WireFormat.writeVarInt( recordOutput, ( (int) playerState.position.x ) >> GeneralConsts.WALL_WIDTH_SHIFT  );
+            WireFormat.writeVarInt( recordOutput, ( (int) playerState.position.y ) >> GeneralConsts.WALL_HEIGHT_SHIFT );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes a bullet.
+        @param bullet bullet to be encoded
+        @return the encoded record, or null if the type of the bullet is unknown
+    */
+    public byte[] encodeBullet( final Bullet bullet ) {
+        final byte type = getBulletType( bullet );
+        if ( type == SnapshotConsts.TYPE_UNKNOWN )
+            return null;
+        try {
+            recordOutput.writeByte( type );
+            WireFormat.writeQuantized( recordOutput, bullet.position.x     , SnapshotConsts.POSITION_SCALE );
+            WireFormat.writeQuantized( recordOutput, bullet.position.y     , SnapshotConsts.POSITION_SCALE );
+            WireFormat.writeQuantized( recordOutput, bullet.getVelocity().x, SnapshotConsts.VELOCITY_SCALE );
+            WireFormat.writeQuantized( recordOutput, bullet.getVelocity().y, SnapshotConsts.VELOCITY_SCALE );
+            if ( type == SnapshotConsts.TYPE_POINT_BULLET )
+                recordOutput.writeBoolean( ( (PointBullet) bullet ).isDoubleSized() );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes an explosion.
+        @param explosion explosion to be encoded
+        @return the encoded record
+    */
+    public byte[] encodeExplosion( final Explosion explosion ) {
+        try {
+            WireFormat.writeVarInt( recordOutput, explosion.getPositionX() );
+            WireFormat.writeVarInt( recordOutput, explosion.getPositionY() );
+            WireFormat.writeVarInt( recordOutput, explosion.getRange()     );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes a polyline shot.
+        @param polylineShot polyline shot to be encoded
+        @return the encoded record, or null if the type of the polyline shot is unknown
+    */
+    public byte[] encodePolylineShot( final PolylineShot polylineShot ) {
+        final byte type = getPolylineShotType( polylineShot );
+        if ( type == SnapshotConsts.TYPE_UNKNOWN )
+            return null;
+        try {
+            final int[] xPoints = polylineShot.getXPoints();
+            final int[] yPoints = polylineShot.getYPoints();
+            recordOutput.writeByte( type );
+            WireFormat.writeVarInt( recordOutput, xPoints.length );
+            for ( int pointIndex = 0, previousX = 0, previousY = 0; pointIndex < xPoints.length; previousX = xPoints[ pointIndex ], previousY = yPoints[ pointIndex++ ] ) {
+                WireFormat.writeVarInt( recordOutput, xPoints[ pointIndex ] - previousX );   // Points are written as differences from the previous one
+                WireFormat.writeVarInt( recordOutput, yPoints[ pointIndex ] - previousY );
+            }
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Encodes a decoration burst. Rubbles get their colors from the client.
+        @param decorationBurst decoration burst to be encoded
+        @return the encoded record
+    */
+    public byte[] encodeDecorationBurst( final DecorationBurst decorationBurst ) {
+        try {
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getSpawnTick() );
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getPositionX() );
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getPositionY() );
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getWidth()     );
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getHeight()    );
+            WireFormat.writeVarInt( recordOutput, decorationBurst.getCount()     );
+            recordOutput.writeInt( decorationBurst.getSeed() );
+            recordOutput.writeBoolean( decorationBurst.isRubble() );
+            if ( !decorationBurst.isRubble() )
+                recordOutput.writeInt( decorationBurst.getColor().getRGB() );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return takeRecord();
+    }
+
+    /**
+        Decodes a player state from its state and info records.
+        @param stateRecord the encoded state of the player
+        @param infoRecord the encoded informations of the player, can be null
+        @return the decoded player state
+        @throws IOException if the records are corrupt
+    */
+    public static PlayerState decodePlayerState( final byte[] stateRecord, final byte[] infoRecord ) throws IOException {
+        final PlayerState playerState = Player.createPlayerState();
+        final DataInputStream input = new DataInputStream( new ByteArrayInputStream( stateRecord ) );
+        playerState.position.x         = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+        playerState.position.y         = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+        playerState.getVelocity().x    = WireFormat.readQuantized( input, SnapshotConsts.VELOCITY_SCALE );
+        playerState.getVelocity().y    = WireFormat.readQuantized( input, SnapshotConsts.VELOCITY_SCALE );
+        playerState.mousePosition.x    = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+        playerState.mousePosition.y    = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+        playerState.setPositionType( input.readByte() );
+        playerState.direction          = input.readByte();
+        playerState.phase              = input.readByte();
+        playerState.weaponIndex        = input.readByte();
+        final int reloadingTime        = WireFormat.readVarInt( input );
+        playerState.weapon             = new WeaponStatus( WireFormat.readVarInt( input ), reloadingTime );
+        playerState.hitPoint           = WireFormat.readVarInt( input );
+        playerState.oxygenBottleLevel  = WireFormat.readVarInt( input );
+        playerState.lastInputFrameTick        = WireFormat.readVarInt( input );
+        playerState.lastInputFrameAppliedTick = WireFormat.readVarInt( input );
+        if ( input.readBoolean() ) {
+            playerState.rope = new Rope( playerState.position );
+            playerState.rope.position.x = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+            playerState.rope.position.y = WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE );
+        }
+        if ( infoRecord != null )
+            decodePlayerInfo( infoRecord, playerState );
+        return playerState;
+    }
+
+    /**
+        Decodes a player state from the summary and info records of a player whose state is not sent.
+        The player is placed into the centre of its wall cell, it is only good for the minimap.
+        @param summaryRecord the encoded summary of the player
+        @param infoRecord the encoded informations of the player, can be null
+        @return the decoded player state
+        @throws IOException if the records are corrupt
+    */
+    public static PlayerState decodePlayerSummary( final byte[] summaryRecord, final byte[] infoRecord ) throws IOException {
+        final PlayerState playerState = Player.createPlayerState();
+        final DataInputStream input   = new DataInputStream( new ByteArrayInputStream( summaryRecord ) );
+        playerState.position.x = ( WireFormat.readVarInt( input ) << GeneralConsts.WALL_WIDTH_SHIFT  ) + ( 1 << GeneralConsts.WALL_WIDTH_SHIFT  ) / 2;
+        playerState.position.y = ( WireFormat.readVarInt( input ) << GeneralConsts.WALL_HEIGHT_SHIFT ) + ( 1 << GeneralConsts.WALL_HEIGHT_SHIFT ) / 2;
+        playerState.weapon     = new WeaponStatus( 1, 0 );
+        if ( infoRecord != null )
+            decodePlayerInfo( infoRecord, playerState );
+        return playerState;
+    }
+
+    /**
+        Decodes the informations of a player into a player state.
+        @param infoRecord the encoded informations of the player
+        @param playerState player state to decode into
+        @throws IOException if the record is corrupt
+    */
+    private static void decodePlayerInfo( final byte[] infoRecord, final PlayerState playerState ) throws IOException {
+        final DataInputStream input = new DataInputStream( new ByteArrayInputStream( infoRecord ) );
+        playerState.name           = input.readUTF();
+        playerState.wormColorIndex = input.readByte();
+        playerState.killCounter    = WireFormat.readVarInt( input );
+        playerState.deathCounter   = WireFormat.readVarInt( input );
+    }
+
+    /**
+        Decodes a bullet.
+        @param record the encoded bullet
+        @return the decoded bullet
+        @throws IOException if the record is corrupt
+    */
+    public static Bullet decodeBullet( final byte[] record ) throws IOException {
+        final DataInputStream input    = new DataInputStream( new ByteArrayInputStream( record ) );
+        final byte            type     = input.readByte();
+        final FloatVector     position = new FloatVector( WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE ), WireFormat.readQuantized( input, SnapshotConsts.POSITION_SCALE ) );
+        final float           velocityX = WireFormat.readQuantized( input, SnapshotConsts.VELOCITY_SCALE );
+        final float           velocityY = WireFormat.readQuantized( input, SnapshotConsts.VELOCITY_SCALE );
+        final Bullet bullet;
+        switch ( type ) {
+            case SnapshotConsts.TYPE_POINT_BULLET :
+                bullet = new PointBullet( position, 0.0, 0, input.readBoolean(), null );
+                break;
+            case SnapshotConsts.TYPE_SPLINTER_GRENADE :
+                bullet = new SplinterGrenade( 0, position, 0.0, null );
+                break;
+            case SnapshotConsts.TYPE_EXPLOSIVE_GRENADE :
+                bullet = new ExplosiveGrenade( 0, position, 0.0, null );
+                break;
+            case SnapshotConsts.TYPE_ROCKET :
+                bullet = new Rocket( position, 0.0, null );
+                break;
+            default :
+                throw new IOException( "Unknown bullet type: " + type );
+        }
+        bullet.getVelocity().x = velocityX;
+        bullet.getVelocity().y = velocityY;
+        return bullet;
+    }
+
+    /**
+        Decodes an explosion.
+        @param record the encoded explosion
+        @return the decoded explosion
+        @throws IOException if the record is corrupt
+    */
+    public static Explosion decodeExplosion( final byte[] record ) throws IOException {
+        final DataInputStream input = new DataInputStream( new ByteArrayInputStream( record ) );
+        return new Explosion( WireFormat.readVarInt( input ), WireFormat.readVarInt( input ), WireFormat.readVarInt( input ), 0, null );
+    }
+
+    /**
+        Decodes a decoration burst.
+        @param record the encoded decoration burst
+        @return the decoded decoration burst
+        @throws IOException if the record is corrupt
+    */
+    public static DecorationBurst decodeDecorationBurst( final byte[] record ) throws IOException {
+        final DataInputStream input     = new DataInputStream( new ByteArrayInputStream( record ) );
+        final int             spawnTick = WireFormat.readVarInt( input );
+        final int             positionX = WireFormat.readVarInt( input );
+        final int             positionY = WireFormat.readVarInt( input );
+        final int             width     = WireFormat.readVarInt( input );
+        final int             height    = WireFormat.readVarInt( input );
+        final int             count     = WireFormat.readVarInt( input );
+        final int             seed      = input.readInt();
+        final boolean         rubble    = input.readBoolean();
+        final DecorationBurst decorationBurst = new DecorationBurst( 0, positionX, positionY, width, height, count, seed, rubble, rubble ? null : new Color( input.readInt(), true ) );
+        decorationBurst.setSpawnTick( spawnTick );
+        return decorationBurst;
+    }
+
+    /**
+        Decodes a polyline shot.
+        @param record the encoded polyline shot
+        @return the decoded polyline shot
+        @throws IOException if the record is corrupt
+    */
+    public static PolylineShot decodePolylineShot( final byte[] record ) throws IOException {
+        final DataInputStream input       = new DataInputStream( new ByteArrayInputStream( record ) );
+        final byte            type        = input.readByte();
+        final int             pointsCount = WireFormat.readVarInt( input );
+        final Vector          points      = new Vector( pointsCount );
+        for ( int pointIndex = 0, x = 0, y = 0; pointIndex < pointsCount; pointIndex++ ) {
+            x += WireFormat.readVarInt( input );
+            y += WireFormat.readVarInt( input );
+            points.add( new Point( x, y ) );
+        }
+        switch ( type ) {
+            case SnapshotConsts.TYPE_LASER :
+                return new Laser( 0, points, null );
+            case SnapshotConsts.TYPE_LIGHTNING :
+                return new Lightning( 0, points, null );
+            default :
+                throw new IOException( "Unknown polyline shot type: " + type );
+        }
+    }
+
+}
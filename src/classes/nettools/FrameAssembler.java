@@ -0,0 +1,122 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+
+/**
+    Assembles the frames of the push transport from the bytes read from a channel,
+    and creates the frames to be written. The payload of an assembled frame is not copied,
+    it is read from the receiving buffer in place.
+*/
+public class FrameAssembler implements TransportConsts {
+
+    /** Initial size of the receiving buffer. */
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    /** Buffer of the received bytes not yet assembled to frames. */
+    private ByteBuffer buffer = ByteBuffer.allocate( INITIAL_BUFFER_SIZE );
+    /** Type of the last assembled frame. */
+    private byte       frameType;
+    /** Indicating that the buffer is limited to the payload of the last assembled frame (it has not been released yet). */
+    private boolean    frameOpen;
+    /** Limit of the received bytes in the buffer while it is limited to the payload of a frame. */
+    private int        receivedLimit;
+
+    /**
+        Reads the available bytes from a channel.
+        @param channel channel to read from
+        @return number of bytes read, or -1 if the channel has reached end-of-stream
+        @throws IOException if reading from the channel fails
+    */
+    public int readFrom( final ReadableByteChannel channel ) throws IOException {
+        releaseFrame();
+        return channel.read( buffer );
+    }
+
+    /**
+        Releases the last assembled frame: the bytes of the frame are discarded from the buffer.
+    */
+    private void releaseFrame() {
+        if ( frameOpen ) {
+            buffer.position( buffer.limit() );   // The rest of the payload is skipped if it has not been read
+            buffer.limit( receivedLimit );
+            buffer.compact();
+            frameOpen = false;
+        }
+    }
+
+    /**
+        Assembles the next frame if all of its bytes have arrived.
+        The previously assembled frame is released.
+        @return true if a frame has been assembled (its type and payload can be queried); false if more bytes are needed
+        @throws IOException if the received frame header is invalid
+    */
+    public boolean nextFrame() throws IOException {
+        releaseFrame();
+        buffer.flip();
+        int requiredLength = FRAME_HEADER_LENGTH;
+        if ( buffer.remaining() >= FRAME_HEADER_LENGTH ) {
+            final int payloadLength = buffer.getInt( buffer.position() );
+            if ( payloadLength < 0 || payloadLength > MAX_PAYLOAD_LENGTH )
+                throw new IOException( "Invalid frame payload length: " + payloadLength );
+            requiredLength += payloadLength;
+            if ( buffer.remaining() >= requiredLength ) {
+                buffer.getInt();
+                frameType     = buffer.get();
+                receivedLimit = buffer.limit();
+                buffer.limit( buffer.position() + payloadLength );
+                frameOpen     = true;
+                return true;
+            }
+        }
+        buffer.compact();
+        if ( buffer.capacity() < requiredLength ) {
+            final ByteBuffer largerBuffer = ByteBuffer.allocate( Math.max( requiredLength, buffer.capacity() << 1 ) );
+            buffer.flip();
+            largerBuffer.put( buffer );
+            buffer = largerBuffer;
+        }
+        return false;
+    }
+
+    /**
+        Returns the type of the last assembled frame.
+        @return the type of the last assembled frame
+    */
+    public byte getFrameType() {
+        return frameType;
+    }
+
+    /**
+        Returns the payload of the last assembled frame: the receiving buffer, its remaining bytes are the payload.
+        It is valid until the next call of nextFrame() or readFrom(). Reading beyond the payload throws BufferUnderflowException.
+        @return the payload of the last assembled frame
+    */
+    public ByteBuffer getFramePayload() {
+        return buffer;
+    }
+
+    /**
+        Writes a frame into a reusable buffer, ready to be written into a channel.
+        @param frameBuffer buffer to write the frame into, can be null
+        @param frameType type of the frame
+        @param payload the payload
+        @return the buffer holding the frame: frameBuffer, or a new larger one if it was null or too small
+    */
+    public static ByteBuffer writeFrame( final ByteBuffer frameBuffer, final byte frameType, final PayloadBuffer payload ) {
+        final int  frameLength = FRAME_HEADER_LENGTH + payload.size();
+        ByteBuffer frame       = frameBuffer;
+        if ( frame == null || frame.capacity() < frameLength )
+            frame = ByteBuffer.allocate( Math.max( frameLength, frame == null ? 0 : frame.capacity() << 1 ) );
+        frame.clear();
+        frame.putInt( payload.size() );
+        frame.put( frameType );
+        payload.putTo( frame );
+        frame.flip();
+        return frame;
+    }
+
+}
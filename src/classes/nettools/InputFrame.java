@@ -0,0 +1,84 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.nio.*;
+
+
+/**
+    The input of a player in one client tick: states of the control keys, the aim (mouse position in the terrain) and the weapon selection.
+    The frame also reports the size of the view of the client, the server sends the entities near the view only.
+    Clients send one frame per tick (at most) instead of a remote call per input device event:
+    in the input frames of the push transport (see writeTo()), or in the tick requests when polling.
+*/
+public class InputFrame implements Serializable {
+
+    /** Weapon index value indicating that no weapon was selected in the tick. */
+    public static final int NO_WEAPON_SELECTION = -1;
+
+    /** Client tick of the frame. */
+    public final int   tick;
+    /** States of the control keys, bit i is set if the control key of index i is pressed (or was pressed in the tick). */
+    public final int   controlKeyBits;
+    /** X coordinate of the aim (mouse position in the terrain). */
+    public final float aimX;
+    /** Y coordinate of the aim (mouse position in the terrain). */
+    public final float aimY;
+    /** Index of the weapon selected in the tick, or NO_WEAPON_SELECTION. */
+    public final int   weaponSelection;
+    /** Number to rotate the selected weapon by (after the weapon selection). */
+    public final int   weaponRotation;
+    /** Width of the view of the client. */
+    public final int   viewWidth;
+    /** Height of the view of the client. */
+    public final int   viewHeight;
+
+    /**
+        Creates a new InputFrame.
+        @param tick client tick of the frame
+        @param controlKeyBits states of the control keys
+        @param aimX x coordinate of the aim
+        @param aimY y coordinate of the aim
+        @param weaponSelection index of the weapon selected in the tick, or NO_WEAPON_SELECTION
+        @param weaponRotation number to rotate the selected weapon by
+        @param viewWidth width of the view of the client
+        @param viewHeight height of the view of the client
+    */
+    public InputFrame( final int tick, final int controlKeyBits, final float aimX, final float aimY, final int weaponSelection, final int weaponRotation, final int viewWidth, final int viewHeight ) {
+        this.tick            = tick;
+        this.controlKeyBits  = controlKeyBits;
+        this.aimX            = aimX;
+        this.aimY            = aimY;
+        this.weaponSelection = weaponSelection;
+        this.weaponRotation  = weaponRotation;
+        this.viewWidth       = viewWidth;
+        this.viewHeight      = viewHeight;
+    }
+
+    /**
+        Writes the frame to be sent in an input frame of the push transport.
+        @param output output to write to
+        @throws IOException if writing fails
+    */
+    public void writeTo( final DataOutput output ) throws IOException {
+        output.writeInt  ( tick            );
+        output.writeInt  ( controlKeyBits  );
+        output.writeFloat( aimX            );
+        output.writeFloat( aimY            );
+        output.writeInt  ( weaponSelection );
+        output.writeInt  ( weaponRotation  );
+        output.writeInt  ( viewWidth       );
+        output.writeInt  ( viewHeight      );
+    }
+
+    /**
+        Reads a frame written by writeTo().
+        @param input buffer to read from
+        @return the frame read
+        @throws BufferUnderflowException if the buffer has fewer remaining bytes than an encoded frame
+    */
+    public static InputFrame readFrom( final ByteBuffer input ) {
+        return new InputFrame( input.getInt(), input.getInt(), input.getFloat(), input.getFloat(), input.getInt(), input.getInt(), input.getInt(), input.getInt() );   // The arguments are evaluated from left to right
+    }
+
+}
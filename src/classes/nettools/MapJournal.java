@@ -0,0 +1,148 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.nio.*;
+import classes.utilities.*;
+
+
+/**
+    Versioned journal of the changes of the map datas. Every wall change increases the version and records the index of the wall.
+    Clients ask for the changes since the version they have, and get only the changed walls (or the full map if they lag too much).
+    Update format: int version, int base version, byte update type, and the changes or the full map datas.
+    The full update is encoded outside of the lock (the walls can be changed meanwhile), and it is cached for its version:
+    clients joining or lagging at the same version share one encoded full map.
+*/
+public class MapJournal implements SnapshotConsts {
+
+    /** Number of attempts to encode the full update outside of the lock before it is encoded holding the lock. */
+    private static final int MAX_UNLOCKED_FULL_UPDATE_ATTEMPTS = 3;
+
+    /** The datas of the map. */
+    private final byte[] datas;
+    /** Ring of the indices of the changed walls, indexed by version. */
+    private final int[]  changedWallIndices      = new int[ MAP_JOURNAL_LENGTH ];
+    /** Version of the map datas: number of the wall changes so far. */
+    private int          version                 = 0;
+    /** The last encoded full update, shared by the clients asking for it. */
+    private byte[]       cachedFullUpdate;
+    /** Version of the cached full update, NO_MAP_VERSION if there is none. */
+    private int          cachedFullUpdateVersion = NO_MAP_VERSION;
+
+    /**
+        Creates a new MapJournal.
+        @param datas the datas of the map
+    */
+    public MapJournal( final byte[] datas ) {
+        this.datas = datas;
+    }
+
+    /**
+        Changes a wall of the map and records the change.
+        @param wallIndex index of the wall in the map datas
+        @param wall the new wall
+    */
+    public synchronized void setWall( final int wallIndex, final byte wall ) {
+        if ( datas[ wallIndex ] == wall )
+            return;
+        datas[ wallIndex ] = wall;
+        changedWallIndices[ version % changedWallIndices.length ] = wallIndex;
+        version++;
+    }
+
+    /**
+        Returns the version of the map datas.
+        @return the version of the map datas
+    */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+        Creates an update of the map from a version.
+        The returned array can be shared by other callers, it must not be modified.
+        @param baseVersion version the update will be applied to; NO_MAP_VERSION to get the full map
+        @return the encoded update, or null if the map has not changed since the base version
+    */
+    public byte[] createUpdate( final int baseVersion ) {
+        synchronized ( this ) {
+            if ( baseVersion == version )
+                return null;
+            final int changesCount = version - baseVersion;
+            if ( baseVersion != NO_MAP_VERSION && baseVersion < version && changesCount <= changedWallIndices.length && changesCount * 5 < datas.length )
+                return createChangesUpdate( baseVersion, changesCount );
+            if ( cachedFullUpdateVersion == version )
+                return cachedFullUpdate;
+        }
+        return createFullUpdate();
+    }
+
+    /**
+        Creates an update of the changed walls. Must be called holding the lock of the journal.
+        @param baseVersion version the update will be applied to
+        @param changesCount number of the changes since the base version
+        @return the encoded update
+    */
+    private byte[] createChangesUpdate( final int baseVersion, final int changesCount ) {
+        final ByteArrayOutputStream updateBuffer = new ByteArrayOutputStream( changesCount * 5 + 13 );
+        final DataOutputStream      updateOutput = new DataOutputStream( updateBuffer );
+        try {
+            updateOutput.writeInt( version );
+            updateOutput.writeInt( baseVersion );
+            updateOutput.writeByte( MAP_UPDATE_CHANGES );
+            updateOutput.writeInt( changesCount );
+            for ( int changeVersion = baseVersion; changeVersion < version; changeVersion++ ) {
+                final int wallIndex = changedWallIndices[ changeVersion % changedWallIndices.length ];
+                updateOutput.writeInt( wallIndex );
+                updateOutput.writeByte( datas[ wallIndex ] );
+            }
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return updateBuffer.toByteArray();
+    }
+
+    /**
+        Creates and caches the full update of the current version.
+        The map datas are encoded outside of the lock; if a wall has been changed meanwhile, the encoding is repeated.
+        @return the encoded full update
+    */
+    private byte[] createFullUpdate() {
+        for ( int attempt = 0; attempt < MAX_UNLOCKED_FULL_UPDATE_ATTEMPTS; attempt++ ) {
+            final int    fullUpdateVersion = getVersion();
+            final byte[] fullUpdate        = encodeFullUpdate( fullUpdateVersion );
+            synchronized ( this ) {
+                if ( version == fullUpdateVersion ) {   // No wall has been changed while encoding: the encoded datas are of this version
+                    cachedFullUpdate        = fullUpdate;
+                    cachedFullUpdateVersion = fullUpdateVersion;
+                    return fullUpdate;
+                }
+            }
+        }
+        synchronized ( this ) {   // The walls are changing too fast, we encode holding the lock
+            if ( cachedFullUpdateVersion != version ) {
+                cachedFullUpdate        = encodeFullUpdate( version );
+                cachedFullUpdateVersion = version;
+            }
+            return cachedFullUpdate;
+        }
+    }
+
+    /**
+        Encodes the full update.
+        @param fullUpdateVersion version of the map datas being encoded
+        @return the encoded full update
+    */
+    private byte[] encodeFullUpdate( final int fullUpdateVersion ) {
+        final byte[]     fullUpdate   = new byte[ datas.length + 13 ];
+        final ByteBuffer updateBuffer = ByteBuffer.wrap( fullUpdate );
+        updateBuffer.putInt( fullUpdateVersion );
+        updateBuffer.putInt( NO_MAP_VERSION );
+        updateBuffer.put( MAP_UPDATE_FULL );
+        updateBuffer.putInt( datas.length );
+        System.arraycopy( datas, 0, fullUpdate, 13, datas.length );
+        return fullUpdate;
+    }
+
+}
@@ -0,0 +1,62 @@
+
+package classes.nettools;
+
+import java.io.*;
+import classes.utilities.*;
+
+
+/**
+    Bounded log of the messages of a player (between the players and from the server). Every message gets the next sequence number.
+    Clients ask for the messages since the last sequence they have received, the messages ride along with the state updates.
+    Update format: int sequence of the last message, int count of the messages, and the messages (in order, written as UTF strings).
+*/
+public class MessageLog implements SnapshotConsts {
+
+    /** Ring of the messages, indexed by sequence. */
+    private final String[] messages     = new String[ MESSAGE_LOG_LENGTH ];
+    /** Sequence of the last message. */
+    private int            lastSequence = NO_MESSAGE_SEQUENCE;
+
+    /**
+        Adds a message to the log.
+        @param message the message
+    */
+    public synchronized void add( final String message ) {
+        lastSequence++;
+        messages[ lastSequence % messages.length ] = message;
+    }
+
+    /**
+        Creates an update of the messages after a sequence.
+        If more messages have arrived since then than the log can hold, only the last ones are included.
+        @param receivedSequence sequence of the last message the client has got
+        @return the encoded update, or null if no message has arrived since the received sequence
+    */
+    public synchronized byte[] createUpdate( final int receivedSequence ) {
+        if ( receivedSequence >= lastSequence )
+            return null;
+        final int                   messagesCount = Math.min( lastSequence - receivedSequence, messages.length );
+        final ByteArrayOutputStream updateBuffer  = new ByteArrayOutputStream();
+        final DataOutputStream      updateOutput  = new DataOutputStream( updateBuffer );
+        try {
+            updateOutput.writeInt( lastSequence );
+            updateOutput.writeInt( messagesCount );
+            for ( int sequence = lastSequence - messagesCount + 1; sequence <= lastSequence; sequence++ )
+                updateOutput.writeUTF( messages[ sequence % messages.length ] );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return updateBuffer.toByteArray();
+    }
+
+    /**
+        Returns the sequence of the last message of an update.
+        @param update the encoded update
+        @return the sequence of the last message of the update
+    */
+    public static int getLastSequence( final byte[] update ) {
+        return ( update[ 0 ] & 0xff ) << 24 | ( update[ 1 ] & 0xff ) << 16 | ( update[ 2 ] & 0xff ) << 8 | update[ 3 ] & 0xff;
+    }
+
+}
@@ -0,0 +1,153 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.util.*;
+import classes.utilities.*;
+
+
+/**
+    Sends datagrams through a datagram channel simulating a bad network: datagrams can be lost, delayed and reordered (by jitter).
+    With zero loss, latency and jitter datagrams are sent immediately. Delayed datagrams are sent by the simulator thread.
+    It makes possible to test the state datagram channel on loopback.
+*/
+public class NetworkSimulator extends Thread {
+
+    /** The channel to send the datagrams with. */
+    private final DatagramChannel datagramChannel;
+    /** Random generator to decide losses and jitters. */
+    private final Random          random         = new Random();
+    /** The delayed datagrams ordered by due time. */
+    private final LinkedList      delayedPackets = new LinkedList();
+    /** Simulated packet loss in percent. */
+    private volatile int          packetLoss;
+    /** Simulated latency (ms). */
+    private volatile int          latency;
+    /** Simulated jitter: maximum random deviation of the latency (ms). */
+    private volatile int          jitter;
+    /** Indicating that there was a request to cancel the simulator. */
+    private volatile boolean      requestedToCancel = false;
+
+    /**
+        A datagram waiting for its due time.
+    */
+    private static class DelayedPacket {
+
+        /** Time when the datagram has to be sent (ms). */
+        final long          dueTime;
+        /** The datagram. */
+        final ByteBuffer    datagram;
+        /** Destination address of the datagram. */
+        final SocketAddress address;
+
+        /**
+            Creates a new DelayedPacket.
+            @param dueTime time when the datagram has to be sent
+            @param datagram the datagram
+            @param address destination address of the datagram
+        */
+        DelayedPacket( final long dueTime, final ByteBuffer datagram, final SocketAddress address ) {
+            this.dueTime  = dueTime;
+            this.datagram = datagram;
+            this.address  = address;
+        }
+
+    }
+
+    /**
+        Creates a new NetworkSimulator.
+        @param datagramChannel the channel to send the datagrams with
+    */
+    public NetworkSimulator( final DatagramChannel datagramChannel ) {
+        this.datagramChannel = datagramChannel;
+        setDaemon( true );
+    }
+
+    /**
+        Sets the simulated network conditions.
+        @param packetLoss simulated packet loss in percent
+        @param latency simulated latency (ms)
+        @param jitter simulated jitter (ms)
+    */
+    public void setConditions( final int packetLoss, final int latency, final int jitter ) {
+        this.packetLoss = packetLoss;
+        this.latency    = latency;
+        this.jitter     = jitter;
+    }
+
+    /**
+        Sends a datagram under the simulated network conditions.
+        @param datagram the datagram to be sent
+        @param address destination address of the datagram
+        @throws IOException if sending the datagram fails
+    */
+    public void send( final ByteBuffer datagram, final SocketAddress address ) throws IOException {
+        final int packetLoss = this.packetLoss, latency = this.latency, jitter = this.jitter;
+        if ( packetLoss > 0 && random.nextInt( 100 ) < packetLoss )
+            return;
+        final int delay = latency + ( jitter > 0 ? random.nextInt( 2 * jitter + 1 ) - jitter : 0 );
+        if ( delay <= 0 ) {
+            datagramChannel.send( datagram, address );
+            return;
+        }
+        final ByteBuffer datagramCopy = ByteBuffer.allocate( datagram.remaining() );
+        datagramCopy.put( datagram );
+        datagramCopy.flip();
+        final DelayedPacket delayedPacket = new DelayedPacket( System.currentTimeMillis() + delay, datagramCopy, address );
+        synchronized ( delayedPackets ) {
+            final ListIterator iterator = delayedPackets.listIterator( delayedPackets.size() );
+            while ( iterator.hasPrevious() )
+                if ( ( (DelayedPacket) iterator.previous() ).dueTime <= delayedPacket.dueTime ) {
+                    iterator.next();
+                    break;
+                }
+            iterator.add( delayedPacket );
+            delayedPackets.notify();
+        }
+    }
+
+    /**
+        Sends the delayed datagrams when they are due.
+    */
+    public void run() {
+        try {
+            while ( !requestedToCancel ) {
+                DelayedPacket delayedPacket = null;
+                synchronized ( delayedPackets ) {
+                    if ( delayedPackets.isEmpty() )
+                        delayedPackets.wait();
+                    else {
+                        final long waitTime = ( (DelayedPacket) delayedPackets.getFirst() ).dueTime - System.currentTimeMillis();
+                        if ( waitTime > 0 )
+                            delayedPackets.wait( waitTime );
+                        else
+                            delayedPacket = (DelayedPacket) delayedPackets.removeFirst();
+                    }
+                }
+                if ( delayedPacket != null )
+                    try {
+                        datagramChannel.send( delayedPacket.datagram, delayedPacket.address );
+                    }
+                    catch ( IOException ie ) {   // Datagrams may be lost anyway
+                    }
+            }
+        }
+        catch ( InterruptedException ie ) {
+            Logging.logError( ie );
+        }
+    }
+
+    /**
+        Stops the simulator, the delayed datagrams will not be sent.
+    */
+    public void requestToCancel() {
+        requestedToCancel = true;
+        synchronized ( delayedPackets ) {
+            delayedPackets.notify();
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.nio.*;
+
+
+/**
+    Buffer to build frame payloads in. Unlike its superclass, it can put its content into a byte buffer
+    without copying it into a new array first.
+*/
+public class PayloadBuffer extends ByteArrayOutputStream {
+
+    /**
+        Puts the content of the buffer into a byte buffer.
+        @param byteBuffer byte buffer to put the content into
+    */
+    public synchronized void putTo( final ByteBuffer byteBuffer ) {
+        byteBuffer.put( buf, 0, count );
+    }
+
+}
@@ -0,0 +1,69 @@
+
+package classes.nettools;
+
+
+/**
+    Constants of the world snapshots and of their deltas, of the map updates and of the message updates.
+*/
+public interface SnapshotConsts {
+
+    /** Number of the world snapshots kept in the histories (on server and on client). */
+    int HISTORY_LENGTH = 32;
+    /** Tick value indicating that there is no snapshot (a delta with this base tick is a full snapshot). */
+    int NO_TICK        = -1;
+
+    /** Quantization steps per pixel of the positions in the records. */
+    float POSITION_SCALE = 8.0f;
+    /** Quantization steps per unit of the velocities in the records. */
+    float VELOCITY_SCALE = 256.0f;
+
+    /** Section of the informations of the players which rarely changes (name, color, kills, deaths). */
+    int SECTION_PLAYER_INFOS   = 0;
+    /** Section of the states of the players (position, phase, weapon, rope...). */
+    int SECTION_PLAYER_STATES  = 1;
+    /** Section of the bullets. */
+    int SECTION_BULLETS        = 2;
+    /** Section of the explosions. */
+    int SECTION_EXPLOSIONS     = 3;
+    /** Section of the polyline shots. */
+    int SECTION_POLYLINE_SHOTS = 4;
+    /** Section of the coarse positions of the players (in wall units) for the minimap, these are sent about all players. */
+    int SECTION_PLAYER_SUMMARIES = 5;
+    /** Section of the decoration bursts, the clients simulate the decorations spawned by them. */
+    int SECTION_DECORATION_BURSTS = 6;
+    /** Count of the sections. */
+    int SECTIONS_COUNT         = 7;
+
+    /** Margin around the view of a client in pixels; entities in the view extended by this are sent to the client. */
+    int INTEREST_AREA_MARGIN   = 96;
+
+    /** Type tag of the point bullets. */
+    byte TYPE_POINT_BULLET      = 0;
+    /** Type tag of the splinter grenades. */
+    byte TYPE_SPLINTER_GRENADE  = 1;
+    /** Type tag of the explosive grenades. */
+    byte TYPE_EXPLOSIVE_GRENADE = 2;
+    /** Type tag of the rockets. */
+    byte TYPE_ROCKET            = 3;
+    /** Type tag of the lasers. */
+    byte TYPE_LASER             = 4;
+    /** Type tag of the lightnings. */
+    byte TYPE_LIGHTNING         = 5;
+    /** Type tag of unknown entities (they are not transferred). */
+    byte TYPE_UNKNOWN           = -1;
+
+    /** Map version value indicating that there is no map (an update with this base version holds the full map). */
+    int  NO_MAP_VERSION     = -1;
+    /** Number of the wall changes kept in the map journal. Clients lagging more than this get the full map. */
+    int  MAP_JOURNAL_LENGTH = 4096;
+    /** Map update type: the changed walls (int wall index, byte wall) since the base version. */
+    byte MAP_UPDATE_CHANGES = 0;
+    /** Map update type: the full map datas. */
+    byte MAP_UPDATE_FULL    = 1;
+
+    /** Message sequence value indicating that there is no message (sequences of the messages start from the next one). */
+    int  NO_MESSAGE_SEQUENCE = 0;
+    /** Number of the messages kept in the message log of a player. If a client lags more than this, the older messages are lost. */
+    int  MESSAGE_LOG_LENGTH  = 64;
+
+}
@@ -0,0 +1,39 @@
+
+package classes.nettools;
+
+
+/**
+    Constants of the push transport (frames sent over a persistent socket connection).
+    A frame consists of an int payload length, a byte frame type and the payload.
+*/
+public interface TransportConsts {
+
+    /** Port value indicating that the server does not provide push transport. */
+    int  NO_PUSH_TRANSPORT_PORT = -1;
+    /** Port value indicating that the server does not provide state datagram channel. */
+    int  NO_STATE_DATAGRAM_PORT = -1;
+
+    /** Length of the frame header (int payload length + byte frame type). */
+    int  FRAME_HEADER_LENGTH = 5;
+    /** Maximal accepted payload length of a frame, anything longer is treated as a broken connection. */
+    int  MAX_PAYLOAD_LENGTH  = 16 << 20;
+    /** Maximal length of a state datagram. Snapshot deltas not fitting into this are sent in the state update frames. */
+    int  MAX_STATE_DATAGRAM_LENGTH = 8192;
+    /** If the acknowledged snapshot of a client lags more ticks than this behind the actual one, deltas are sent on the reliable connection too (datagrams may be blocked). */
+    int  MAX_DATAGRAM_ACKNOWLEDGEMENT_LAG = 16;
+
+    /** Hello frame (client to server): int player index, int push transport key of the player. */
+    byte FRAME_HELLO           = 0;
+    /** Acknowledgement frame (client to server, in every client tick): int tick of the last received snapshot, int tick of the shown snapshot, byte request flags (no request flags are defined at the moment, clients send 0). */
+    byte FRAME_ACKNOWLEDGEMENT = 1;
+    /** State update frame (server to client), one is pushed in every server cycle (if the snapshot delta is sent in a state datagram, only if it has something else to tell). */
+    byte FRAME_STATE_UPDATE    = 2;
+    /** Input frame (client to server, when the input has changed): an encoded input frame (see InputFrame). */
+    byte FRAME_INPUT           = 3;
+
+    /** Status flag: the player has been closed. */
+    byte STATUS_PLAYER_CLOSED = 1;
+    /** Status flag: the player has been kicked (a kick message follows the status). */
+    byte STATUS_PLAYER_KICKED = 2;
+
+}
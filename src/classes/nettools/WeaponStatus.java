@@ -0,0 +1,33 @@
+
+package classes.nettools;
+
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.weapons.*;
+
+
+/**
+    The status of a weapon rebuilt from a world snapshot. Can't be fired, it only holds the reloading times for drawing.
+*/
+public class WeaponStatus extends Weapon {
+
+    /**
+        Creates a new WeaponStatus.
+        @param maxReloadingTime maximum value of the reloading time
+        @param reloadingTime actual value of the reloading time
+    */
+    public WeaponStatus( final int maxReloadingTime, final int reloadingTime ) {
+        super( null, maxReloadingTime );
+        this.reloadingTime = reloadingTime;
+    }
+
+    /**
+        Fires the weapon. This is an empty implementation.
+        @param cycleCounter value of cycle counter when this firing happens
+        @param gameCoreHandler reference to the game core handler
+        @param ownerPlayerState player state of the owner player
+        @param angle angle where the owner player aims at
+    */
+    protected void fire( final int cycleCounter, final GameCoreHandler gameCoreHandler, final PlayerState ownerPlayerState, final double angle ) {
+    }
+
+}
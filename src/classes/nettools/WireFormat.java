@@ -0,0 +1,67 @@
+
+package classes.nettools;
+
+import java.io.*;
+
+
+/**
+    Compact encodings of the numbers of the wire format.
+    Ints are written as zigzag varints (small absolute values take 1-2 bytes), floats are quantized to ints.
+*/
+public class WireFormat {
+
+    /**
+        Writes an int as a zigzag varint: 7 bits per byte, the highest bit tells if more bytes follow.
+        @param output output to write to
+        @param value value to be written
+        @throws IOException if writing to the output fails
+    */
+    public static void writeVarInt( final DataOutput output, final int value ) throws IOException {
+        int zigzag = ( value << 1 ) ^ ( value >> 31 );
+        while ( ( zigzag & ~0x7f ) != 0 ) {
+            output.writeByte( ( zigzag & 0x7f ) | 0x80 );
+            zigzag >>>= 7;
+        }
+        output.writeByte( zigzag );
+    }
+
+    /**
+        Reads a zigzag varint.
+        @param input input to read from
+        @return the value read
+        @throws IOException if reading from the input fails or the varint is corrupt
+    */
+    public static int readVarInt( final DataInput input ) throws IOException {
+        int zigzag = 0;
+        for ( int shift = 0; shift < 35; shift += 7 ) {
+            final byte nextByte = input.readByte();
+            zigzag |= ( nextByte & 0x7f ) << shift;
+            if ( ( nextByte & 0x80 ) == 0 )
+                return ( zigzag >>> 1 ) ^ -( zigzag & 1 );
+        }
+        throw new IOException( "Corrupt varint." );
+    }
+
+    /**
+        Writes a float quantized to a given precision.
+        @param output output to write to
+        @param value value to be written
+        @param scale number of quantization steps per unit
+        @throws IOException if writing to the output fails
+    */
+    public static void writeQuantized( final DataOutput output, final float value, final float scale ) throws IOException {
+        writeVarInt( output, Math.round( value * scale ) );
+    }
+
+    /**
+        Reads a quantized float.
+        @param input input to read from
+        @param scale number of quantization steps per unit used at writing
+        @return the value read
+        @throws IOException if reading from the input fails
+    */
+    public static float readQuantized( final DataInput input, final float scale ) throws IOException {
+        return readVarInt( input ) / scale;
+    }
+
+}
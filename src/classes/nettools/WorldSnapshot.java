@@ -0,0 +1,258 @@
+
+package classes.nettools;
+
+
+/**
+    A snapshot of the world at a given tick. The entities are stored in sections, ordered by their entity ids,
+    each entity by its encoded record (and on client side by the entity decoded from the record).
+    On server side the entities also have bounds in the terrain, so subsets of the snapshot can be made for the areas of interest of the clients.
+*/
+public class WorldSnapshot {
+
+    /** Initial capacity of the sections. */
+    private static final int INITIAL_SECTION_CAPACITY = 16;
+    /** Bound value of the entities which are always in the area of interest. */
+    public  static final int UNBOUNDED                = Integer.MIN_VALUE;
+
+    /** The tick this snapshot was taken at. */
+    private final int        tick;
+    /** Number of entities in the sections. */
+    private final int[]      sectionSizes = new int     [ SnapshotConsts.SECTIONS_COUNT ];
+    /** Entity ids of the sections in ascending order. */
+    private final int[][]    ids          = new int     [ SnapshotConsts.SECTIONS_COUNT ][];
+    /** Encoded records of the entities of the sections. */
+    private final byte[][][] records      = new byte    [ SnapshotConsts.SECTIONS_COUNT ][][];
+    /** Decoded entities of the sections (used only by clients, null if not decoded yet). */
+    private final Object[][] entities     = new Object  [ SnapshotConsts.SECTIONS_COUNT ][];
+    /** Bounds of the entities of the sections, 4 ints per entity: x1, y1, x2, y2 (x1 is UNBOUNDED if the entity is always of interest). */
+    private final int[][]    bounds       = new int     [ SnapshotConsts.SECTIONS_COUNT ][];
+
+    /**
+        Creates a new WorldSnapshot.
+        @param tick the tick this snapshot is taken at
+    */
+    public WorldSnapshot( final int tick ) {
+        this.tick = tick;
+        for ( int section = SnapshotConsts.SECTIONS_COUNT - 1; section >= 0; section-- ) {
+            ids     [ section ] = new int   [ INITIAL_SECTION_CAPACITY ];
+            records [ section ] = new byte  [ INITIAL_SECTION_CAPACITY ][];
+            entities[ section ] = new Object[ INITIAL_SECTION_CAPACITY ];
+            bounds  [ section ] = new int   [ INITIAL_SECTION_CAPACITY << 2 ];
+        }
+    }
+
+    /**
+        Returns the tick this snapshot was taken at.
+        @return the tick of the snapshot
+    */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+        Adds a record to a section. Records are expected in ascending id order (that case adding is cheap),
+        but any order is accepted.
+        @param section section to add the record to
+        @param id entity id of the record
+        @param record the encoded record
+        @param entity the decoded entity or null
+    */
+    public void addRecord( final int section, final int id, final byte[] record, final Object entity ) {
+        addRecord( section, id, record, entity, UNBOUNDED, 0, 0, 0 );
+    }
+
+    /**
+        Adds a record with the bounds of its entity to a section.
+        @param section section to add the record to
+        @param id entity id of the record
+        @param record the encoded record
+        @param entity the decoded entity or null
+        @param x1 left bound of the entity, or UNBOUNDED if the entity is always of interest
+        @param y1 top bound of the entity
+        @param x2 right bound of the entity
+        @param y2 bottom bound of the entity
+    */
+    public void addRecord( final int section, final int id, final byte[] record, final Object entity, final int x1, final int y1, final int x2, final int y2 ) {
+        final int size = sectionSizes[ section ];
+        if ( size == ids[ section ].length ) {
+            final int[]    newIds      = new int   [ size << 1 ];
+            final byte[][] newRecords  = new byte  [ size << 1 ][];
+            final Object[] newEntities = new Object[ size << 1 ];
+            final int[]    newBounds   = new int   [ size << 3 ];
+            System.arraycopy( ids     [ section ], 0, newIds     , 0, size );
+            System.arraycopy( records [ section ], 0, newRecords , 0, size );
+            System.arraycopy( entities[ section ], 0, newEntities, 0, size );
+            System.arraycopy( bounds  [ section ], 0, newBounds  , 0, size << 2 );
+            ids     [ section ] = newIds;
+            records [ section ] = newRecords;
+            entities[ section ] = newEntities;
+            bounds  [ section ] = newBounds;
+        }
+        final int[]    sectionIds      = ids     [ section ];
+        final byte[][] sectionRecords  = records [ section ];
+        final Object[] sectionEntities = entities[ section ];
+        final int[]    sectionBounds   = bounds  [ section ];
+        int index = size;
+        for ( ; index > 0 && sectionIds[ index - 1 ] > id; index-- ) {  // Insertion from the end, mostly no moving is needed
+            sectionIds     [ index ] = sectionIds     [ index - 1 ];
+            sectionRecords [ index ] = sectionRecords [ index - 1 ];
+            sectionEntities[ index ] = sectionEntities[ index - 1 ];
+            System.arraycopy( sectionBounds, ( index - 1 ) << 2, sectionBounds, index << 2, 4 );
+        }
+        sectionIds     [ index ] = id;
+        sectionRecords [ index ] = record;
+        sectionEntities[ index ] = entity;
+        sectionBounds[   index << 2       ] = x1;
+        sectionBounds[ ( index << 2 ) + 1 ] = y1;
+        sectionBounds[ ( index << 2 ) + 2 ] = x2;
+        sectionBounds[ ( index << 2 ) + 3 ] = y2;
+        sectionSizes[ section ]++;
+    }
+
+    /**
+        Creates the subset of this snapshot which is of interest in an area of the terrain:
+        the entities whose bounds intersect the area, and the unbounded entities. Records are shared with this snapshot.
+        @param x1 left bound of the area
+        @param y1 top bound of the area
+        @param x2 right bound of the area
+        @param y2 bottom bound of the area
+        @return the subset of this snapshot, or this snapshot itself if every entity is of interest in the area
+    */
+    public WorldSnapshot createSubset( final int x1, final int y1, final int x2, final int y2 ) {
+        final WorldSnapshot subset = new WorldSnapshot( tick );
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            final int[] sectionBounds = bounds[ section ];
+            for ( int index = 0; index < sectionSizes[ section ]; index++ ) {
+                final int boundsIndex = index << 2;
+                if ( sectionBounds[ boundsIndex ] == UNBOUNDED || sectionBounds[ boundsIndex ] <= x2 && sectionBounds[ boundsIndex + 2 ] >= x1 && sectionBounds[ boundsIndex + 1 ] <= y2 && sectionBounds[ boundsIndex + 3 ] >= y1 )
+                    subset.addRecord( section, ids[ section ][ index ], records[ section ][ index ], null, sectionBounds[ boundsIndex ], sectionBounds[ boundsIndex + 1 ], sectionBounds[ boundsIndex + 2 ], sectionBounds[ boundsIndex + 3 ] );
+            }
+        }
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            if ( subset.sectionSizes[ section ] != sectionSizes[ section ] )
+                return subset;
+        return this;
+    }
+
+    /**
+        Tells whether another snapshot has the same entities as this one.
+        Meant for the subsets of the same snapshot: those share the records, so the same entities means the same records.
+        @param snapshot snapshot to compare with
+        @return true if the other snapshot has the same entities in every section; false otherwise
+    */
+    public boolean hasSameEntities( final WorldSnapshot snapshot ) {
+        if ( snapshot.tick != tick )
+            return false;
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            if ( snapshot.sectionSizes[ section ] != sectionSizes[ section ] )
+                return false;
+            final int[] sectionIds = ids[ section ], otherSectionIds = snapshot.ids[ section ];
+            for ( int index = sectionSizes[ section ] - 1; index >= 0; index-- )
+                if ( sectionIds[ index ] != otherSectionIds[ index ] )
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the number of entities in a section.
+        @param section the section
+        @return the number of entities in the section
+    */
+    public int getSize( final int section ) {
+        return sectionSizes[ section ];
+    }
+
+    /**
+        Returns an entity id of a section.
+        @param section the section
+        @param index index of the entity in the section
+        @return the entity id
+    */
+    public int getId( final int section, final int index ) {
+        return ids[ section ][ index ];
+    }
+
+    /**
+        Returns an encoded record of a section.
+        @param section the section
+        @param index index of the entity in the section
+        @return the encoded record
+    */
+    public byte[] getRecord( final int section, final int index ) {
+        return records[ section ][ index ];
+    }
+
+    /**
+        Returns the x coordinate of the center of the bounds of an entity.
+        @param section the section
+        @param index index of the entity in the section
+        @return the x coordinate of the center of the bounds (meaningless if the entity is unbounded)
+    */
+    public int getCenterX( final int section, final int index ) {
+        return ( bounds[ section ][ index << 2 ] + bounds[ section ][ ( index << 2 ) + 2 ] ) >> 1;
+    }
+
+    /**
+        Returns the y coordinate of the center of the bounds of an entity.
+        @param section the section
+        @param index index of the entity in the section
+        @return the y coordinate of the center of the bounds (meaningless if the entity is unbounded)
+    */
+    public int getCenterY( final int section, final int index ) {
+        return ( bounds[ section ][ ( index << 2 ) + 1 ] + bounds[ section ][ ( index << 2 ) + 3 ] ) >> 1;
+    }
+
+    /**
+        Returns a decoded entity of a section.
+        @param section the section
+        @param index index of the entity in the section
+        @return the decoded entity or null if it has not been decoded
+    */
+    public Object getEntity( final int section, final int index ) {
+        return entities[ section ][ index ];
+    }
+
+    /**
+        Sets a decoded entity of a section.
+        @param section the section
+        @param index index of the entity in the section
+        @param entity the decoded entity
+    */
+    public void setEntity( final int section, final int index, final Object entity ) {
+        entities[ section ][ index ] = entity;
+    }
+
+    /**
+        Searches an entity by its id in a section.
+        @param section the section
+        @param id entity id to search for
+        @return the index of the entity in the section, or -1 if the section does not contain the id
+    */
+    public int indexOf( final int section, final int id ) {
+        final int[] sectionIds = ids[ section ];
+        int low = 0, high = sectionSizes[ section ] - 1;
+        while ( low <= high ) {
+            final int middle = ( low + high ) >>> 1;
+            if ( sectionIds[ middle ] < id )
+                low  = middle + 1;
+            else if ( sectionIds[ middle ] > id )
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the record of an entity given by its id.
+        @param section the section
+        @param id entity id of the record
+        @return the record of the entity, or null if the section does not contain the id
+    */
+    public byte[] findRecord( final int section, final int id ) {
+        final int index = indexOf( section, id );
+        return index < 0 ? null : records[ section ][ index ];
+    }
+
+}
@@ -1,16 +1,16 @@
-
-package classes.options;
-
-
-/**
-    Interface to be informed when options has changed.
-    @author Belicza Andras
-*/
-public interface OptionsChangeListener {
-    
-    /**
-        This method will be called when options has changed.
-    */
-    void optionsChanged();
-
-}
+
+package classes.options;
+
+
+/**
+    Interface to be informed when options has changed.
+    @author Belicza Andras
+*/
+public interface OptionsChangeListener {
+    
+    /**
+        This method will be called when options has changed.
+    */
+    void optionsChanged();
+
+}
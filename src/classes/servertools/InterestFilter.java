@@ -0,0 +1,212 @@
+
+package classes.servertools;
+
+import java.util.*;
+import classes.nettools.*;
+import classes.servertools.gamecore.*;
+
+
+/**
+    Interest management of a client: the client gets only the entities near its viewport
+    (and the coarse summaries of all the players for the minimap, and all the decoration bursts).
+    The area of interest is the area the client can see (positioned the same way as the client positions its view) extended by a margin.
+    The changed entities are packed into a byte budget per tick by priority: the own worm, the near worms, the near projectiles,
+    and then the cosmetic entities (summaries, decoration bursts). The entities not fitting are deferred: the client keeps
+    their previous records (or does not get them yet), and they are sent in a later tick.
+    Since the snapshots sent to the client are subsets of the captured ones, the sent snapshots are kept here to be the bases of the deltas.
+    Only the published snapshots are read (the position of the own worm is taken from its record too), never the live world.
+*/
+class InterestFilter {
+
+    /** Priority of the entities which are always packed (the player infos and the state of the own worm). */
+    private static final int   PRIORITY_MANDATORY   = 0;
+    /** Priority of the states of the other worms (nearer ones first). */
+    private static final int   PRIORITY_WORMS       = 1;
+    /** Priority of the projectiles (bullets, explosions, polyline shots; nearer ones first). */
+    private static final int   PRIORITY_PROJECTILES = 2;
+    /** Priority of the cosmetic entities (player summaries for the minimap, decoration bursts). */
+    private static final int   PRIORITY_COSMETIC    = 3;
+    /** Priorities of the sections. */
+    private static final int[] SECTION_PRIORITIES   = new int[ SnapshotConsts.SECTIONS_COUNT ];
+    /** Estimated overhead of a changed record in a delta in bytes (its id and length). */
+    private static final int   RECORD_OVERHEAD      = 3;
+
+    /**
+        The static initializer. We initializing the SECTION_PRIORITIES.
+    */
+    static {
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_PLAYER_INFOS      ] = PRIORITY_MANDATORY;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_PLAYER_STATES     ] = PRIORITY_WORMS;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_BULLETS           ] = PRIORITY_PROJECTILES;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_EXPLOSIONS        ] = PRIORITY_PROJECTILES;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_POLYLINE_SHOTS    ] = PRIORITY_PROJECTILES;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_PLAYER_SUMMARIES  ] = PRIORITY_COSMETIC;
+        SECTION_PRIORITIES[ SnapshotConsts.SECTION_DECORATION_BURSTS ] = PRIORITY_COSMETIC;
+    }
+
+    /** Reference to the snapshot history. */
+    private final SnapshotHistory snapshotHistory;
+    /** Index of the player of the client (entity id of its records). */
+    private final int             ownIndex;
+    /** Width of the terrain. */
+    private final int             terrainWidth;
+    /** Height of the terrain. */
+    private final int             terrainHeight;
+    /** Ring of the last snapshots sent to the client, indexed by tick. */
+    private final WorldSnapshot[] sentSnapshots    = new WorldSnapshot[ SnapshotConsts.HISTORY_LENGTH ];
+    /** Ticks of the bases the sent snapshots have been packed against, indexed by tick. */
+    private final int[]           sentBaseTicks    = new int[ SnapshotConsts.HISTORY_LENGTH ];
+    /** Width of the view of the client, 0 if not known (the whole world is of interest then). */
+    private volatile int          viewWidth;
+    /** Height of the view of the client, 0 if not known (the whole world is of interest then). */
+    private volatile int          viewHeight;
+    /** Bytes of the changed entities sent in a tick at most, 0 if there is no limit. */
+    private volatile int          snapshotBudget;
+    /** The area of interest (x1, y1, x2, y2), reused by every calculation. */
+    private final int[]           area             = new int[ 4 ];
+
+    /**
+        Creates a new InterestFilter.
+        @param snapshotHistory reference to the snapshot history
+        @param ownIndex index of the player of the client
+        @param terrainWidth width of the terrain
+        @param terrainHeight height of the terrain
+    */
+    InterestFilter( final SnapshotHistory snapshotHistory, final int ownIndex, final int terrainWidth, final int terrainHeight ) {
+        this.snapshotHistory = snapshotHistory;
+        this.ownIndex        = ownIndex;
+        this.terrainWidth    = terrainWidth;
+        this.terrainHeight   = terrainHeight;
+    }
+
+    /**
+        Sets the size of the view of the client. The size comes from the client, it is clamped to the size of the terrain
+        (a negative size means an unknown one, the whole world is of interest then).
+        @param viewWidth width of the view of the client
+        @param viewHeight height of the view of the client
+    */
+    void setViewSize( final int viewWidth, final int viewHeight ) {
+        this.viewWidth  = Math.max( 0, Math.min( viewWidth , terrainWidth  ) );
+        this.viewHeight = Math.max( 0, Math.min( viewHeight, terrainHeight ) );
+    }
+
+    /**
+        Sets the snapshot budget.
+        @param snapshotBudget bytes of the changed entities sent in a tick at most, 0 if there is no limit
+    */
+    void setSnapshotBudget( final int snapshotBudget ) {
+        this.snapshotBudget = snapshotBudget;
+    }
+
+    /**
+        Calculates the area of interest into the area array: the area visible by the client extended by the margin.
+        @param snapshot the snapshot
+        @param ownStateIndex index of the state of the own worm in the snapshot, -1 if it is not in the snapshot
+        @return true if the area of interest has been calculated; false if the whole world is of interest
+    */
+    private boolean calculateArea( final WorldSnapshot snapshot, final int ownStateIndex ) {
+        final int viewWidth = this.viewWidth, viewHeight = this.viewHeight;
+        if ( viewWidth <= 0 || viewHeight <= 0 || ownStateIndex < 0 )
+            return false;
+        final int x1 = Math.max( 0, Math.min( snapshot.getCenterX( SnapshotConsts.SECTION_PLAYER_STATES, ownStateIndex ) - viewWidth  / 2, terrainWidth  - viewWidth  ) ) - SnapshotConsts.INTEREST_AREA_MARGIN;
+        final int y1 = Math.max( 0, Math.min( snapshot.getCenterY( SnapshotConsts.SECTION_PLAYER_STATES, ownStateIndex ) - viewHeight / 2, terrainHeight - viewHeight ) ) - SnapshotConsts.INTEREST_AREA_MARGIN;
+        area[ 0 ] = x1;
+        area[ 1 ] = y1;
+        area[ 2 ] = x1 + viewWidth  + 2 * SnapshotConsts.INTEREST_AREA_MARGIN;
+        area[ 3 ] = y1 + viewHeight + 2 * SnapshotConsts.INTEREST_AREA_MARGIN;
+        return true;
+    }
+
+    /**
+        Creates a delta of the interesting subset of the last snapshot against the snapshot acknowledged by the client.
+        If the acknowledged snapshot is not known anymore, a full snapshot will be created.
+        The sent snapshot of a tick is packed into the budget against the base of the request. If the tick is requested again
+        against another base, it is packed again (the client acknowledging an older tick has not got the previous packing),
+        unless the client has got the tick already (it must not change then).
+        @param acknowledgedTick tick of the snapshot acknowledged by the client
+        @param changeableServerOptionsChangeCounter value of the counter of the changes of the changeable server options
+        @return the delta
+    */
+    synchronized byte[] createDelta( final int acknowledgedTick, final int changeableServerOptionsChangeCounter ) {
+        final WorldSnapshot lastSnapshot = snapshotHistory.getLastSnapshot();
+        if ( lastSnapshot.getTick() == SnapshotConsts.NO_TICK )   // Nothing has been captured yet
+            return snapshotHistory.getSharedDelta( lastSnapshot, lastSnapshot, changeableServerOptionsChangeCounter );
+        WorldSnapshot base = SnapshotHistory.EMPTY_SNAPSHOT;
+        if ( acknowledgedTick != SnapshotConsts.NO_TICK && acknowledgedTick <= lastSnapshot.getTick() ) {
+            final WorldSnapshot acknowledgedSnapshot = sentSnapshots[ acknowledgedTick % sentSnapshots.length ];
+            if ( acknowledgedSnapshot != null && acknowledgedSnapshot.getTick() == acknowledgedTick )
+                base = acknowledgedSnapshot;
+        }
+        final int     slotIndex = lastSnapshot.getTick() % sentSnapshots.length;
+        WorldSnapshot target    = sentSnapshots[ slotIndex ];
+        if ( target == null || target.getTick() != lastSnapshot.getTick() || target != base && sentBaseTicks[ slotIndex ] != base.getTick() ) {   // The same tick may be requested more times (on more transport paths)
+            final int ownStateIndex = lastSnapshot.indexOf( SnapshotConsts.SECTION_PLAYER_STATES, ownIndex );
+            target = pack( calculateArea( lastSnapshot, ownStateIndex ) ? snapshotHistory.getSharedSubset( lastSnapshot, area[ 0 ], area[ 1 ], area[ 2 ], area[ 3 ] ) : lastSnapshot, base, lastSnapshot, ownStateIndex );
+            sentSnapshots[ slotIndex ] = target;
+            sentBaseTicks[ slotIndex ] = base.getTick();
+        }
+        return snapshotHistory.getSharedDelta( base, target, changeableServerOptionsChangeCounter );
+    }
+
+    /**
+        Packs the changed entities of a snapshot into the snapshot budget by priority.
+        Entities of the same priority are packed nearer first; an entity not fitting does not stop smaller ones of lower priority.
+        @param interesting the interesting subset of the last snapshot
+        @param base the snapshot the delta will be made against
+        @param snapshot the last snapshot
+        @param ownStateIndex index of the state of the own worm in the last snapshot, -1 if it is not in the snapshot
+        @return the snapshot to be sent: the interesting snapshot itself if everything fits, else the packed one
+                (in which the deferred entities have their records of the base, or are missing if the base does not have them)
+    */
+    private WorldSnapshot pack( final WorldSnapshot interesting, final WorldSnapshot base, final WorldSnapshot snapshot, final int ownStateIndex ) {
+        final int budget = snapshotBudget;
+        if ( budget <= 0 )
+            return interesting;
+        int entitiesCount = 0;
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            entitiesCount += interesting.getSize( section );
+        final int    ownX = ownStateIndex < 0 ? 0 : snapshot.getCenterX( SnapshotConsts.SECTION_PLAYER_STATES, ownStateIndex );
+        final int    ownY = ownStateIndex < 0 ? 0 : snapshot.getCenterY( SnapshotConsts.SECTION_PLAYER_STATES, ownStateIndex );
+        final long[] keys = new long[ entitiesCount ];   // Priority, distance, section and index of the changed entities
+        int changedCount = 0, changedLength = 0;
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            for ( int index = 0; index < interesting.getSize( section ); index++ ) {
+                final byte[] record     = interesting.getRecord( section, index );
+                final byte[] baseRecord = base.findRecord( section, interesting.getId( section, index ) );
+                if ( baseRecord == record || baseRecord != null && Arrays.equals( baseRecord, record ) )
+                    continue;
+                int priority = SECTION_PRIORITIES[ section ];
+                if ( section == SnapshotConsts.SECTION_PLAYER_STATES && interesting.getId( section, index ) == ownIndex )
+                    priority = PRIORITY_MANDATORY;
+                final long distance = priority == PRIORITY_WORMS || priority == PRIORITY_PROJECTILES ? Math.abs( interesting.getCenterX( section, index ) - ownX ) + Math.abs( interesting.getCenterY( section, index ) - ownY ) : 0;
+                keys[ changedCount++ ] = (long) priority << 56 | distance << 24 | section << 20 | index;
+                changedLength += record.length + RECORD_OVERHEAD;
+            }
+        if ( changedLength <= budget )
+            return interesting;
+        Arrays.sort( keys, 0, changedCount );
+        final boolean[][] deferred = new boolean[ SnapshotConsts.SECTIONS_COUNT ][];
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            deferred[ section ] = new boolean[ interesting.getSize( section ) ];
+        int remainingBudget = budget;
+        for ( int keyIndex = 0; keyIndex < changedCount; keyIndex++ ) {
+            final int section = (int) ( keys[ keyIndex ] >> 20 ) & 0x0f;
+            final int index   = (int) keys[ keyIndex ] & 0xfffff;
+            final int length  = interesting.getRecord( section, index ).length + RECORD_OVERHEAD;
+            if ( length <= remainingBudget || keys[ keyIndex ] >>> 56 == PRIORITY_MANDATORY )
+                remainingBudget -= length;
+            else
+                deferred[ section ][ index ] = true;
+        }
+        final WorldSnapshot packed = new WorldSnapshot( interesting.getTick() );
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            for ( int index = 0; index < interesting.getSize( section ); index++ ) {
+                final int    id     = interesting.getId( section, index );
+                final byte[] record = deferred[ section ][ index ] ? base.findRecord( section, id ) : interesting.getRecord( section, index );
+                if ( record != null )
+                    packed.addRecord( section, id, record, null );
+            }
+        return packed;
+    }
+
+}
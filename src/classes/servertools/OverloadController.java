@@ -0,0 +1,66 @@
+
+package classes.servertools;
+
+
+/**
+    Controls the amount of the cosmetic work of the server by the load of the cycles.
+    The load is the duration of a cycle relative to the period time, smoothed over the last cycles.
+    If the load is high, the cosmetic level is decreased quickly (by DECREASE_STEP percent in every cycle), if there is headroom again,
+    it is restored slowly (by INCREASE_STEP percent in every cycle), so the level does not oscillate.
+    The cosmetic level only scales the cosmetic work (decoration bursts, vector trimming), never the gameplay.
+*/
+class OverloadController {
+
+    /** Minimal cosmetic level in percent. */
+    private static final int MIN_COSMETIC_LEVEL   =  10;
+    /** Maximal (normal) cosmetic level in percent. */
+    private static final int MAX_COSMETIC_LEVEL   = 100;
+    /** Above this load (in per mille of the period time) the cosmetic level is decreased. */
+    private static final int HIGH_LOAD            = 900;
+    /** Below this load (in per mille of the period time) the cosmetic level is increased. */
+    private static final int LOW_LOAD             = 600;
+    /** Decrease of the cosmetic level in a cycle of high load in percent. */
+    private static final int DECREASE_STEP        =   5;
+    /** Increase of the cosmetic level in a cycle of low load in percent. */
+    private static final int INCREASE_STEP        =   1;
+    /** Shift of the weight of the new samples of the load (the smoothed load moves 1/8 of the way to a new sample), and of the fixed point of the smoothed load. */
+    private static final int LOAD_SMOOTHING_SHIFT =   3;
+
+    /** Smoothed load in per mille of the period time, as a fixed point number with LOAD_SMOOTHING_SHIFT fraction bits (so the small differences are not lost). */
+    private long             scaledLoad;
+    /** Cosmetic level in percent: the cosmetic work is scaled by this. */
+    private volatile int     cosmeticLevel = MAX_COSMETIC_LEVEL;
+
+    /**
+        Updates the cosmetic level by the duration of a cycle.
+        @param cycleTime duration of the cycle in ms
+        @param periodTime period time of the cycles in ms
+        @return the new cosmetic level in percent
+    */
+    int update( final long cycleTime, final long periodTime ) {
+        scaledLoad += cycleTime * 1000l / periodTime - ( scaledLoad >> LOAD_SMOOTHING_SHIFT );
+        final long load = scaledLoad >> LOAD_SMOOTHING_SHIFT;
+        if ( load > HIGH_LOAD )
+            cosmeticLevel = Math.max( MIN_COSMETIC_LEVEL, cosmeticLevel - DECREASE_STEP );
+        else if ( load < LOW_LOAD )
+            cosmeticLevel = Math.min( MAX_COSMETIC_LEVEL, cosmeticLevel + INCREASE_STEP );
+        return cosmeticLevel;
+    }
+
+    /**
+        Returns the cosmetic level.
+        @return the cosmetic level in percent
+    */
+    int getCosmeticLevel() {
+        return cosmeticLevel;
+    }
+
+    /**
+        Tells whether the cosmetic work is degraded.
+        @return true if the cosmetic level is below the normal; false otherwise
+    */
+    boolean isDegraded() {
+        return cosmeticLevel < MAX_COSMETIC_LEVEL;
+    }
+
+}
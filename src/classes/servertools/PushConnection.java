@@ -0,0 +1,275 @@
+
+package classes.servertools;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import classes.nettools.*;
+
+
+/**
+    A client connection of the push transport server.
+    Frames are written by the game handler thread, the remainder of a frame which could not be written at once
+    is written by the selector thread of the push transport server.
+*/
+class PushConnection {
+
+    /** The channel of the connection. */
+    private final SocketChannel    socketChannel;
+    /** Assembler of the received frames. */
+    private final FrameAssembler   frameAssembler = new FrameAssembler();
+    /** The player of the connection, null until the client has said hello. */
+    private volatile Player        player;
+    /** Index of the player of the connection. */
+    private int                    playerIndex;
+    /** The push transport key presented by the client. */
+    private int                    pushTransportKey;
+    /** Tick of the last snapshot acknowledged by the client. */
+    private volatile int           acknowledgedTick = SnapshotConsts.NO_TICK;
+    /** Request flags of the last acknowledgement. */
+    private volatile byte          requestFlags;
+    /** Version of the map the client has got (map updates are sent on the reliable connection, so it is known without acknowledgement). */
+    private int                    sentMapVersion = SnapshotConsts.NO_MAP_VERSION;
+    /** Sequence of the last message the client has got (message updates are sent on the reliable connection too). */
+    private int                    sentMessageSequence = SnapshotConsts.NO_MESSAGE_SEQUENCE;
+    /** Tells whether the client has been informed that its player was closed. */
+    private boolean                playerClosedSent;
+    /** Frame which has not been written completely yet. */
+    private ByteBuffer             pendingFrame;
+    /** Buffer of the frames, reused for the next frame when the previous one has been written completely. */
+    private ByteBuffer             frameBuffer;
+    /** Address of the state datagram channel of the client, null until the first datagram of the client arrives. */
+    private volatile SocketAddress datagramAddress;
+    /** Sequencer of the state datagrams. It is also the lock of the sent datagram slots, so receiving (selector thread) and sending (game thread) see one consistent state. */
+    private final DatagramSequencer datagramSequencer = new DatagramSequencer();
+    /** Sequence numbers of the last sent state datagrams, indexed by sequence number. */
+    private final int[]            sentDatagramSequences = new int[ DatagramSequencer.ACK_WINDOW ];
+    /** Ticks of the snapshots sent in the last state datagrams, indexed by sequence number. */
+    private final int[]            sentDatagramTicks     = new int[ DatagramSequencer.ACK_WINDOW ];
+
+    /**
+        Creates a new PushConnection.
+        @param socketChannel the channel of the connection
+    */
+    PushConnection( final SocketChannel socketChannel ) {
+        this.socketChannel = socketChannel;
+        for ( int slotIndex = sentDatagramSequences.length - 1; slotIndex >= 0; slotIndex-- )
+            sentDatagramSequences[ slotIndex ] = DatagramSequencer.NO_SEQUENCE;
+    }
+
+    /**
+        Returns the channel of the connection.
+        @return the channel of the connection
+    */
+    SocketChannel getSocketChannel() {
+        return socketChannel;
+    }
+
+    /**
+        Returns the assembler of the received frames.
+        @return the assembler of the received frames
+    */
+    FrameAssembler getFrameAssembler() {
+        return frameAssembler;
+    }
+
+    /**
+        Returns the player of the connection.
+        @return the player of the connection, or null if the client has not said hello yet
+    */
+    Player getPlayer() {
+        return player;
+    }
+
+    /**
+        Sets the player of the connection.
+        @param player the player of the connection
+        @param playerIndex index of the player
+        @param pushTransportKey the push transport key presented by the client
+    */
+    void setPlayer( final Player player, final int playerIndex, final int pushTransportKey ) {
+        this.playerIndex      = playerIndex;
+        this.pushTransportKey = pushTransportKey;
+        this.player           = player;
+    }
+
+    /**
+        Tells whether a state datagram identifies this connection.
+        @param playerIndex player index presented in the datagram
+        @param pushTransportKey push transport key presented in the datagram
+        @return true if the datagram belongs to this connection; false otherwise
+    */
+    boolean isIdentifiedBy( final int playerIndex, final int pushTransportKey ) {
+        return player != null && this.playerIndex == playerIndex && this.pushTransportKey == pushTransportKey;
+    }
+
+    /**
+        Stores an acknowledgement of the client.
+        @param acknowledgedTick tick of the last snapshot the client has got
+        @param requestFlags the request flags of the client
+    */
+    void acknowledge( final int acknowledgedTick, final byte requestFlags ) {
+        acknowledgeTick( acknowledgedTick );
+        this.requestFlags = requestFlags;
+    }
+
+    /**
+        Stores an acknowledged tick. Acknowledgements arrive on two paths (state update frames and state datagrams), we keep the newest.
+        @param acknowledgedTick tick of a snapshot the client has got
+    */
+    synchronized void acknowledgeTick( final int acknowledgedTick ) {
+        if ( acknowledgedTick > this.acknowledgedTick )
+            this.acknowledgedTick = acknowledgedTick;
+    }
+
+    /**
+        Returns the tick of the last snapshot acknowledged by the client.
+        @return the tick of the last snapshot acknowledged by the client
+    */
+    int getAcknowledgedTick() {
+        return acknowledgedTick;
+    }
+
+    /**
+        Returns the request flags of the last acknowledgement.
+        @return the request flags of the last acknowledgement
+    */
+    byte getRequestFlags() {
+        return requestFlags;
+    }
+
+    /**
+        Returns the version of the map the client has got.
+        @return the version of the map the client has got
+    */
+    int getSentMapVersion() {
+        return sentMapVersion;
+    }
+
+    /**
+        Sets the version of the map the client has got.
+        @param sentMapVersion the version of the map the client has got
+    */
+    void setSentMapVersion( final int sentMapVersion ) {
+        this.sentMapVersion = sentMapVersion;
+    }
+
+    /**
+        Returns the sequence of the last message the client has got.
+        @return the sequence of the last message the client has got
+    */
+    int getSentMessageSequence() {
+        return sentMessageSequence;
+    }
+
+    /**
+        Sets the sequence of the last message the client has got.
+        @param sentMessageSequence the sequence of the last message the client has got
+    */
+    void setSentMessageSequence( final int sentMessageSequence ) {
+        this.sentMessageSequence = sentMessageSequence;
+    }
+
+    /**
+        Returns the address of the state datagram channel of the client.
+        @return the address of the state datagram channel of the client, or null if no datagram has arrived yet
+    */
+    SocketAddress getDatagramAddress() {
+        return datagramAddress;
+    }
+
+    /**
+        Processes the header of a state datagram of the client: stores the address of the client,
+        and acknowledges the ticks of the state datagrams the client has got.
+        @param address source address of the datagram
+        @param sequence sequence number of the datagram
+        @param ack ack of the datagram
+        @param ackBits ack bitfield of the datagram
+    */
+    void receiveDatagram( final SocketAddress address, final int sequence, final int ack, final int ackBits ) {
+        synchronized ( datagramSequencer ) {
+            if ( datagramSequencer.isStale( sequence ) )
+                return;
+            datagramSequencer.markReceived( sequence );
+            datagramAddress = address;
+            for ( int slotIndex = sentDatagramSequences.length - 1; slotIndex >= 0; slotIndex-- )
+                if ( DatagramSequencer.isAcknowledged( sentDatagramSequences[ slotIndex ], ack, ackBits ) ) {
+                    acknowledgeTick( sentDatagramTicks[ slotIndex ] );
+                    sentDatagramSequences[ slotIndex ] = DatagramSequencer.NO_SEQUENCE;
+                }
+        }
+    }
+
+    /**
+        Writes a state datagram into a buffer.
+        @param datagram buffer to write the state datagram into, it has to be large enough
+        @param snapshotDelta the snapshot delta to be sent
+        @param tick tick of the snapshot in the delta
+    */
+    void writeStateDatagram( final ByteBuffer datagram, final byte[] snapshotDelta, final int tick ) {
+        datagram.clear();
+        synchronized ( datagramSequencer ) {
+            final int sequence = datagramSequencer.nextSequence();
+            datagramSequencer.writeHeader( datagram, sequence );
+            sentDatagramSequences[ sequence % sentDatagramSequences.length ] = sequence;
+            sentDatagramTicks    [ sequence % sentDatagramSequences.length ] = tick;
+        }
+        datagram.put( snapshotDelta );
+        datagram.flip();
+    }
+
+    /**
+        Returns whether the client has been informed that its player was closed.
+        @return true if the client has been informed that its player was closed; false otherwise
+    */
+    boolean isPlayerClosedSent() {
+        return playerClosedSent;
+    }
+
+    /**
+        Sets that the client has been informed that its player was closed.
+    */
+    void setPlayerClosedSent() {
+        playerClosedSent = true;
+    }
+
+    /**
+        Returns whether there is a frame which has not been written completely yet.
+        @return true if there is a frame which has not been written completely yet; false otherwise
+    */
+    synchronized boolean hasPendingFrame() {
+        return pendingFrame != null;
+    }
+
+    /**
+        Writes a frame. What can't be written at once will be written when the channel gets writable.
+        Must not be called while there is a pending frame: the frame is built in the buffer of the previous one.
+        @param frameType type of the frame
+        @param payload payload of the frame
+        @return true if the frame has been written completely; false otherwise
+        @throws IOException if writing to the channel fails
+    */
+    synchronized boolean sendFrame( final byte frameType, final PayloadBuffer payload ) throws IOException {
+        frameBuffer = FrameAssembler.writeFrame( frameBuffer, frameType, payload );
+        socketChannel.write( frameBuffer );
+        if ( frameBuffer.hasRemaining() ) {
+            pendingFrame = frameBuffer;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+        Writes the remainder of the pending frame.
+        @throws IOException if writing to the channel fails
+    */
+    synchronized void flushPendingFrame() throws IOException {
+        if ( pendingFrame != null ) {
+            socketChannel.write( pendingFrame );
+            if ( !pendingFrame.hasRemaining() )
+                pendingFrame = null;
+        }
+    }
+
+}
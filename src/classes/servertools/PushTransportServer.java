@@ -0,0 +1,450 @@
+
+package classes.servertools;
+
+import java.io.*;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.rmi.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import classes.clienttools.*;
+import java.util.Iterator;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Server side of the push transport. Instead of clients polling the server by several remote method invocations in every cycle,
+    the server pushes one state update frame per cycle to every connected client over a persistent connection.
+    Connections are accepted and read by a selector thread, state updates are written by the game handler thread.
+    Optionally the snapshot deltas are sent in unreliable state datagrams: they are stale after one tick anyway, so retransmitting them
+    would only add latency. Messages, joins and kicks stay on the reliable connection.
+*/
+public class PushTransportServer extends Thread implements TransportConsts {
+
+    /** The selector of the channels. */
+    private final Selector               selector;
+    /** The server socket channel accepting the connections. */
+    private final ServerSocketChannel    serverSocketChannel;
+    /** Reference to the players. */
+    private final Player[]               players;
+    /** Reference to the journal of the map changes. */
+    private final MapJournal             mapJournal;
+    /** The client connections. */
+    private final Vector                 connections = new Vector();
+    /** Buffer to build the state update payloads in. */
+    private final PayloadBuffer          payloadBuffer = new PayloadBuffer();
+    /** Output stream to build the state update payloads with. */
+    private final DataOutputStream       payloadOutput = new DataOutputStream( payloadBuffer );
+    /** Indicating that there was a request to cancel the server. */
+    private volatile boolean             requestedToCancel = false;
+    /** The state datagram channel, null if it is not opened. */
+    private DatagramChannel              datagramChannel;
+    /** Simulator of the network conditions, the state datagrams are sent through this. */
+    private NetworkSimulator             networkSimulator;
+    /** Buffer to receive the state datagrams of the clients into. */
+    private final ByteBuffer             datagramBuffer = ByteBuffer.allocate( MAX_STATE_DATAGRAM_LENGTH );
+    /** Buffer to build the state datagrams to be sent in (the datagram channel copies the datagrams when sending them). */
+    private final ByteBuffer             stateDatagramBuffer = ByteBuffer.allocate( MAX_STATE_DATAGRAM_LENGTH );
+
+    /**
+        Creates a new PushTransportServer.
+        @param port port to accept the connections on
+        @param players reference to the players
+        @param serverSideGameHandler reference to the server side game handler
+        @throws IOException if opening the server socket fails
+    */
+    public PushTransportServer( final int port, final Player[] players, final ServerSideGameHandler serverSideGameHandler ) throws IOException {
+        this.players        = players;
+        mapJournal          = serverSideGameHandler.getMap().getJournal();
+        selector            = Selector.open();
+        serverSocketChannel = ServerSocketChannel.open();
+        try {
+            serverSocketChannel.configureBlocking( false );
+            serverSocketChannel.socket().setReuseAddress( true );
+            serverSocketChannel.socket().bind( new InetSocketAddress( port ) );
+            serverSocketChannel.register( selector, SelectionKey.OP_ACCEPT );
+        }
+        catch ( IOException ie ) {
+            serverSocketChannel.close();
+            selector.close();
+            throw ie;
+        }
+    }
+
+    /**
+        Opens the state datagram channel: snapshot deltas will be sent in datagrams to the clients who send state datagrams to this port.
+        Must be called before the server is started.
+        @param port port of the state datagram channel
+        @throws IOException if opening the datagram channel fails
+    */
+    public void openStateDatagramChannel( final int port ) throws IOException {
+        datagramChannel = DatagramChannel.open();
+        try {
+            datagramChannel.configureBlocking( false );
+            datagramChannel.socket().bind( new InetSocketAddress( port ) );
+            datagramChannel.register( selector, SelectionKey.OP_READ );
+        }
+        catch ( IOException ie ) {
+            datagramChannel.close();
+            datagramChannel = null;
+            throw ie;
+        }
+        networkSimulator = new NetworkSimulator( datagramChannel );
+        networkSimulator.start();
+    }
+
+    /**
+        Sets the simulated network conditions of the state datagrams.
+        @param packetLoss simulated packet loss in percent
+        @param latency simulated latency (ms)
+        @param jitter simulated jitter (ms)
+    */
+    public void setSimulatedNetworkConditions( final int packetLoss, final int latency, final int jitter ) {
+        if ( networkSimulator != null )
+            networkSimulator.setConditions( packetLoss, latency, jitter );
+    }
+
+    /**
+        The selector loop: accepts the connections, reads the frames and datagrams of the clients, and writes the pending frames.
+    */
+    public void run() {
+        try {
+            while ( !requestedToCancel ) {
+                selector.select();
+                final Iterator selectedKeys = selector.selectedKeys().iterator();
+                while ( selectedKeys.hasNext() ) {
+                    final SelectionKey selectionKey = (SelectionKey) selectedKeys.next();
+                    selectedKeys.remove();
+                    if ( !selectionKey.isValid() )
+                        continue;
+                    if ( selectionKey.isAcceptable() )
+                        acceptConnection();
+                    else if ( selectionKey.channel() == datagramChannel )
+                        readDatagrams();
+                    else {
+                        final PushConnection connection = (PushConnection) selectionKey.attachment();
+                        try {
+                            if ( selectionKey.isReadable() )
+                                readFrames( connection );
+                            if ( selectionKey.isValid() && selectionKey.isWritable() )
+                                connection.flushPendingFrame();
+                        }
+                        catch ( IOException ie ) {
+                            closeConnection( connection );
+                        }
+                    }
+                }
+                updateInterestOps();
+            }
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+        }
+        synchronized ( connections ) {
+            for ( int connectionIndex = connections.size() - 1; connectionIndex >= 0; connectionIndex-- )
+                closeConnection( (PushConnection) connections.elementAt( connectionIndex ) );
+        }
+        try {
+            if ( datagramChannel != null ) {
+                networkSimulator.requestToCancel();
+                datagramChannel.close();
+            }
+            serverSocketChannel.close();
+            selector.close();
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+        }
+    }
+
+    /**
+        Accepts a new connection.
+        @throws IOException if accepting the connection fails
+    */
+    private void acceptConnection() throws IOException {
+        final SocketChannel socketChannel = serverSocketChannel.accept();
+        if ( socketChannel == null )
+            return;
+        socketChannel.configureBlocking( false );
+        socketChannel.socket().setTcpNoDelay( true );
+        final PushConnection connection = new PushConnection( socketChannel );
+        synchronized ( connections ) {
+            connections.add( connection );
+        }
+        socketChannel.register( selector, SelectionKey.OP_READ, connection );
+    }
+
+    /**
+        Reads and processes the arrived frames of a connection.
+        @param connection connection to read from
+        @throws IOException if reading fails, the client closed the connection or sent an invalid frame
+    */
+    private void readFrames( final PushConnection connection ) throws IOException {
+        final FrameAssembler frameAssembler = connection.getFrameAssembler();
+        if ( frameAssembler.readFrom( connection.getSocketChannel() ) < 0 )
+            throw new EOFException();
+        while ( frameAssembler.nextFrame() ) {
+            final ByteBuffer payload = frameAssembler.getFramePayload();
+            try {
+                switch ( frameAssembler.getFrameType() ) {
+                    case FRAME_HELLO : {
+                        final int playerIndex = payload.getInt();
+                        final int key         = payload.getInt();
+                        final Player player   = playerIndex >= 0 && playerIndex < players.length ? players[ playerIndex ] : null;
+                        if ( player == null || player.closed() || player.getPushTransportKey() != key )
+                            throw new IOException( "Invalid hello." );
+                        connection.setPlayer( player, playerIndex, key );
+                        break;
+                    }
+                    case FRAME_ACKNOWLEDGEMENT : {
+                        final Player player = getHelloedPlayer( connection );
+                        final int acknowledgedTick = payload.getInt();
+                        player.receiveViewTick( payload.getInt() );
+                        connection.acknowledge( acknowledgedTick, payload.get() );
+                        try {
+                            player.clearIdleTime();
+                        }
+                        catch ( RemoteException re ) {   // Player is closed, the client will be informed by the next state update
+                        }
+                        break;
+                    }
+                    case FRAME_INPUT :
+                        getHelloedPlayer( connection ).receiveInputFrame( InputFrame.readFrom( payload ) );
+                        break;
+                    default :
+                        throw new IOException( "Invalid frame type: " + frameAssembler.getFrameType() );
+                }
+            }
+            catch ( BufferUnderflowException bue ) {
+                throw new IOException( "Truncated frame of type: " + frameAssembler.getFrameType() );
+            }
+        }
+    }
+
+    /**
+        Returns the player of a connection which has said hello.
+        @param connection the connection
+        @return the player of the connection
+        @throws IOException if the connection has not said hello yet
+    */
+    private static Player getHelloedPlayer( final PushConnection connection ) throws IOException {
+        final Player player = connection.getPlayer();
+        if ( player == null )
+            throw new IOException( "Frame before hello." );
+        return player;
+    }
+
+    /**
+        Reads the arrived state datagrams of the clients. A datagram consists of a header, the player index and the push transport key.
+    */
+    private void readDatagrams() {
+        while ( true ) {
+            final SocketAddress address;
+            datagramBuffer.clear();
+            try {
+                if ( ( address = datagramChannel.receive( datagramBuffer ) ) == null )
+                    return;
+            }
+            catch ( IOException ie ) {   // Datagrams may be lost anyway (for example ICMP port unreachable of a client that has gone)
+                return;
+            }
+            datagramBuffer.flip();
+            if ( datagramBuffer.remaining() < DatagramSequencer.HEADER_LENGTH + 8 )
+                continue;
+            final int sequence    = datagramBuffer.getInt();
+            final int ack         = datagramBuffer.getInt();
+            final int ackBits     = datagramBuffer.getInt();
+            final int playerIndex = datagramBuffer.getInt();
+            final int key         = datagramBuffer.getInt();
+            synchronized ( connections ) {
+                for ( int connectionIndex = connections.size() - 1; connectionIndex >= 0; connectionIndex-- ) {
+                    final PushConnection connection = (PushConnection) connections.elementAt( connectionIndex );
+                    if ( connection.isIdentifiedBy( playerIndex, key ) ) {
+                        connection.receiveDatagram( address, sequence, ack, ackBits );
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+        Sets the interest operations of the connections: we wait for writability only if there is a pending frame.
+    */
+    private void updateInterestOps() {
+        synchronized ( connections ) {
+            for ( int connectionIndex = connections.size() - 1; connectionIndex >= 0; connectionIndex-- ) {
+                final PushConnection connection   = (PushConnection) connections.elementAt( connectionIndex );
+                final SelectionKey   selectionKey = connection.getSocketChannel().keyFor( selector );
+                if ( selectionKey != null && selectionKey.isValid() )
+                    selectionKey.interestOps( connection.hasPendingFrame() ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ );
+            }
+        }
+    }
+
+    /**
+        Closes a connection.
+        @param connection connection to be closed
+    */
+    private void closeConnection( final PushConnection connection ) {
+        synchronized ( connections ) {
+            connections.remove( connection );
+        }
+        try {
+            connection.getSocketChannel().close();
+        }
+        catch ( IOException ie ) {
+            Logging.logError( ie );
+        }
+    }
+
+    /**
+        Pushes a state update to every connected client. Must be called by the game handler thread after a snapshot has been captured.
+        If the client has a state datagram channel, the snapshot delta is sent in a state datagram,
+        and the state update frame is only sent if it has something else to tell. If the acknowledgements of
+        the client lag too much behind (its datagrams might be blocked), the delta is sent in the frame too.
+        If the previous state update frame of a client has not been written completely yet, the frame is skipped in this cycle
+        (the next delta will be made against its acknowledged snapshot anyway).
+    */
+    public void pushStateUpdates() {
+        boolean hasPendingFrame = false;
+        synchronized ( connections ) {
+            for ( int connectionIndex = connections.size() - 1; connectionIndex >= 0; connectionIndex-- ) {
+                final PushConnection connection = (PushConnection) connections.elementAt( connectionIndex );
+                final Player         player     = connection.getPlayer();
+                if ( player == null || connection.isPlayerClosedSent() )
+                    continue;
+                final boolean       framePending    = connection.hasPendingFrame();
+                final SocketAddress datagramAddress = connection.getDatagramAddress();
+                if ( framePending && ( datagramAddress == null || player.closed() ) )
+                    continue;
+                payloadBuffer.reset();
+                try {
+                    if ( player.closed() ) {
+                        writePlayerClosedStatus( player );
+                        connection.setPlayerClosedSent();
+                    }
+                    else {
+                        final byte[]  snapshotDelta     = player.createSnapshotDelta( connection.getAcknowledgedTick() );
+                        final boolean snapshotDeltaSent = datagramAddress != null && sendStateDatagram( connection, datagramAddress, snapshotDelta );
+                        if ( framePending )
+                            continue;
+                        final byte[] messageUpdate = player.getMessageLog().createUpdate( connection.getSentMessageSequence() );
+                        final byte[] mapUpdate     = mapJournal.createUpdate( connection.getSentMapVersion() );
+                        if ( !writeStateUpdate( snapshotDeltaSent ? null : snapshotDelta, messageUpdate, mapUpdate, connection.getRequestFlags() ) )
+                            continue;
+                        if ( messageUpdate != null )
+                            connection.setSentMessageSequence( MessageLog.getLastSequence( messageUpdate ) );
+                        if ( mapUpdate != null )
+                            connection.setSentMapVersion( mapJournal.getVersion() );   // Map is changed only by the game handler thread: version is the one of the update
+                    }
+                }
+                catch ( IOException ie ) {   // This should never happen: we write into memory
+                    Logging.logError( ie );
+                    continue;
+                }
+                try {
+                    if ( !connection.sendFrame( FRAME_STATE_UPDATE, payloadBuffer ) )
+                        hasPendingFrame = true;
+                }
+                catch ( IOException ie ) {
+                    closeConnection( connection );
+                }
+            }
+        }
+        if ( hasPendingFrame )
+            selector.wakeup();   // The selector thread has to wait for writability
+    }
+
+    /**
+        Sends a snapshot delta in a state datagram.
+        @param connection the connection of the client
+        @param datagramAddress address of the state datagram channel of the client
+        @param snapshotDelta the snapshot delta to be sent
+        @return true if the snapshot delta has been sent; false if it has to be sent on the reliable connection
+                (it is too long for a datagram, sending failed, or the acknowledgements of the client lag too much)
+    */
+    private boolean sendStateDatagram( final PushConnection connection, final SocketAddress datagramAddress, final byte[] snapshotDelta ) {
+        if ( DatagramSequencer.HEADER_LENGTH + snapshotDelta.length > MAX_STATE_DATAGRAM_LENGTH )
+            return false;
+        final int tick = ByteBuffer.wrap( snapshotDelta ).getInt( 0 );
+        try {
+            connection.writeStateDatagram( stateDatagramBuffer, snapshotDelta, tick );
+            networkSimulator.send( stateDatagramBuffer, datagramAddress );
+        }
+        catch ( IOException ie ) {
+            return false;
+        }
+        return tick - connection.getAcknowledgedTick() <= MAX_DATAGRAM_ACKNOWLEDGEMENT_LAG;
+    }
+
+    /**
+        Writes the status of a closed player into the payload.
+        @param player the closed player
+        @throws IOException thrown by the output stream
+    */
+    private void writePlayerClosedStatus( final Player player ) throws IOException {
+        boolean kicked     = false;
+        String kickMessage = null;
+        try {
+            kicked      = player.isKicked();
+            kickMessage = player.getKickMessage();
+        }
+        catch ( RemoteException re ) {   // This should never happen: it's a local call
+            Logging.logError( re );
+        }
+        payloadOutput.writeByte( kicked ? STATUS_PLAYER_CLOSED | STATUS_PLAYER_KICKED : STATUS_PLAYER_CLOSED );
+        if ( kicked )
+            payloadOutput.writeUTF( kickMessage );
+    }
+
+    /**
+        Writes a state update into the payload: the snapshot delta, the new messages and the map changes.
+        @param snapshotDelta the snapshot delta, or null if it has been sent in a state datagram
+        @param messageUpdate the update of the messages the client has not got yet, or null if there is no new message
+        @param mapUpdate the map update since the last sent one, or null if the map has not changed
+        @param requestFlags request flags of the client
+        @return true if the state update has to be sent; false if it would not tell anything
+        @throws IOException thrown by the output stream
+    */
+    private boolean writeStateUpdate( final byte[] snapshotDelta, final byte[] messageUpdate, final byte[] mapUpdate, final byte requestFlags ) throws IOException {
+        if ( snapshotDelta == null && messageUpdate == null && mapUpdate == null && requestFlags == 0 )
+            return false;
+        payloadOutput.writeByte( 0 );
+        if ( snapshotDelta == null )
+            payloadOutput.writeInt( 0 );
+        else {
+            payloadOutput.writeInt( snapshotDelta.length );
+            payloadOutput.write( snapshotDelta );
+        }
+        if ( messageUpdate != null ) {
+            payloadOutput.writeInt( messageUpdate.length );
+            payloadOutput.write( messageUpdate );
+        }
+        else
+            payloadOutput.writeInt( 0 );
+        if ( mapUpdate != null ) {
+            payloadOutput.writeInt( mapUpdate.length );
+            payloadOutput.write( mapUpdate );
+        }
+        else
+            payloadOutput.writeInt( 0 );
+        return true;
+    }
+
+    /**
+        Closes the push transport server and all of its connections, and waits until the selector thread stops.
+    */
+    public void close() {
+        requestedToCancel = true;
+        selector.wakeup();
+        try {
+            join();
+        }
+        catch ( InterruptedException ie ) {
+            Logging.logError( ie );
+        }
+    }
+
+}
@@ -0,0 +1,294 @@
+
+package classes.servertools;
+
+import java.io.*;
+import java.util.*;
+import classes.nettools.*;
+import classes.utilities.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+import classes.servertools.gamecore.decorations.*;
+
+
+/**
+    Captures the world snapshots, and creates the deltas for the clients against the snapshot they acknowledged lastly.
+    The snapshots sent to a client are subsets of the captured ones (see InterestFilter), so the clients keep their own histories.
+    Snapshots are captured by the game handler thread, deltas are requested by the client serving threads.
+    The entities are encoded once per tick at the capture. The subsets and the deltas of the last snapshot are shared between the clients:
+    clients seeing the same entities get the same subset object, and clients with the same base and subset get the same encoded delta,
+    so the cost of serving a tick grows with the number of different views, not with the number of clients.
+    A captured snapshot is never modified. It is published with its shared caches at the end of the capture by a single volatile reference swap,
+    so the client serving threads always see a complete snapshot, and never wait for the game handler thread (they only synchronize on the caches of a snapshot, among themselves).
+*/
+public class SnapshotHistory {
+
+    /** Empty snapshot: base of the full snapshots. */
+    static final WorldSnapshot EMPTY_SNAPSHOT = new WorldSnapshot( SnapshotConsts.NO_TICK );
+    /** Number of the subsets and of the deltas of the last snapshot kept to be shared by the clients. */
+    private static final int   SHARED_CACHE_LENGTH = 16;
+
+    /** Reference to the players. */
+    private final Player[]        players;
+    /** Reference to the bullets. */
+    private final Vector          bullets;
+    /** Reference to the explosions. */
+    private final Vector          explosions;
+    /** Reference to the polyline shots. */
+    private final Vector          polylineShots;
+    /** The polyline shots present since the last capture (they live only one cycle, a snapshot may be captured only at every few cycles). */
+    private final Vector          collectedPolylineShots = new Vector();
+    /** Reference to the decoration bursts. */
+    private final Vector          decorationBursts;
+    /** Codec to encode the entities with. */
+    private final EntityCodec     entityCodec = new EntityCodec();
+    /** The last captured snapshot with its shared caches. */
+    private volatile Publication  publication  = new Publication( EMPTY_SNAPSHOT );
+    /** Tick of the next snapshot. */
+    private int                   nextTick     = 0;
+    /** Next entity id to be given out. */
+    private int                   nextEntityId = HasEntityId.NO_ENTITY_ID + 1;
+
+    /**
+        Creates a new SnapshotHistory.
+        @param players reference to the players
+        @param bullets reference to the bullets
+        @param explosions reference to the explosions
+        @param polylineShots reference to the polyline shots
+        @param decorationBursts reference to the decoration bursts
+    */
+    public SnapshotHistory( final Player[] players, final Vector bullets, final Vector explosions, final Vector polylineShots, final Vector decorationBursts ) {
+        this.players          = players;
+        this.bullets          = bullets;
+        this.explosions       = explosions;
+        this.polylineShots    = polylineShots;
+        this.decorationBursts = decorationBursts;
+    }
+
+    /**
+        Collects the actual polyline shots to be included in the next snapshot. Must be called by the thread which modifies the world, at every cycle.
+    */
+    public void collectPolylineShots() {
+        for ( int polylineShotIndex = 0; polylineShotIndex < polylineShots.size(); polylineShotIndex++ )
+            if ( !collectedPolylineShots.contains( polylineShots.elementAt( polylineShotIndex ) ) )
+                collectedPolylineShots.add( polylineShots.elementAt( polylineShotIndex ) );
+    }
+
+    /**
+        Captures a snapshot of the actual state of the world. Must be called by the thread which modifies the world.
+        The snapshot contains the polyline shots collected since the last capture.
+    */
+    public void capture() {
+        final WorldSnapshot snapshot = new WorldSnapshot( nextTick );
+        for ( int playerIndex = 0; playerIndex < players.length; playerIndex++ ) {
+            final Player player = players[ playerIndex ];
+            if ( player != null && !player.closed() ) {
+                final PlayerState playerState = player.getPlayerState();
+                final int         positionX   = (int) playerState.position.x;
+                final int         positionY   = (int) playerState.position.y;
+                addRecord( snapshot, SnapshotConsts.SECTION_PLAYER_INFOS    , playerIndex, entityCodec.encodePlayerInfo   ( playerState ), WorldSnapshot.UNBOUNDED, 0, 0, 0 );
+                addRecord( snapshot, SnapshotConsts.SECTION_PLAYER_STATES   , playerIndex, entityCodec.encodePlayerState  ( playerState ), positionX, positionY, positionX, positionY );
+                addRecord( snapshot, SnapshotConsts.SECTION_PLAYER_SUMMARIES, playerIndex, entityCodec.encodePlayerSummary( playerState ), WorldSnapshot.UNBOUNDED, 0, 0, 0 );
+            }
+        }
+        for ( int bulletIndex = 0; bulletIndex < bullets.size(); bulletIndex++ ) {
+            final Bullet bullet    = (Bullet) bullets.elementAt( bulletIndex );
+            final int    positionX = (int) bullet.position.x;
+            final int    positionY = (int) bullet.position.y;
+            addRecord( snapshot, SnapshotConsts.SECTION_BULLETS, getEntityId( bullet ), entityCodec.encodeBullet( bullet ), positionX, positionY, positionX, positionY );
+        }
+        for ( int explosionIndex = 0; explosionIndex < explosions.size(); explosionIndex++ ) {
+            final Explosion explosion = (Explosion) explosions.elementAt( explosionIndex );
+            final int       range     = explosion.getRange();
+            addRecord( snapshot, SnapshotConsts.SECTION_EXPLOSIONS, getEntityId( explosion ), entityCodec.encodeExplosion( explosion ),
+                       explosion.getPositionX() - range, explosion.getPositionY() - range, explosion.getPositionX() + range, explosion.getPositionY() + range );
+        }
+        for ( int polylineShotIndex = 0; polylineShotIndex < collectedPolylineShots.size(); polylineShotIndex++ ) {
+            final PolylineShot polylineShot = (PolylineShot) collectedPolylineShots.elementAt( polylineShotIndex );
+            final int[]        xPoints      = polylineShot.getXPoints();
+            final int[]        yPoints      = polylineShot.getYPoints();
+            int x1 = Integer.MAX_VALUE, y1 = Integer.MAX_VALUE, x2 = Integer.MIN_VALUE, y2 = Integer.MIN_VALUE;
+            for ( int pointIndex = xPoints.length - 1; pointIndex >= 0; pointIndex-- ) {
+                x1 = Math.min( x1, xPoints[ pointIndex ] );
+                y1 = Math.min( y1, yPoints[ pointIndex ] );
+                x2 = Math.max( x2, xPoints[ pointIndex ] );
+                y2 = Math.max( y2, yPoints[ pointIndex ] );
+            }
+            addRecord( snapshot, SnapshotConsts.SECTION_POLYLINE_SHOTS, getEntityId( polylineShot ), entityCodec.encodePolylineShot( polylineShot ), x1, y1, x2, y2 );
+        }
+        collectedPolylineShots.removeAllElements();
+        for ( int decorationBurstIndex = 0; decorationBurstIndex < decorationBursts.size(); decorationBurstIndex++ ) {   // Decorations may fly far, every client gets every burst
+            final DecorationBurst decorationBurst = (DecorationBurst) decorationBursts.elementAt( decorationBurstIndex );
+            if ( decorationBurst.getSpawnTick() == SnapshotConsts.NO_TICK )
+                decorationBurst.setSpawnTick( nextTick );
+            addRecord( snapshot, SnapshotConsts.SECTION_DECORATION_BURSTS, getEntityId( decorationBurst ), entityCodec.encodeDecorationBurst( decorationBurst ), WorldSnapshot.UNBOUNDED, 0, 0, 0 );
+        }
+        publication = new Publication( snapshot );   // The caches of the old snapshot go with it
+        nextTick++;
+    }
+
+    /**
+        Returns the entity id of an object. Objects get their ids here at their first capture.
+        @param object object whose entity id to be returned
+        @return the entity id of the object
+    */
+    private int getEntityId( final HasEntityId object ) {
+        if ( object.getEntityId() == HasEntityId.NO_ENTITY_ID )
+            object.setEntityId( nextEntityId++ );
+        return object.getEntityId();
+    }
+
+    /**
+        Adds a record to a snapshot. If the record equals to the record of the same entity in the last snapshot,
+        the old record will be added, so deltas can compare records by reference.
+        @param snapshot snapshot to add to
+        @param section section to add to
+        @param id entity id of the record
+        @param record the record
+        @param x1 left bound of the entity, or WorldSnapshot.UNBOUNDED if the entity is always of interest
+        @param y1 top bound of the entity
+        @param x2 right bound of the entity
+        @param y2 bottom bound of the entity
+    */
+    private void addRecord( final WorldSnapshot snapshot, final int section, final int id, final byte[] record, final int x1, final int y1, final int x2, final int y2 ) {
+        if ( record == null )
+            return;
+        final byte[] lastRecord = publication.snapshot.findRecord( section, id );
+        snapshot.addRecord( section, id, lastRecord != null && Arrays.equals( lastRecord, record ) ? lastRecord : record, null, x1, y1, x2, y2 );
+    }
+
+    /**
+        Returns the tick of the last captured snapshot.
+        @return the tick of the last captured snapshot
+    */
+    public int getLastTick() {
+        return publication.snapshot.getTick();
+    }
+
+    /**
+        Returns the tick of the next snapshot. Must be called by the thread which captures the snapshots.
+        @return the tick of the next snapshot
+    */
+    public int getNextTick() {
+        return nextTick;
+    }
+
+    /**
+        Returns the last captured snapshot.
+        @return the last captured snapshot
+    */
+    public WorldSnapshot getLastSnapshot() {
+        return publication.snapshot;
+    }
+
+    /**
+        Returns the subset of a snapshot which is of interest in an area. If another client has got the subset with the same entities, that one is returned.
+        The subset is created outside of the lock, so clients don't wait for each other.
+        @param snapshot the snapshot
+        @param x1 left bound of the area
+        @param y1 top bound of the area
+        @param x2 right bound of the area
+        @param y2 bottom bound of the area
+        @return the subset of the snapshot
+    */
+    WorldSnapshot getSharedSubset( final WorldSnapshot snapshot, final int x1, final int y1, final int x2, final int y2 ) {
+        final WorldSnapshot subset = snapshot.createSubset( x1, y1, x2, y2 );
+        if ( subset == snapshot )
+            return subset;
+        final Publication publication = this.publication;
+        if ( snapshot != publication.snapshot )   // A new snapshot has been captured meanwhile
+            return subset;
+        synchronized ( publication ) {
+            for ( int subsetIndex = 0; subsetIndex < publication.sharedSubsetsCount; subsetIndex++ )
+                if ( publication.sharedSubsets[ subsetIndex ].hasSameEntities( subset ) )
+                    return publication.sharedSubsets[ subsetIndex ];
+            if ( publication.sharedSubsetsCount < SHARED_CACHE_LENGTH )
+                publication.sharedSubsets[ publication.sharedSubsetsCount++ ] = subset;
+        }
+        return subset;
+    }
+
+    /**
+        Returns the delta of a snapshot against the snapshot acknowledged by a client. If it has been created for another client, that one is returned
+        (the returned delta must not be modified). The delta is created outside of the lock, so clients don't wait for each other.
+        @param base the snapshot acknowledged by the client, EMPTY_SNAPSHOT to create a full snapshot
+        @param target the snapshot to be sent
+        @param changeableServerOptionsChangeCounter value of the counter of the changes of the changeable server options
+        @return the delta
+    */
+    byte[] getSharedDelta( final WorldSnapshot base, final WorldSnapshot target, final int changeableServerOptionsChangeCounter ) {
+        final Publication publication = this.publication;
+        if ( target.getTick() != publication.snapshot.getTick() )   // Deltas of older snapshots are not shared, they would hold the old snapshots
+            return createDelta( base, target, changeableServerOptionsChangeCounter );
+        synchronized ( publication ) {
+            for ( int slotIndex = 0; slotIndex < SHARED_CACHE_LENGTH; slotIndex++ )
+                if ( publication.sharedDeltaTargets[ slotIndex ] == target && publication.sharedDeltaBases[ slotIndex ] == base && publication.sharedDeltaCounters[ slotIndex ] == changeableServerOptionsChangeCounter )
+                    return publication.sharedDeltas[ slotIndex ];
+        }
+        final byte[] delta = createDelta( base, target, changeableServerOptionsChangeCounter );
+        synchronized ( publication ) {
+            final int slotIndex = publication.nextSharedDeltaIndex;
+            publication.sharedDeltaBases   [ slotIndex ] = base;
+            publication.sharedDeltaTargets [ slotIndex ] = target;
+            publication.sharedDeltaCounters[ slotIndex ] = changeableServerOptionsChangeCounter;
+            publication.sharedDeltas       [ slotIndex ] = delta;
+            publication.nextSharedDeltaIndex = ( slotIndex + 1 ) % SHARED_CACHE_LENGTH;
+        }
+        return delta;
+    }
+
+    /**
+        Creates a delta of a snapshot against the snapshot acknowledged by a client.
+        @param base the snapshot acknowledged by the client, EMPTY_SNAPSHOT to create a full snapshot
+        @param target the snapshot to be sent
+        @param changeableServerOptionsChangeCounter value of the counter of the changes of the changeable server options
+        @return the delta
+    */
+    private static byte[] createDelta( final WorldSnapshot base, final WorldSnapshot target, final int changeableServerOptionsChangeCounter ) {
+        final ByteArrayOutputStream deltaBuffer = new ByteArrayOutputStream();
+        final DataOutputStream      deltaOutput = new DataOutputStream( deltaBuffer );
+        try {
+            deltaOutput.writeInt( target.getTick() );
+            deltaOutput.writeInt( base  .getTick() );
+            deltaOutput.writeInt( changeableServerOptionsChangeCounter );
+            DeltaCodec.writeDelta( deltaOutput, base, target );
+        }
+        catch ( IOException ie ) {   // This should never happen: we write into memory
+            Logging.logError( ie );
+        }
+        return deltaBuffer.toByteArray();
+    }
+
+    /**
+        A published snapshot with the caches of its subsets and deltas shared between the clients.
+        The caches are guarded by the lock of the publication.
+    */
+    private static class Publication {
+
+        /** The published snapshot. */
+        final WorldSnapshot   snapshot;
+        /** The shared subsets of the snapshot. */
+        final WorldSnapshot[] sharedSubsets       = new WorldSnapshot[ SHARED_CACHE_LENGTH ];
+        /** Number of the shared subsets. */
+        int                   sharedSubsetsCount;
+        /** Bases of the shared deltas. */
+        final WorldSnapshot[] sharedDeltaBases    = new WorldSnapshot[ SHARED_CACHE_LENGTH ];
+        /** Targets of the shared deltas. */
+        final WorldSnapshot[] sharedDeltaTargets  = new WorldSnapshot[ SHARED_CACHE_LENGTH ];
+        /** Counters of the changes of the changeable server options of the shared deltas. */
+        final int[]           sharedDeltaCounters = new int          [ SHARED_CACHE_LENGTH ];
+        /** The shared deltas. */
+        final byte[][]        sharedDeltas        = new byte         [ SHARED_CACHE_LENGTH ][];
+        /** Index of the slot of the next shared delta. */
+        int                   nextSharedDeltaIndex;
+
+        /**
+            Creates a new Publication.
+            @param snapshot the published snapshot
+        */
+        Publication( final WorldSnapshot snapshot ) {
+            this.snapshot = snapshot;
+        }
+
+    }
+
+}
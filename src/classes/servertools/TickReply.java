@@ -0,0 +1,130 @@
+
+package classes.servertools;
+
+import java.io.*;
+import classes.clienttools.*;
+
+
+/**
+    Reply to a polling client in a tick exchange: the status of the player, and everything the client has not got yet
+    (the snapshot delta, the new messages, the map changes and the changed changeable server options).
+*/
+public class TickReply implements Serializable {
+
+    /** Tells whether the player has been closed. */
+    private final boolean                 playerClosed;
+    /** Tells whether the player has been kicked. */
+    private final boolean                 playerKicked;
+    /** The kick message if the player has been kicked. */
+    private final String                  kickMessage;
+    /** The encoded snapshot delta. */
+    private final byte[]                  snapshotDelta;
+    /** The encoded message update, or null if there is no new message. */
+    private final byte[]                  messageUpdate;
+    /** The encoded map update, or null if the map has not changed. */
+    private final byte[]                  mapUpdate;
+    /** The changeable server options, or null if they have not changed. */
+    private final ChangeableServerOptions changeableServerOptions;
+    /** Value of the counter of the changes of the changeable server options (valid if the options are included). */
+    private final int                     changeableServerOptionsChangeCounter;
+
+    /**
+        Creates a new TickReply of a closed player.
+        @param playerKicked tells whether the player has been kicked
+        @param kickMessage the kick message if the player has been kicked
+    */
+    public TickReply( final boolean playerKicked, final String kickMessage ) {
+        this.playerClosed                         = true;
+        this.playerKicked                         = playerKicked;
+        this.kickMessage                          = kickMessage;
+        this.snapshotDelta                        = null;
+        this.messageUpdate                        = null;
+        this.mapUpdate                            = null;
+        this.changeableServerOptions              = null;
+        this.changeableServerOptionsChangeCounter = 0;
+    }
+
+    /**
+        Creates a new TickReply of a player being in the game.
+        @param snapshotDelta the encoded snapshot delta
+        @param messageUpdate the encoded message update, or null if there is no new message
+        @param mapUpdate the encoded map update, or null if the map has not changed
+        @param changeableServerOptions the changeable server options, or null if they have not changed
+        @param changeableServerOptionsChangeCounter value of the counter of the changes of the changeable server options
+    */
+    public TickReply( final byte[] snapshotDelta, final byte[] messageUpdate, final byte[] mapUpdate, final ChangeableServerOptions changeableServerOptions, final int changeableServerOptionsChangeCounter ) {
+        this.playerClosed                         = false;
+        this.playerKicked                         = false;
+        this.kickMessage                          = null;
+        this.snapshotDelta                        = snapshotDelta;
+        this.messageUpdate                        = messageUpdate;
+        this.mapUpdate                            = mapUpdate;
+        this.changeableServerOptions              = changeableServerOptions;
+        this.changeableServerOptionsChangeCounter = changeableServerOptionsChangeCounter;
+    }
+
+    /**
+        Returns whether the player has been closed.
+        @return true if the player has been closed; false otherwise
+    */
+    public boolean isPlayerClosed() {
+        return playerClosed;
+    }
+
+    /**
+        Returns whether the player has been kicked.
+        @return true if the player has been kicked; false otherwise
+    */
+    public boolean isPlayerKicked() {
+        return playerKicked;
+    }
+
+    /**
+        Returns the kick message.
+        @return the kick message if the player has been kicked
+    */
+    public String getKickMessage() {
+        return kickMessage;
+    }
+
+    /**
+        Returns the encoded snapshot delta.
+        @return the encoded snapshot delta
+    */
+    public byte[] getSnapshotDelta() {
+        return snapshotDelta;
+    }
+
+    /**
+        Returns the encoded message update.
+        @return the encoded message update, or null if there is no new message
+    */
+    public byte[] getMessageUpdate() {
+        return messageUpdate;
+    }
+
+    /**
+        Returns the encoded map update.
+        @return the encoded map update, or null if the map has not changed
+    */
+    public byte[] getMapUpdate() {
+        return mapUpdate;
+    }
+
+    /**
+        Returns the changeable server options.
+        @return the changeable server options, or null if they have not changed
+    */
+    public ChangeableServerOptions getChangeableServerOptions() {
+        return changeableServerOptions;
+    }
+
+    /**
+        Returns the value of the counter of the changes of the changeable server options.
+        @return the value of the counter of the changes of the changeable server options (valid if the options are included)
+    */
+    public int getChangeableServerOptionsChangeCounter() {
+        return changeableServerOptionsChangeCounter;
+    }
+
+}
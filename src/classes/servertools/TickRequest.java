@@ -0,0 +1,44 @@
+
+package classes.servertools;
+
+import java.io.*;
+import classes.nettools.*;
+
+
+/**
+    Request of a polling client in a tick exchange: the new input frames of the client, and the versions of everything it has got.
+*/
+public class TickRequest implements Serializable {
+
+    /** The new input frames of the client in tick order, or null if there is none. */
+    public final InputFrame[] inputFrames;
+    /** Tick of the last snapshot the client has got, or SnapshotConsts.NO_TICK if it has got none. */
+    public final int          acknowledgedTick;
+    /** Tick of the snapshot shown by the client, or SnapshotConsts.NO_TICK if it shows none yet. */
+    public final int          viewTick;
+    /** Sequence of the last message the client has got, or SnapshotConsts.NO_MESSAGE_SEQUENCE if it has got none. */
+    public final int          receivedMessageSequence;
+    /** Version of the map the client has, or SnapshotConsts.NO_MAP_VERSION if it has none. */
+    public final int          mapVersion;
+    /** Value of the counter of the changes of the changeable server options when the client got them last, or -1 if it has not got them yet. */
+    public final int          changeableServerOptionsChangeCounter;
+
+    /**
+        Creates a new TickRequest.
+        @param inputFrames the new input frames of the client in tick order, or null if there is none
+        @param acknowledgedTick tick of the last snapshot the client has got
+        @param viewTick tick of the snapshot shown by the client
+        @param receivedMessageSequence sequence of the last message the client has got
+        @param mapVersion version of the map the client has
+        @param changeableServerOptionsChangeCounter value of the counter of the changes of the changeable server options when the client got them last
+    */
+    public TickRequest( final InputFrame[] inputFrames, final int acknowledgedTick, final int viewTick, final int receivedMessageSequence, final int mapVersion, final int changeableServerOptionsChangeCounter ) {
+        this.inputFrames                          = inputFrames;
+        this.acknowledgedTick                     = acknowledgedTick;
+        this.viewTick                             = viewTick;
+        this.receivedMessageSequence              = receivedMessageSequence;
+        this.mapVersion                           = mapVersion;
+        this.changeableServerOptionsChangeCounter = changeableServerOptionsChangeCounter;
+    }
+
+}
@@ -0,0 +1,349 @@
+
+package classes.servertools.gamecore;
+
+import classes.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.decorations.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    The movement rules of the worms: the forces, the moving keys and the collisions with the map.
+    The server steps the worms by these rules, and the clients step their own worms by the same rules to predict their movement.
+    The decorations are stepped by these rules too (by the clients only).
+*/
+public class MovementRules {
+
+    /** The measure of gravitation acceleration (m/s^2). */
+    private static final float GRAVITATION                       = 0.5f;
+    /** If Rate = 0.5 and velcity = 5.34 m/s, then shapeResistanceForce = 1 N. (kg/m) */
+    private static final float AIR_SHAPE_RESISTANCE_FORCE_UNIT   = 0.03f;
+    /** If Rate = 0.5 and velcity = 3.16 m/s, then shapeResistanceForce = 1 N. (kg/m) */
+    private static final float WATER_SHAPE_RESISTANCE_FORCE_UNIT = 0.2f;
+    /** Maximum value of shape resistance force (N). */
+    private static final float MAX_SHAPE_RESISTANCE_FORCE        = 2.0f;
+    /** Force to move worm when left or right key is pressed (N). */
+    private static final float HORIZONTAL_MOVING_FORCE           = 0.01f;
+    /** Physical density of the water (kg/m^3). */
+    private static final float WATER_DENSITY                     = 1000.0f;
+    /** The physical friction rate of the ground (mû). */
+    private static final float GROUND_FRICTION_RATE              = 0.3f;
+    /** Jumping velocity (m/s). */
+    private static final float JUMPING_VELOCITY                  = 8.5f;
+    /** Walking velocity of a worm on the ground (m/s). */
+    private static final float WALKING_VELOCITY                  = 1.3f;
+    /** Worm acceleration on ground when left or right key is pressed (m/s^2).*/
+    private static final float GROUND_ACCELERATION               = 0.25f;
+    /** Flying velocity of a worm in the air (m/s). */
+    private static final float FLYING_VELOCITY                   = 1.2f;
+    /** Worm acceleration in the air when left or right key is pressed (m/s^2).*/
+    private static final float AIR_ACCELERATION                  = 0.1f;
+    /** Swimming velocity of a worm in the water (m/s). */
+    private static final float SWIMMING_VELOCITY                 = 0.8f;
+    /** Worm acceleration in the water when left or right key is pressed (m/s^2).*/
+    private static final float WATER_ACCELERATION                = 0.15f;
+
+    /** Reference to the map. */
+    private final Map         map;
+    /** The wind. */
+    private final FloatVector windVelocity = new FloatVector();
+
+    /**
+        Creates a new MovementRules.
+        @param map reference to the map
+    */
+    public MovementRules( final Map map ) {
+        this.map = map;
+    }
+
+    /**
+        Tests whether a worm hits another player. The movement rules don't know the players, the default implementation returns false.
+        @param playerState state of the worm to be tested
+        @param playerIndex index of the player of the worm
+        @return true if the worm hits another player; false otherwise
+    */
+    protected boolean hitsOtherPlayer( final PlayerState playerState, final int playerIndex ) {
+        return false;
+    }
+
+    /**
+        Calculates the force affects to a worm, and sets its direction according to its position type.
+        @param playerState state of the worm
+    */
+    public void calculatePlayerForce( final PlayerState playerState ) {
+        calculateForce( playerState );
+        if ( playerState.positionType == MovingObjectConsts.POSITION_TYPE_ON_GROUND )
+            playerState.setGroundDirection();
+        else
+            playerState.setAirDirection();
+    }
+
+    /**
+        Handles the moving keys (left, right, up, down) of a worm.
+        @param playerState state of the worm
+        @param controlKeyStates states of the control keys
+        @param cycleCounter the cycle counter (the phases of the worm are changed by it)
+    */
+    public void handleMovingKeys( final PlayerState playerState, final boolean[] controlKeyStates, final int cycleCounter ) {
+        if ( !( controlKeyStates[ Player.KEY_INDEX_LEFT  ] || controlKeyStates[ Player.KEY_INDEX_RIGHT ] ) )
+            playerState.setStandingPhase();
+        switch ( playerState.positionType ) {
+            case MovingObjectConsts.POSITION_TYPE_ON_GROUND :
+                handlePlayerKeysOnGround( playerState, controlKeyStates, cycleCounter );
+                break;
+            case MovingObjectConsts.POSITION_TYPE_IN_AIR :
+                handlePlayerKeysInAir( playerState, controlKeyStates );
+                break;
+            case MovingObjectConsts.POSITION_TYPE_IN_WATER :
+                handlePlayerKeysInWater( playerState, controlKeyStates, cycleCounter );
+                break;
+        }
+    }
+
+    /**
+        Checks and handles the states of the control keys on the ground.
+        @param playerState state of player
+        @param controlKeyStates states of the control keys
+        @param cycleCounter the cycle counter (the phases of the worm are changed by it)
+    */
+    private void handlePlayerKeysOnGround( final PlayerState playerState, final boolean[] controlKeyStates, final int cycleCounter ) {
+        if ( controlKeyStates[ Player.KEY_INDEX_LEFT  ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_GROUND_LEFT;
+            playerState.checkPhase( cycleCounter );
+            if ( playerState.velocity.x > -WALKING_VELOCITY )
+                playerState.velocity.x -= GROUND_ACCELERATION;
+        }
+        if ( controlKeyStates[ Player.KEY_INDEX_RIGHT ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_GROUND_RIGHT;
+            playerState.checkPhase( cycleCounter );
+            if ( playerState.velocity.x <  WALKING_VELOCITY )
+                playerState.velocity.x += GROUND_ACCELERATION;
+        }
+        if ( !( playerState.rope != null && playerState.rope.hasEndPoint ) ) {
+            if ( controlKeyStates[ Player.KEY_INDEX_UP ] ) {
+                playerState.setAirDirection();
+                playerState.setStandingPhase();
+                playerState.velocity.y = -JUMPING_VELOCITY;
+            } 
+        }
+    }
+
+    /**
+        Checks and handles the states of the control keys in the air.
+        @param playerState state of player
+        @param controlKeyStates states of the control keys
+    */
+    private void handlePlayerKeysInAir( final PlayerState playerState, final boolean[] controlKeyStates ) {
+        if ( controlKeyStates[ Player.KEY_INDEX_LEFT  ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_AIR_LEFT;
+            playerState.setLastPhase();
+            if ( playerState.velocity.x > -FLYING_VELOCITY )
+                playerState.velocity.x -= AIR_ACCELERATION;
+        }
+        if ( controlKeyStates[ Player.KEY_INDEX_RIGHT ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_AIR_RIGHT;
+            playerState.setLastPhase();
+            if ( playerState.velocity.x <  FLYING_VELOCITY )
+                playerState.velocity.x += AIR_ACCELERATION;
+        }
+    }
+
+    /**
+        Checks and handles the states of the control keys in the water.
+        @param playerState state of player
+        @param controlKeyStates states of the control keys
+        @param cycleCounter the cycle counter (the phases of the worm are changed by it)
+    */
+    private void handlePlayerKeysInWater( final PlayerState playerState, final boolean[] controlKeyStates, final int cycleCounter ) {
+        if ( controlKeyStates[ Player.KEY_INDEX_LEFT  ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_AIR_LEFT;
+            playerState.checkPhase( cycleCounter );
+            if ( playerState.velocity.x > -SWIMMING_VELOCITY )
+                playerState.velocity.x -= WATER_ACCELERATION;
+        }
+        if ( controlKeyStates[ Player.KEY_INDEX_RIGHT ] ) {
+            playerState.direction = GeneralConsts.WORM_DIRECTION_AIR_RIGHT;
+            playerState.checkPhase( cycleCounter );
+            if ( playerState.velocity.x <  SWIMMING_VELOCITY )
+                playerState.velocity.x += WATER_ACCELERATION;
+        }
+        if ( !( playerState.rope != null && playerState.rope.hasEndPoint ) ) {
+            if ( controlKeyStates[ Player.KEY_INDEX_UP ] ) {
+                playerState.setAirDirection();
+                if ( playerState.velocity.y > -SWIMMING_VELOCITY )
+                    playerState.velocity.y -= WATER_ACCELERATION;
+            }
+            if ( controlKeyStates[ Player.KEY_INDEX_DOWN ] ) {
+                playerState.setAirDirection();
+                if ( playerState.velocity.y < SWIMMING_VELOCITY )
+                    playerState.velocity.y += WATER_ACCELERATION;
+            }
+        }
+    }
+
+    /**
+        Steps a worm: moves it along the axes, and steps it back as long as it hits the map or another player.
+        Determines the new position type of the worm.
+        @param playerState state of the worm
+        @param playerIndex index of the player of the worm
+    */
+    public void stepPlayer( final PlayerState playerState, final int playerIndex ) {
+        playerState.step( MovingObjectConsts.STEPPING_AXIS_X, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+        while ( hitsOtherPlayer( playerState, playerIndex ) || map.hitsMap( playerState, null ) ) {
+            playerState.step( MovingObjectConsts.STEPPING_AXIS_X, MovingObjectConsts.STEPPING_DIRECTION_BACKWARD );
+            playerState.velocity.x /= 2.0f;      // We step less and less...
+            if ( playerState.velocity.x < 0.1f && playerState.velocity.x > -0.1f ) // We have to get out from cycle for sure somehow...
+                playerState.velocity.x = 0.0f;
+            playerState.step( MovingObjectConsts.STEPPING_AXIS_X, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+        }
+
+        if ( map.getWall( ( (int) playerState.position.x ) >> GeneralConsts.WALL_WIDTH_SHIFT, ( (int) playerState.position.y ) >> GeneralConsts.WALL_HEIGHT_SHIFT ) == Map.WALL_EMPTY )
+            playerState.positionType = MovingObjectConsts.POSITION_TYPE_IN_AIR;
+        else
+            playerState.positionType = MovingObjectConsts.POSITION_TYPE_IN_WATER;
+
+        playerState.step( MovingObjectConsts.STEPPING_AXIS_Y, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+        if ( hitsOtherPlayer( playerState, playerIndex ) || map.hitsMap( playerState, null ) ) {
+            if ( playerState.velocity.y > 0.0f ) // If the worm falling down, not if he jumps up to the ceiling
+                playerState.positionType = MovingObjectConsts.POSITION_TYPE_ON_GROUND;
+            do {
+                playerState.step( MovingObjectConsts.STEPPING_AXIS_Y, MovingObjectConsts.STEPPING_DIRECTION_BACKWARD );
+                playerState.velocity.y /= 2.0f;  // We step less and less...
+                if ( playerState.velocity.y < 0.1f && playerState.velocity.y > -0.1f ) // We have to get out from cycle for sure somehow...
+                    playerState.velocity.y = 0.0f;
+                playerState.step( MovingObjectConsts.STEPPING_AXIS_Y, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+            } while ( hitsOtherPlayer( playerState, playerIndex ) || map.hitsMap( playerState, null ) );
+        }
+    }
+
+    /**
+        Steps the decorations. Decorations hitting the map are removed.
+        @param decorations vector of the decorations
+        @param cycleCounter actual value of cycle counter
+    */
+    public void stepDecorations( final Vector decorations, final int cycleCounter ) {
+        for ( int decorationIndex = decorations.size() - 1; decorationIndex >= 0; decorationIndex-- ) { // Downward direction is necessary because decorations can remove themselves
+            final Decoration decoration = (Decoration) decorations.elementAt( decorationIndex );
+            if ( decoration.reachedEndCycle( cycleCounter, decorations, decorationIndex ) )
+                continue;
+            calculateForce( decoration );
+            decoration.step( MovingObjectConsts.STEPPING_AXIS_BOTH, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+            if ( map.hitsMapNonExtensive( decoration ) )
+                decorations.removeElementAt( decorationIndex );
+            else
+                if ( map.getWall( ( (int) decoration.position.x ) >> GeneralConsts.WALL_WIDTH_SHIFT, ( (int) decoration.position.y ) >> GeneralConsts.WALL_HEIGHT_SHIFT ) == Map.WALL_EMPTY )
+                    decoration.positionType = MovingObjectConsts.POSITION_TYPE_IN_AIR;
+                else
+                    decoration.positionType = MovingObjectConsts.POSITION_TYPE_IN_WATER;
+        }
+    }
+
+    /**
+        Steps the point decorations by the same forces as calculateForce() would calculate. Point decorations hitting the map are removed.
+        It is done in two passes. The first one integrates the point decorations: it is the same arithmetic for all of them without calls,
+        and the direction of the shape resistance is not branched on (it would be mispredicted half the time, the directions are random).
+        The second one checks the walls at the new positions, it removes the point decorations hitting the map, and it updates the in water flags.
+        The results are the same as of calculateForce() and MovingObject.step(), bit for bit.
+        @param pointDecorations the point decorations
+        @param fromIndex index of the first point decoration to step (the following ones are stepped all)
+    */
+    public void stepPointDecorations( final PointDecorations pointDecorations, final int fromIndex ) {
+        final float[] positionsX          = pointDecorations.getPositionsX();
+        final float[] positionsY          = pointDecorations.getPositionsY();
+        final float[] velocitiesX         = pointDecorations.getVelocitiesX();
+        final float[] velocitiesY         = pointDecorations.getVelocitiesY();
+        final byte[]  flags               = pointDecorations.getFlags();
+        final int     size                = pointDecorations.size();
+        final float   mass                = PointDecorations.MASS;
+        final float   inverseMass         = 1.0f / mass;   // Multiplying by it is the same as dividing by the mass, the mass is a power of 2
+        final float   gravitationForce    = mass * ( ( 1.0f - PointDecorations.ANTI_GRAVITATION_RATE ) * GRAVITATION );
+        final float   buoyancyForce       = WATER_DENSITY * GRAVITATION * PointDecorations.CAPACITY;
+        final float   airResistanceUnit   = AIR_SHAPE_RESISTANCE_FORCE_UNIT   * PointDecorations.SHAPE_RESISTANCE_RATE;
+        final float   waterResistanceUnit = WATER_SHAPE_RESISTANCE_FORCE_UNIT * PointDecorations.SHAPE_RESISTANCE_RATE;
+        final float   windVelocityX       = windVelocity.x;
+        final float   windVelocityY       = windVelocity.y;
+
+        for ( int index = fromIndex; index < size; index++ ) {
+            final boolean inWater           = ( flags[ index ] & PointDecorations.FLAG_IN_WATER ) != 0;
+            final float   velocityX         = velocitiesX[ index ];
+            final float   velocityY         = velocitiesY[ index ];
+            final float   relativeVelocityX = inWater ? velocityX : velocityX - windVelocityX;
+            final float   relativeVelocityY = inWater ? velocityY : velocityY - windVelocityY;
+            final float   resistanceUnit    = inWater ? waterResistanceUnit : airResistanceUnit;
+            final float   resistanceForceX  = resistanceUnit * relativeVelocityX * Math.abs( relativeVelocityX );   // Signed, the same as sign * unit * velocity^2
+            final float   resistanceForceY  = resistanceUnit * relativeVelocityY * Math.abs( relativeVelocityY );
+            final float   forceX            =                  - ( resistanceForceX > MAX_SHAPE_RESISTANCE_FORCE ? MAX_SHAPE_RESISTANCE_FORCE : resistanceForceX < -MAX_SHAPE_RESISTANCE_FORCE ? -MAX_SHAPE_RESISTANCE_FORCE : resistanceForceX );
+            final float   forceY            = gravitationForce - ( resistanceForceY > MAX_SHAPE_RESISTANCE_FORCE ? MAX_SHAPE_RESISTANCE_FORCE : resistanceForceY < -MAX_SHAPE_RESISTANCE_FORCE ? -MAX_SHAPE_RESISTANCE_FORCE : resistanceForceY )
+                                              - ( inWater ? buoyancyForce : 0.0f );
+            positionsX [ index ] += velocityX;
+            positionsY [ index ] += velocityY;
+            velocitiesX[ index ]  = velocityX + forceX * inverseMass;
+            velocitiesY[ index ]  = velocityY + forceY * inverseMass;
+        }
+
+        for ( int index = size - 1; index >= fromIndex; index-- ) { // Downward direction is necessary because the last one is moved to the place of a removed one
+            final byte wall = map.getWall( (int) positionsX[ index ] >> GeneralConsts.WALL_WIDTH_SHIFT, (int) positionsY[ index ] >> GeneralConsts.WALL_HEIGHT_SHIFT );
+            if ( wall == Map.WALL_STONE || wall == Map.WALL_BRICK )
+                pointDecorations.remove( index );
+            else if ( wall == Map.WALL_EMPTY )
+                flags[ index ] &= ~PointDecorations.FLAG_IN_WATER;
+            else
+                flags[ index ] |= PointDecorations.FLAG_IN_WATER;
+        }
+    }
+
+    /**
+        Calculates the resultant force affects the moving object.
+        @param movingObject object whose force to be calculated
+    */
+    public void calculateForce( final MovingObject movingObject ) {
+        movingObject.force.y = movingObject.force.x = 0.0f;
+        doGravitationFieldEffect( movingObject );
+        doShapeResistanceEffect( movingObject );
+        if ( movingObject.positionType == MovingObjectConsts.POSITION_TYPE_IN_WATER )
+            doBuoyancyEffect( movingObject );
+        if ( movingObject.positionType == MovingObjectConsts.POSITION_TYPE_ON_GROUND )
+            doFrictionEffect( movingObject );
+    }
+
+    /**
+        Does the gravitation field effect to a moving object.
+        @param movingObject object to do effect on
+    */
+    private void doGravitationFieldEffect( final MovingObject movingObject ) {
+        movingObject.force.y += movingObject.mass * ( movingObject.remainingGravitationRate * GRAVITATION );
+    }
+
+    /**
+        Does the air resistance effect to a moving object.
+        @param movingObject object to do effect on
+    */
+    private void doShapeResistanceEffect( final MovingObject movingObject ) {
+        float velocityX = movingObject.velocity.x; 
+        float velocityY = movingObject.velocity.y;
+        if ( movingObject.positionType == MovingObjectConsts.POSITION_TYPE_IN_AIR ) {
+            velocityX -= windVelocity.x;
+            velocityY -= windVelocity.y;
+        }
+        final float UNITmultipleRate = ( movingObject.positionType == MovingObjectConsts.POSITION_TYPE_IN_WATER ? WATER_SHAPE_RESISTANCE_FORCE_UNIT : AIR_SHAPE_RESISTANCE_FORCE_UNIT ) * movingObject.shapeResistanceRate;
+        movingObject.force.x -= ( velocityX > 0.0f ?  1.0f : -1.0f ) * Math.min( UNITmultipleRate * velocityX * velocityX, MAX_SHAPE_RESISTANCE_FORCE );
+        movingObject.force.y -= ( velocityY > 0.0f ?  1.0f : -1.0f ) * Math.min( UNITmultipleRate * velocityY * velocityY, MAX_SHAPE_RESISTANCE_FORCE );
+    }
+    
+    /**
+        Does the water buoyancy effect to a moving object.
+        @param movingObject object to do effect on
+    */
+    private void doBuoyancyEffect( final MovingObject movingObject ) {
+        movingObject.force.y -= WATER_DENSITY * GRAVITATION * movingObject.capacity;
+    }
+    
+    /**
+        Does the friction effect between a moving object and the ground.
+        @param movingObject object to do effect on
+    */
+    private void doFrictionEffect( final MovingObject movingObject ) {
+        movingObject.force.x -= ( movingObject.velocity.x > 0.0f ? 1.0f : -1.0f ) * GROUND_FRICTION_RATE * movingObject.force.y;
+    }
+
+}
@@ -0,0 +1,114 @@
+
+package classes.servertools.gamecore;
+
+import classes.servertools.*;
+
+
+/**
+    Ring of the positions of the players in the last cycles, so the instant shots can be checked against the positions the shooter has seen (lag compensation).
+    The arrays are allocated once, recording and querying do not allocate.
+    When a new player gets the index of a player who left, the positions of the index are cleared, so the new player is never checked against the old positions.
+*/
+class PositionHistory {
+
+    /** Position value indicating that the player was not in the game in a cycle. */
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    /** Reference to the players. */
+    private final Player[] players;
+    /** X coordinates of the positions, indexed by slot and player index. */
+    private final int[][]  positionsX;
+    /** Y coordinates of the positions, indexed by slot and player index. */
+    private final int[][]  positionsY;
+    /** The players whose positions are recorded, indexed by player index. */
+    private final Player[] recordedPlayers;
+    /** Index of the slot of the last recorded cycle. */
+    private int            lastSlotIndex = -1;
+    /** Number of the recorded cycles (at most the length of the history). */
+    private int            recordedCount;
+
+    /**
+        Creates a new PositionHistory.
+        @param players reference to the players
+        @param length number of cycles to keep
+    */
+    PositionHistory( final Player[] players, final int length ) {
+        this.players    = players;
+        positionsX      = new int[ length ][ players.length ];
+        positionsY      = new int[ length ][ players.length ];
+        recordedPlayers = new Player[ players.length ];
+    }
+
+    /**
+        Records the positions of the players at the end of a cycle.
+    */
+    void record() {
+        lastSlotIndex = ( lastSlotIndex + 1 ) % positionsX.length;
+        final int[] slotPositionsX = positionsX[ lastSlotIndex ];
+        final int[] slotPositionsY = positionsY[ lastSlotIndex ];
+        for ( int playerIndex = players.length - 1; playerIndex >= 0; playerIndex-- ) {
+            final Player player = players[ playerIndex ];
+            if ( player != recordedPlayers[ playerIndex ] ) {
+                recordedPlayers[ playerIndex ] = player;
+                clear( playerIndex );
+            }
+            if ( player == null || player.closed() )
+                slotPositionsX[ playerIndex ] = ABSENT;
+            else {
+                slotPositionsX[ playerIndex ] = (int) player.getPlayerState().position.x;
+                slotPositionsY[ playerIndex ] = (int) player.getPlayerState().position.y;
+            }
+        }
+        if ( recordedCount < positionsX.length )
+            recordedCount++;
+    }
+
+    /**
+        Clears the positions of a player index in all the slots.
+        @param playerIndex index of the player
+    */
+    private void clear( final int playerIndex ) {
+        for ( int slotIndex = positionsX.length - 1; slotIndex >= 0; slotIndex-- )
+            positionsX[ slotIndex ][ playerIndex ] = ABSENT;
+    }
+
+    /**
+        Returns the index of the slot of a cycle.
+        @param cyclesBack number of cycles back (1 is the last recorded cycle)
+        @return the index of the slot of the cycle
+    */
+    private int getSlotIndex( final int cyclesBack ) {
+        return ( lastSlotIndex - cyclesBack + 1 + positionsX.length ) % positionsX.length;
+    }
+
+    /**
+        Tells whether the position of a player has been recorded in a cycle.
+        @param playerIndex index of the player
+        @param cyclesBack number of cycles back (1 is the last recorded cycle)
+        @return true if the player was in the game in the cycle and the cycle is still in the history; false otherwise
+    */
+    boolean isRecorded( final int playerIndex, final int cyclesBack ) {
+        return cyclesBack >= 1 && cyclesBack <= recordedCount && positionsX[ getSlotIndex( cyclesBack ) ][ playerIndex ] != ABSENT;
+    }
+
+    /**
+        Returns the x coordinate of the position of a player in a cycle.
+        @param playerIndex index of the player
+        @param cyclesBack number of cycles back (1 is the last recorded cycle)
+        @return the x coordinate of the position of the player
+    */
+    int getPositionX( final int playerIndex, final int cyclesBack ) {
+        return positionsX[ getSlotIndex( cyclesBack ) ][ playerIndex ];
+    }
+
+    /**
+        Returns the y coordinate of the position of a player in a cycle.
+        @param playerIndex index of the player
+        @param cyclesBack number of cycles back (1 is the last recorded cycle)
+        @return the y coordinate of the position of the player
+    */
+    int getPositionY( final int playerIndex, final int cyclesBack ) {
+        return positionsY[ getSlotIndex( cyclesBack ) ][ playerIndex ];
+    }
+
+}
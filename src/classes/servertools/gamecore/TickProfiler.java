@@ -0,0 +1,190 @@
+
+package classes.servertools.gamecore;
+
+import java.util.*;
+import classes.utilities.*;
+
+
+/**
+    Profiler of the cycles of the game core: measures the duration of the phases of the next moment calculation
+    and counts the entities and the allocated bytes in every cycle, and keeps them for the last WINDOW_LENGTH cycles to report their percentiles.
+    The steady state cycles (nothing being shot) should not allocate at all.
+    Recording does not allocate, only reading the clock does (see Clock). When the profiler is disabled, the recording methods return at once (the clock is not read).
+    The recording methods must be called by the thread which calculates the next moments, the report may be created by any thread.
+*/
+public class TickProfiler {
+
+    /** Phase of calculating the forces of the players and handling their keys. */
+    public  static final int      PHASE_PLAYERS_FORCES    = 0;
+    /** Phase of stepping the bullets. */
+    public  static final int      PHASE_BULLETS           = 1;
+    /** Phase of expiring the decoration bursts. */
+    public  static final int      PHASE_DECORATION_BURSTS = 2;
+    /** Phase of stepping the ropes. */
+    public  static final int      PHASE_ROPES             = 3;
+    /** Phase of stepping the players. */
+    public  static final int      PHASE_PLAYERS           = 4;
+    /** Phase of stepping the explosions. */
+    public  static final int      PHASE_EXPLOSIONS        = 5;
+    /** Phase of stepping the polyline shots. */
+    public  static final int      PHASE_POLYLINE_SHOTS    = 6;
+    /** Phase of recording the positions of the players. */
+    public  static final int      PHASE_POSITION_HISTORY  = 7;
+    /** The whole cycle (sum of the phases). */
+    private static final int      PHASE_CYCLE             = 8;
+    /** Names of the phases. */
+    private static final String[] PHASE_NAMES             = { "players forces", "bullets", "decoration bursts", "ropes", "players", "explosions", "polyline shots", "position history", "whole cycle" };
+    /** Names of the counted entities (in the order of the parameters of endCycle()). */
+    private static final String[] ENTITY_NAMES            = { "bullets", "explosions", "decoration bursts", "polyline shots" };
+    /** Number of the cycles the percentiles are calculated from. */
+    private static final int      WINDOW_LENGTH           = 1024;
+
+    /** Tells whether the profiler is enabled. */
+    private volatile boolean      enabled;
+    /** Tells whether the actual cycle is being profiled (the profiler may be switched in the middle of a cycle). */
+    private boolean               cycleProfiled;
+    /** Clock value at the start of the actual cycle. */
+    private long                  cycleStartTime;
+    /** Clock value at the start of the actual phase. */
+    private long                  phaseStartTime;
+    /** Meter of the bytes allocated by the cycles. */
+    private final AllocationMeter allocationMeter = new AllocationMeter();
+    /** Value of the allocation meter at the start of the actual cycle. */
+    private long                  cycleStartAllocatedBytes;
+    /** Durations of the phases of the actual cycle in ns. */
+    private final long[]          cyclePhaseTimes = new long[ PHASE_NAMES.length ];
+    /** Durations of the phases of the last cycles in ns, indexed by phase and sample. */
+    private final long[][]        phaseTimes      = new long[ PHASE_NAMES.length ][ WINDOW_LENGTH ];
+    /** Entity counts of the last cycles, indexed by entity and sample. */
+    private final long[][]        entityCounts    = new long[ ENTITY_NAMES.length ][ WINDOW_LENGTH ];
+    /** Bytes allocated by the last cycles. */
+    private final long[]          allocatedBytes  = new long[ WINDOW_LENGTH ];
+    /** Index of the next sample. */
+    private int                   nextSampleIndex;
+    /** Number of the samples (at most WINDOW_LENGTH). */
+    private int                   samplesCount;
+    /** Number of all the profiled cycles. */
+    private long                  profiledCyclesCount;
+
+    /**
+        Enables or disables the profiler. Enabling drops the previous samples.
+        @param enabled true to enable the profiler; false to disable it
+    */
+    public synchronized void setEnabled( final boolean enabled ) {
+        if ( enabled && !this.enabled ) {
+            nextSampleIndex     = 0;
+            samplesCount        = 0;
+            profiledCyclesCount = 0;
+        }
+        this.enabled = enabled;
+    }
+
+    /**
+        Tells whether the profiler is enabled.
+        @return true if the profiler is enabled; false otherwise
+    */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+        Starts a cycle (and its first phase).
+    */
+    void startCycle() {
+        cycleProfiled = enabled;
+        if ( cycleProfiled ) {
+            cycleStartAllocatedBytes = allocationMeter.getAllocatedBytes();
+            cycleStartTime           = phaseStartTime = Clock.nanoTime();
+        }
+    }
+
+    /**
+        Ends a phase of the actual cycle (and starts the next one).
+        @param phase the phase which ended
+    */
+    void endPhase( final int phase ) {
+        if ( !cycleProfiled )
+            return;
+        final long time = Clock.nanoTime();
+        cyclePhaseTimes[ phase ] = time - phaseStartTime;
+        phaseStartTime = time;
+    }
+
+    /**
+        Ends the actual cycle.
+        @param bulletsCount number of the bullets
+        @param explosionsCount number of the explosions
+        @param decorationBurstsCount number of the decoration bursts
+        @param polylineShotsCount number of the polyline shots
+    */
+    void endCycle( final int bulletsCount, final int explosionsCount, final int decorationBurstsCount, final int polylineShotsCount ) {
+        if ( !cycleProfiled )
+            return;
+        cyclePhaseTimes[ PHASE_CYCLE ] = Clock.nanoTime() - cycleStartTime;
+        final long cycleEndAllocatedBytes = allocationMeter.getAllocatedBytes();
+        final long cycleAllocatedBytes    = cycleEndAllocatedBytes - cycleStartAllocatedBytes - ( allocationMeter.getAllocatedBytes() - cycleEndAllocatedBytes );   // Reading the meter allocates, we subtract a reading measured right now
+        synchronized ( this ) {
+            allocatedBytes[ nextSampleIndex ] = cycleAllocatedBytes;
+            for ( int phase = PHASE_NAMES.length - 1; phase >= 0; phase-- )
+                phaseTimes[ phase ][ nextSampleIndex ] = cyclePhaseTimes[ phase ];
+            entityCounts[ 0 ][ nextSampleIndex ] = bulletsCount;
+            entityCounts[ 1 ][ nextSampleIndex ] = explosionsCount;
+            entityCounts[ 2 ][ nextSampleIndex ] = decorationBurstsCount;
+            entityCounts[ 3 ][ nextSampleIndex ] = polylineShotsCount;
+            nextSampleIndex = ( nextSampleIndex + 1 ) % WINDOW_LENGTH;
+            if ( samplesCount < WINDOW_LENGTH )
+                samplesCount++;
+            profiledCyclesCount++;
+        }
+    }
+
+    /**
+        Creates a report of the percentiles (p50, p99 and max) of the phase durations, of the entity counts and of the allocated bytes of the last cycles.
+        @return the report
+    */
+    public synchronized String createReport() {
+        if ( samplesCount == 0 )
+            return "No cycles have been profiled.";
+        final long[]       sortedSamples = new long[ samplesCount ];
+        final StringBuffer report        = new StringBuffer();
+        report.append( "Profile of the last " );
+        report.append( samplesCount );
+        report.append( " cycles (of " );
+        report.append( profiledCyclesCount );
+        report.append( " profiled), p50 / p99 / max\nDurations of the phases:" );
+        for ( int phase = 0; phase < PHASE_NAMES.length; phase++ )
+            appendPercentiles( report, PHASE_NAMES[ phase ], phaseTimes[ phase ], sortedSamples, 1000l, " us" );
+        report.append( "\nNumbers of the entities:" );
+        for ( int entity = 0; entity < ENTITY_NAMES.length; entity++ )
+            appendPercentiles( report, ENTITY_NAMES[ entity ], entityCounts[ entity ], sortedSamples, 1l, "" );
+        if ( AllocationMeter.isSupported() ) {
+            report.append( "\nAllocations:" );
+            appendPercentiles( report, "whole cycle", allocatedBytes, sortedSamples, 1l, " bytes" );
+        }
+        return report.toString();
+    }
+
+    /**
+        Appends a line of the percentiles of samples to a report.
+        @param report the report to append to
+        @param name name of the measured thing
+        @param samples the samples
+        @param sortedSamples array to sort the samples in
+        @param divisor divisor of the samples (to change the unit)
+        @param unit unit of the values after division
+    */
+    private void appendPercentiles( final StringBuffer report, final String name, final long[] samples, final long[] sortedSamples, final long divisor, final String unit ) {
+        System.arraycopy( samples, 0, sortedSamples, 0, samplesCount );
+        Arrays.sort( sortedSamples );
+        report.append( "\n    " );
+        report.append( name );
+        report.append( ": " );
+        report.append( sortedSamples[ ( samplesCount - 1 ) * 50 / 100 ] / divisor );
+        report.append( " / " );
+        report.append( sortedSamples[ ( samplesCount - 1 ) * 99 / 100 ] / divisor );
+        report.append( " / " );
+        report.append( sortedSamples[ samplesCount - 1 ] / divisor );
+        report.append( unit );
+    }
+
+}
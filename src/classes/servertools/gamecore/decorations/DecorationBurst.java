@@ -0,0 +1,182 @@
+
+package classes.servertools.gamecore.decorations;
+
+import classes.servertools.gamecore.*;
+import classes.utilities.*;
+import classes.nettools.*;
+import java.awt.*;
+import java.util.*;
+
+
+/**
+    A burst of point decorations (blood of a damaged worm, rubbles of a fired out wall).
+    Only the burst is transferred to the clients: the point decorations are generated from its seed,
+    so every client creates the same ones, and simulates them by itself.
+*/
+public class DecorationBurst implements HasEntityId {
+
+    /** Initial value of cycle counter (the server drops the burst after a while). */
+    private transient final int initialCycleCounter;
+    /** X coordinate of the area where the point decorations are spawned. */
+    private final int           positionX;
+    /** Y coordinate of the area where the point decorations are spawned. */
+    private final int           positionY;
+    /** Width of the area where the point decorations are spawned. */
+    private final int           width;
+    /** Height of the area where the point decorations are spawned. */
+    private final int           height;
+    /** Number of the point decorations. */
+    private final int           count;
+    /** Seed of the random positions and directions of the point decorations. */
+    private final int           seed;
+    /** Tells whether the point decorations are rubbles. */
+    private final boolean       rubble;
+    /** Color of the point decorations (rubbles get their colors from the client). */
+    private final Color         color;
+    /** Tick of the snapshot in which the burst is first present (the point decorations are spawned in that tick). */
+    private int                 spawnTick = SnapshotConsts.NO_TICK;
+    /** Entity id of the burst in the world snapshots. */
+    private transient int       entityId  = NO_ENTITY_ID;
+
+    /**
+        Creates a new DecorationBurst.
+        @param initialCycleCounter value of cycle counter when this burst was created
+        @param positionX x coordinate of the area where the point decorations are spawned
+        @param positionY y coordinate of the area where the point decorations are spawned
+        @param width width of the area where the point decorations are spawned
+        @param height height of the area where the point decorations are spawned
+        @param count number of the point decorations
+        @param seed seed of the random positions and directions of the point decorations
+        @param rubble tells whether the point decorations are rubbles
+        @param color color of the point decorations
+    */
+    public DecorationBurst( final int initialCycleCounter, final int positionX, final int positionY, final int width, final int height, final int count, final int seed, final boolean rubble, final Color color ) {
+        this.initialCycleCounter = initialCycleCounter;
+        this.positionX           = positionX;
+        this.positionY           = positionY;
+        this.width               = width;
+        this.height              = height;
+        this.count               = count;
+        this.seed                = seed;
+        this.rubble              = rubble;
+        this.color               = color;
+    }
+
+    /**
+        Creates the point decorations of the burst.
+        @param pointDecorations point decorations to add the point decorations of the burst to
+    */
+    public void spawnPointDecorations( final PointDecorations pointDecorations ) {
+        final Random random = new Random( seed );
+        for ( int decorationCounter = count; decorationCounter > 0; decorationCounter-- ) {
+            final float decorationPositionX = positionX + random.nextFloat() * width;
+            final float decorationPositionY = positionY + random.nextFloat() * height;
+            pointDecorations.add( decorationPositionX, decorationPositionY, random.nextDouble() * MathUtils.TWO_PI, rubble, color );
+        }
+    }
+
+    /**
+        Returns the initial value of cycle counter.
+        @return the initial value of cycle counter
+    */
+    public int getInitialCycleCounter() {
+        return initialCycleCounter;
+    }
+
+    /**
+        Returns the x coordinate of the area where the point decorations are spawned.
+        @return the x coordinate of the area where the point decorations are spawned
+    */
+    public int getPositionX() {
+        return positionX;
+    }
+
+    /**
+        Returns the y coordinate of the area where the point decorations are spawned.
+        @return the y coordinate of the area where the point decorations are spawned
+    */
+    public int getPositionY() {
+        return positionY;
+    }
+
+    /**
+        Returns the width of the area where the point decorations are spawned.
+        @return the width of the area where the point decorations are spawned
+    */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+        Returns the height of the area where the point decorations are spawned.
+        @return the height of the area where the point decorations are spawned
+    */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+        Returns the number of the point decorations.
+        @return the number of the point decorations
+    */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+        Returns the seed of the random positions and directions of the point decorations.
+        @return the seed of the random positions and directions of the point decorations
+    */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+        Returns true if the point decorations are rubbles, false otherwise.
+        @return true if the point decorations are rubbles; false otherwise
+    */
+    public boolean isRubble() {
+        return rubble;
+    }
+
+    /**
+        Returns the color of the point decorations.
+        @return the color of the point decorations
+    */
+    public Color getColor() {
+        return color;
+    }
+
+    /**
+        Returns the tick of the snapshot in which the burst is first present.
+        @return the tick of the snapshot in which the burst is first present, or SnapshotConsts.NO_TICK if it has not been captured yet
+    */
+    public int getSpawnTick() {
+        return spawnTick;
+    }
+
+    /**
+        Sets the tick of the snapshot in which the burst is first present.
+        @param spawnTick the tick of the snapshot in which the burst is first present
+    */
+    public void setSpawnTick( final int spawnTick ) {
+        this.spawnTick = spawnTick;
+    }
+
+    /**
+        Returns the entity id of the burst (implementing HasEntityId interface).
+        @return the entity id of the burst
+    */
+    public int getEntityId() {
+        return entityId;
+    }
+
+    /**
+        Sets the entity id of the burst (implementing HasEntityId interface).
+        @param entityId the entity id of the burst
+    */
+    public void setEntityId( final int entityId ) {
+        this.entityId = entityId;
+    }
+
+}
@@ -1,10 +1,10 @@
-
-package classes.servertools.gamecore.decorations;
-
-
-/**
-    Indicating that the class is not a non-point decoration.
-    @author Belicza Andras
-*/
-public class NonPointDecorationException extends Exception {
-}
+
+package classes.servertools.gamecore.decorations;
+
+
+/**
+    Indicating that the class is not a non-point decoration.
+    @author Belicza Andras
+*/
+public class NonPointDecorationException extends Exception {
+}
@@ -1,10 +1,10 @@
-
-package classes.servertools.gamecore.decorations;
-
-
-/**
-    Indicating that a method has not been overrided what should have been.
-    @author Belicza Andras
-*/
-public class NotOverridedException extends Exception {
-}
+
+package classes.servertools.gamecore.decorations;
+
+
+/**
+    Indicating that a method has not been overrided what should have been.
+    @author Belicza Andras
+*/
+public class NotOverridedException extends Exception {
+}
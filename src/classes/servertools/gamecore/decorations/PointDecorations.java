@@ -0,0 +1,186 @@
+
+package classes.servertools.gamecore.decorations;
+
+import java.awt.*;
+
+
+/**
+    Store of the point decorations (blood and rubbles). There can be hundreds of thousands of them, so they are not objects:
+    their properties are held in parallel arrays, indexed by the point decorations.
+    A removed point decoration is replaced by the last one (the order of the point decorations doesn't matter),
+    so the point decorations always occupy the first size elements of the arrays.
+    Every point decoration has the same physical properties, they are the constants of this class.
+*/
+public class PointDecorations {
+
+    /** Physical mass of a point decoration (kg). */
+    public static final float MASS                  = 0.5f;
+    /** Shape resistance rate of a point decoration. */
+    public static final float SHAPE_RESISTANCE_RATE = 0.3f;
+    /** Physical capacity of a point decoration (m^3). */
+    public static final float CAPACITY              = 0.00001f;
+    /** Anti gravitation rate of a point decoration. */
+    public static final float ANTI_GRAVITATION_RATE = 0.0f;
+    /** Initial velocity of a point decoration. */
+    public static final float VELOCITY              = 10.0f;
+
+    /** Flag of the point decorations being rubbles. */
+    public static final byte  FLAG_RUBBLE           = 1;
+    /** Flag of the point decorations being in water (they are in air otherwise). */
+    public static final byte  FLAG_IN_WATER         = 2;
+
+    /** Initial capacity of the arrays. */
+    private static final int  INITIAL_CAPACITY      = 1024;
+
+    /** X coordinates of the positions of the point decorations. */
+    private float[] positionsX  = new float[ INITIAL_CAPACITY ];
+    /** Y coordinates of the positions of the point decorations. */
+    private float[] positionsY  = new float[ INITIAL_CAPACITY ];
+    /** X coordinates of the velocities of the point decorations. */
+    private float[] velocitiesX = new float[ INITIAL_CAPACITY ];
+    /** Y coordinates of the velocities of the point decorations. */
+    private float[] velocitiesY = new float[ INITIAL_CAPACITY ];
+    /** Flags of the point decorations. */
+    private byte[]  flags       = new byte [ INITIAL_CAPACITY ];
+    /** Colors of the point decorations (rubbles get their colors when they are drawn). */
+    private Color[] colors      = new Color[ INITIAL_CAPACITY ];
+    /** Number of the point decorations. */
+    private int     size;
+
+    /**
+        Adds a new point decoration.
+        @param positionX x coordinate of the initial position of the point decoration
+        @param positionY y coordinate of the initial position of the point decoration
+        @param direction angle of the velocity of the point decoration
+        @param rubble tells whether the point decoration is rubble
+        @param color color of the point decoration
+    */
+    public void add( final float positionX, final float positionY, final double direction, final boolean rubble, final Color color ) {
+        if ( size == positionsX.length )
+            grow();
+        positionsX [ size ] = positionX;
+        positionsY [ size ] = positionY;
+        velocitiesX[ size ] =  VELOCITY * (float) Math.cos( direction );
+        velocitiesY[ size ] = -VELOCITY * (float) Math.sin( direction );
+        flags      [ size ] = rubble ? FLAG_RUBBLE : 0;
+        colors     [ size ] = color;
+        size++;
+    }
+
+    /**
+        Doubles the capacity of the arrays.
+    */
+    private void grow() {
+        final int capacity = positionsX.length << 1;
+        final float[] newPositionsX  = new float[ capacity ];
+        final float[] newPositionsY  = new float[ capacity ];
+        final float[] newVelocitiesX = new float[ capacity ];
+        final float[] newVelocitiesY = new float[ capacity ];
+        final byte[]  newFlags       = new byte [ capacity ];
+        final Color[] newColors      = new Color[ capacity ];
+        System.arraycopy( positionsX , 0, newPositionsX , 0, size );
+        System.arraycopy( positionsY , 0, newPositionsY , 0, size );
+        System.arraycopy( velocitiesX, 0, newVelocitiesX, 0, size );
+        System.arraycopy( velocitiesY, 0, newVelocitiesY, 0, size );
+        System.arraycopy( flags      , 0, newFlags      , 0, size );
+        System.arraycopy( colors     , 0, newColors     , 0, size );
+        positionsX  = newPositionsX;
+        positionsY  = newPositionsY;
+        velocitiesX = newVelocitiesX;
+        velocitiesY = newVelocitiesY;
+        flags       = newFlags;
+        colors      = newColors;
+    }
+
+    /**
+        Removes a point decoration: the last point decoration is moved to its place.
+        The arrays are not reallocated, so the arrays got before remain valid.
+        @param index index of the point decoration to be removed
+    */
+    public void remove( final int index ) {
+        final int lastIndex = --size;
+        positionsX [ index ] = positionsX [ lastIndex ];
+        positionsY [ index ] = positionsY [ lastIndex ];
+        velocitiesX[ index ] = velocitiesX[ lastIndex ];
+        velocitiesY[ index ] = velocitiesY[ lastIndex ];
+        flags      [ index ] = flags      [ lastIndex ];
+        colors     [ index ] = colors     [ lastIndex ];
+        colors     [ lastIndex ] = null;
+    }
+
+    /**
+        Returns the number of the point decorations.
+        @return the number of the point decorations
+    */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Returns the x coordinates of the positions. The array is valid until the next point decoration is added.
+        @return the x coordinates of the positions
+    */
+    public float[] getPositionsX() {
+        return positionsX;
+    }
+
+    /**
+        Returns the y coordinates of the positions. The array is valid until the next point decoration is added.
+        @return the y coordinates of the positions
+    */
+    public float[] getPositionsY() {
+        return positionsY;
+    }
+
+    /**
+        Returns the x coordinates of the velocities. The array is valid until the next point decoration is added.
+        @return the x coordinates of the velocities
+    */
+    public float[] getVelocitiesX() {
+        return velocitiesX;
+    }
+
+    /**
+        Returns the y coordinates of the velocities. The array is valid until the next point decoration is added.
+        @return the y coordinates of the velocities
+    */
+    public float[] getVelocitiesY() {
+        return velocitiesY;
+    }
+
+    /**
+        Returns the flags. The array is valid until the next point decoration is added.
+        @return the flags
+    */
+    public byte[] getFlags() {
+        return flags;
+    }
+
+    /**
+        Draws the point decorations being in a window.
+        @param graphicsContext graphics context in wich to draw
+        @param windowX1 x coordinate of the upper left corner of the window
+        @param windowY1 y coordinate of the upper left corner of the window
+        @param windowX2 x coordinate of the lower right corner of the window
+        @param windowY2 y coordinate of the lower right corner of the window
+        @param doubleSized tells whether we have to draw the point decorations in double size
+        @param rubblesColor color of the rubbles
+    */
+    public void draw( final Graphics graphicsContext, final int windowX1, final int windowY1, final int windowX2, final int windowY2, final boolean doubleSized, final Color rubblesColor ) {
+        final int extension = doubleSized ? 1 : 0;
+        Color lastColor = null;
+        for ( int index = size - 1; index >= 0; index-- ) {
+            final float positionX = positionsX[ index ], positionY = positionsY[ index ];
+            if ( positionX < windowX1 || positionX > windowX2 || positionY < windowY1 || positionY > windowY2 )
+                continue;
+            final Color color = ( flags[ index ] & FLAG_RUBBLE ) != 0 ? rubblesColor : colors[ index ];
+            if ( color != lastColor )
+                graphicsContext.setColor( lastColor = color );
+            final int x = (int) positionX, y = (int) positionY;
+            graphicsContext.drawLine( x, y, x + extension, y );
+            if ( doubleSized )
+                graphicsContext.drawLine( x, y + 1, x + 1, y + 1 );
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+
+package classes.utilities;
+
+import java.lang.reflect.*;
+
+
+/**
+    Meter of the bytes allocated by a thread. Uses the thread management bean of the runtime if it can tell
+    the allocated bytes of a thread (Sun/Oracle runtimes of Java 6 and later), else the meter is not supported.
+    The value has no meaning by itself, only differences of values are meaningful.
+    A meter is meant to be read by one thread (it binds itself to the thread reading it). Reading the meter itself allocates
+    (the result of the reflective call is boxed), so a measurement should subtract the bytes of an empty measurement.
+*/
+public class AllocationMeter {
+
+    /** Parameter types of the parameterless methods. */
+    private static final Class[]  NO_PARAMETER_TYPES = new Class [ 0 ];
+    /** Arguments of the calls of the parameterless methods. */
+    private static final Object[] NO_ARGUMENTS       = new Object[ 0 ];
+
+    /** The thread management bean, or null if the allocated bytes are not supported. */
+    private static final Object THREAD_MX_BEAN;
+    /** The getThreadAllocatedBytes( long ) method of the thread management bean, or null if the allocated bytes are not supported. */
+    private static final Method GET_THREAD_ALLOCATED_BYTES_METHOD;
+    /** The Thread.getId() method, or null if the allocated bytes are not supported. */
+    private static final Method GET_ID_METHOD;
+
+    /**
+        The static initializer. We initializing the reflected objects.
+    */
+    static {
+        Object threadMXBean                  = null;
+        Method getThreadAllocatedBytesMethod = null;
+        Method getIdMethod                   = null;
+        try {
+            threadMXBean                  = Class.forName( "java.lang.management.ManagementFactory" ).getMethod( "getThreadMXBean", NO_PARAMETER_TYPES ).invoke( null, NO_ARGUMENTS );
+            getThreadAllocatedBytesMethod = Class.forName( "com.sun.management.ThreadMXBean" ).getMethod( "getThreadAllocatedBytes", new Class[] { long.class } );
+            getIdMethod                   = Thread.class.getMethod( "getId", NO_PARAMETER_TYPES );
+            if ( !getThreadAllocatedBytesMethod.getDeclaringClass().isInstance( threadMXBean ) )
+                throw new ClassCastException();
+        }
+        catch ( Exception e ) {   // Older or other runtime, the meter is not supported
+            threadMXBean                  = null;
+            getThreadAllocatedBytesMethod = null;
+            getIdMethod                   = null;
+        }
+        THREAD_MX_BEAN                    = threadMXBean;
+        GET_THREAD_ALLOCATED_BYTES_METHOD = getThreadAllocatedBytesMethod;
+        GET_ID_METHOD                     = getIdMethod;
+    }
+
+    /** The thread the meter is bound to. */
+    private Thread   thread;
+    /** Arguments of the getThreadAllocatedBytes() call (the id of the bound thread). */
+    private Object[] arguments;
+
+    /**
+        Tells whether the meter is supported by the runtime.
+        @return true if the meter is supported; false otherwise
+    */
+    public static boolean isSupported() {
+        return THREAD_MX_BEAN != null;
+    }
+
+    /**
+        Returns the number of the bytes allocated by the calling thread.
+        @return the number of the bytes allocated by the calling thread, or -1 if the meter is not supported
+    */
+    public long getAllocatedBytes() {
+        if ( THREAD_MX_BEAN == null )
+            return -1l;
+        try {
+            if ( thread != Thread.currentThread() ) {
+                thread    = Thread.currentThread();
+                arguments = new Object[] { GET_ID_METHOD.invoke( thread, NO_ARGUMENTS ) };
+            }
+            return ( (Long) GET_THREAD_ALLOCATED_BYTES_METHOD.invoke( THREAD_MX_BEAN, arguments ) ).longValue();
+        }
+        catch ( Exception e ) {   // This should never happen: the methods are public
+            Logging.logError( e );
+            return -1l;
+        }
+    }
+
+}
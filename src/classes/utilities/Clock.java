@@ -0,0 +1,52 @@
+
+package classes.utilities;
+
+import java.lang.reflect.*;
+
+
+/**
+    High resolution clock for scheduling. Uses System.nanoTime() if the runtime has it (Java 5 and later),
+    else falls back to System.currentTimeMillis() (the resolution is that of the system clock then).
+    The value has no meaning by itself, only differences of values are meaningful.
+    System.nanoTime() is called by reflection (the sources are compiled by Java 1.4 too), so reading the clock allocates
+    the box of the returned value (16 bytes on the usual runtimes).
+*/
+public class Clock {
+
+    /** Parameter types of the parameterless methods. */
+    private static final Class[]  NO_PARAMETER_TYPES = new Class [ 0 ];
+    /** Arguments of the calls of the parameterless methods. */
+    private static final Object[] NO_ARGUMENTS       = new Object[ 0 ];
+
+    /** The System.nanoTime() method, or null if the runtime does not have it. */
+    private static final Method   NANO_TIME_METHOD;
+
+    /**
+        The static initializer. We initializing the NANO_TIME_METHOD.
+    */
+    static {
+        Method nanoTimeMethod = null;
+        try {
+            nanoTimeMethod = System.class.getMethod( "nanoTime", NO_PARAMETER_TYPES );
+        }
+        catch ( NoSuchMethodException nsme ) {   // Older runtime, we use the system clock
+        }
+        NANO_TIME_METHOD = nanoTimeMethod;
+    }
+
+    /**
+        Returns the current value of the clock.
+        @return the current value of the clock in ns
+    */
+    public static long nanoTime() {
+        if ( NANO_TIME_METHOD != null )
+            try {
+                return ( (Long) NANO_TIME_METHOD.invoke( null, NO_ARGUMENTS ) ).longValue();
+            }
+            catch ( Exception e ) {   // This should never happen: the method is public and static
+                Logging.logError( e );
+            }
+        return System.currentTimeMillis() * 1000000l;
+    }
+
+}
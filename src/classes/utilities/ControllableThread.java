@@ -1,129 +1,183 @@
-
-package classes.utilities;
-
-
-/**
-    An extra featured, controllable thread class.
-    @author Belicza Andras
-*/
-public abstract class ControllableThread extends Thread implements Timeable {
-
-    /** Running state of the thread. */
-    private boolean          running = false;
-    /** Indicating that there was a request to cancel the thread. */
-    private boolean          requestedToCancel = false;
-    /** Timer to control the calls of the operate() method. */
-    private Timer            timer;
-    /** Indicating time-up evetns. */
-    private volatile boolean timeIsUp = false;
-    /** Cycle counter. */
-    private int              cycleCounter;
-
-    /**
-        Creates a new ControlledThread.
-        @param operatePeriodTime period time in ms to recall method operate() until a request to cancel arrives
-    */
-    public ControllableThread( final long operatePeriodTime ) {
-        timer = new Timer( operatePeriodTime, this );
-    }
-
-    /**
-        Where the new thread begins...
-    */
-    public final void run() {
-        cycleCounter = 0;
-        running      = true;
-        firstOperate();
-        if ( !requestedToCancel ) {
-            timer.start();
-            try {
-                while ( !requestedToCancel ) {
-                    while ( !timeIsUp && !requestedToCancel )
-                        sleep( 1 );
-                    timeIsUp = false;
-                    if ( !requestedToCancel ) {
-                        operate();
-                        cycleCounter++;
-                    }
-                }
-            }
-            catch ( InterruptedException ie ) {
-                Logging.logError( ie );
-            }
-            timer.requestToCancel();
-        }
-        lastOperate();
-        requestToCancel();
-        running = false;
-    }
-
-    /**
-        To indicate time-up event (implementing Timeable interface).
-    */
-    public void timeIsUp() {
-        timeIsUp = true;
-    }
-    
-    /**
-        This method will be executed first before the cycles.
-    */
-    protected void firstOperate() {
-    }
-
-    /**
-        This method have to do the cyclycal repeatable work.
-    */
-    protected abstract void operate();
-
-    /**
-        This method will be executed lastly after the cycles.
-    */
-    protected void lastOperate() {
-    }
-
-    /**
-        Returns the running state of the thread.
-        @return the running state of the thread
-    */
-    public boolean isRunning() {
-        return running;
-    }
-
-    /**
-        Indicating that we wish to end the thread.
-    */    
-    public void requestToCancel() {
-        timer.requestToCancel();
-        requestedToCancel = true;
-    }
-
-    /**
-        Waits until this thread will stop, until the run method will end.
-    */
-    public void waitUntilRunning() {
-        try {
-            while ( running )
-                sleep( 1 );
-        }
-        catch ( InterruptedException ie ) {
-            Logging.logError( ie );
-        }
-    }
-    
-    /**
-        Sets the period time of reexecutioning of operate() method.
-        @param periodTime the period time in ms
-    */
-    public void setOperatePeriodTime( final long periodTime ) {
-        timer.setPeriodTime( periodTime );
-    }
-
-    /**
-        Returns the value of cycle counter.
-        @return the value of cycle counter
-    */
-    public int getCycleCounter() {
-        return cycleCounter;
-    }
-
-}
+
+package classes.utilities;
+
+
+/**
+    An extra featured, controllable thread class.
+    The operate() method is called at fixed absolute deadlines (the deadline of the next cycle is the previous one plus the period time),
+    so the cycles do not drift by the duration of operate() or by the inaccuracy of the waking up, the cycle rate matches the period time in the long run.
+    If a cycle is late, the following cycles are executed without waiting to catch up; if the thread lags behind by more than
+    MAX_CATCH_UP_CYCLES cycles, the missed cycles are skipped instead.
+    @author Belicza Andras
+*/
+public abstract class ControllableThread extends Thread {
+
+    /** Maximum number of cycles executed without waiting to catch up the lag. */
+    private static final int MAX_CATCH_UP_CYCLES = 5;
+
+    /** Running state of the thread (changed under the deadline lock, waiters for the end are notified). */
+    private volatile boolean running = false;
+    /** Indicating that there was a request to cancel the thread. */
+    private volatile boolean requestedToCancel = false;
+    /** Lock to wait on for the deadlines (notified on request to cancel) and for the end of the thread. */
+    private final Object     deadlineLock = new Object();
+    /** Period time of the calls of the operate() method in ms. */
+    private volatile long    operatePeriodTime;
+    /** Cycle counter. */
+    private int              cycleCounter;
+    /** Number of the cycles started later than their deadlines. */
+    private volatile int     lateCyclesCount;
+    /** Number of the cycles skipped because the thread lagged behind too much. */
+    private volatile int     skippedCyclesCount;
+
+    /**
+        Creates a new ControlledThread.
+        @param operatePeriodTime period time in ms to recall method operate() until a request to cancel arrives
+    */
+    public ControllableThread( final long operatePeriodTime ) {
+        this.operatePeriodTime = operatePeriodTime;
+    }
+
+    /**
+        Where the new thread begins...
+    */
+    public final void run() {
+        cycleCounter = 0;
+        running      = true;
+        firstOperate();
+        if ( !requestedToCancel ) {
+            long deadline = Clock.nanoTime() + operatePeriodTime * 1000000l;
+            while ( waitForDeadline( deadline ) ) {
+                try {
+                    operate();
+                }
+                catch ( RuntimeException re ) {   // One faulty cycle must not stop the thread
+                    Logging.logError( re );
+                }
+                cycleCounter++;
+                final long periodTimeNanos = operatePeriodTime * 1000000l;
+                deadline += periodTimeNanos;
+                final long lag = Clock.nanoTime() - deadline;
+                if ( lag > 0 ) {
+                    lateCyclesCount++;
+                    if ( lag > MAX_CATCH_UP_CYCLES * periodTimeNanos ) {
+                        final long skippedCycles = lag / periodTimeNanos;
+                        skippedCyclesCount += (int) skippedCycles;
+                        deadline           += skippedCycles * periodTimeNanos;
+                    }
+                }
+            }
+        }
+        lastOperate();
+        synchronized ( deadlineLock ) {
+            requestedToCancel = true;
+            running           = false;
+            deadlineLock.notifyAll();
+        }
+    }
+
+    /**
+        Waits until a deadline or until a request to cancel arrives.
+        @param deadline the deadline (value of the Clock) to wait until
+        @return true if the deadline is reached; false if there was a request to cancel
+    */
+    private boolean waitForDeadline( final long deadline ) {
+        synchronized ( deadlineLock ) {
+            try {
+                while ( !requestedToCancel ) {
+                    final long remainingTime = deadline - Clock.nanoTime();
+                    if ( remainingTime <= 0 )
+                        return true;
+                    deadlineLock.wait( remainingTime / 1000000l, (int) ( remainingTime % 1000000l ) );
+                }
+            }
+            catch ( InterruptedException ie ) {
+                Logging.logError( ie );
+            }
+        }
+        return false;
+    }
+
+    /**
+        This method will be executed first before the cycles.
+    */
+    protected void firstOperate() {
+    }
+
+    /**
+        This method have to do the cyclycal repeatable work.
+    */
+    protected abstract void operate();
+
+    /**
+        This method will be executed lastly after the cycles.
+    */
+    protected void lastOperate() {
+    }
+
+    /**
+        Returns the running state of the thread.
+        @return the running state of the thread
+    */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+        Indicating that we wish to end the thread.
+    */    
+    public void requestToCancel() {
+        synchronized ( deadlineLock ) {
+            requestedToCancel = true;
+            deadlineLock.notifyAll();
+        }
+    }
+
+    /**
+        Waits until this thread will stop, until the run method will end.
+    */
+    public void waitUntilRunning() {
+        synchronized ( deadlineLock ) {
+            try {
+                while ( running )
+                    deadlineLock.wait();
+            }
+            catch ( InterruptedException ie ) {
+                Logging.logError( ie );
+            }
+        }
+    }
+    
+    /**
+        Sets the period time of reexecutioning of operate() method.
+        @param periodTime the period time in ms
+    */
+    public void setOperatePeriodTime( final long periodTime ) {
+        operatePeriodTime = periodTime;
+    }
+
+    /**
+        Returns the value of cycle counter.
+        @return the value of cycle counter
+    */
+    public int getCycleCounter() {
+        return cycleCounter;
+    }
+
+    /**
+        Returns the number of the cycles started later than their deadlines.
+        @return the number of the late cycles
+    */
+    public int getLateCyclesCount() {
+        return lateCyclesCount;
+    }
+
+    /**
+        Returns the number of the cycles skipped because the thread lagged behind more than MAX_CATCH_UP_CYCLES cycles.
+        @return the number of the skipped cycles
+    */
+    public int getSkippedCyclesCount() {
+        return skippedCyclesCount;
+    }
+
+}
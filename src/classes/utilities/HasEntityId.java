@@ -0,0 +1,25 @@
+
+package classes.utilities;
+
+
+/**
+    Defines the methods to access the entity id of an object (for identifying objects in world snapshots).
+*/
+public interface HasEntityId {
+    
+    /** Value of entity id of objects which have not got entity id yet. */
+    int NO_ENTITY_ID = 0;
+
+    /**
+        Returns the entity id.
+        @return the entity id
+    */
+    int getEntityId();
+    
+    /**
+        Sets the entity id.
+        @param entityId the entity id
+    */
+    void setEntityId( final int entityId );
+    
+}
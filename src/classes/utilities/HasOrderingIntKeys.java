@@ -1,23 +1,23 @@
-
-package classes.utilities;
-
-
-/**
-    Defines 2 methods to get the ordering int keys (for ordering arrays).
-    @author Belicza Andras
-*/
-public interface HasOrderingIntKeys {
-    
-    /**
-        Returns the ordering int key.
-        @return the ordering int key
-    */
-    int getOrderingIntKey();
-    
-    /**
-        Returns the secondary ordering int key.
-        @return the secondary ordering int key
-    */
-    int getSecondaryOrderingIntKey();
-    
-}
+
+package classes.utilities;
+
+
+/**
+    Defines 2 methods to get the ordering int keys (for ordering arrays).
+    @author Belicza Andras
+*/
+public interface HasOrderingIntKeys {
+    
+    /**
+        Returns the ordering int key.
+        @return the ordering int key
+    */
+    int getOrderingIntKey();
+    
+    /**
+        Returns the secondary ordering int key.
+        @return the secondary ordering int key
+    */
+    int getSecondaryOrderingIntKey();
+    
+}
@@ -0,0 +1,80 @@
+
+package classes.utilities;
+
+
+/**
+    A pool of objects to be reused instead of allocating new ones. The owner of the pool knows the type of the objects:
+    it initializes an acquired object (or creates a new one if the pool is empty), and releases the objects it does not use anymore.
+    Released objects beyond the capacity are left to the garbage collector.
+    The pool counts the acquirings and the hits (the acquirings served from the pool), so the hit rate can be checked.
+    The pool is not synchronized, it has to be used by one thread; the counters can be read by any thread.
+*/
+public class ObjectPool {
+
+    /** The pooled objects. */
+    private final Object[] objects;
+    /** Number of the pooled objects. */
+    private int            size;
+    /** Number of the acquirings. */
+    private volatile long  acquiringsCount;
+    /** Number of the acquirings served from the pool. */
+    private volatile long  hitsCount;
+
+    /**
+        Creates a new ObjectPool.
+        @param capacity maximum number of the pooled objects
+    */
+    public ObjectPool( final int capacity ) {
+        objects = new Object[ capacity ];
+    }
+
+    /**
+        Acquires an object from the pool.
+        @return a pooled object, or null if the pool is empty (the caller has to create a new one)
+    */
+    public Object acquire() {
+        acquiringsCount++;
+        if ( size == 0 )
+            return null;
+        hitsCount++;
+        final Object object = objects[ --size ];
+        objects[ size ] = null;
+        return object;
+    }
+
+    /**
+        Releases an object to the pool. The object must not be used by the caller anymore.
+        @param object object to be released
+    */
+    public void release( final Object object ) {
+        if ( size < objects.length )
+            objects[ size++ ] = object;
+    }
+
+    /**
+        Returns the number of the acquirings.
+        @return the number of the acquirings
+    */
+    public long getAcquiringsCount() {
+        return acquiringsCount;
+    }
+
+    /**
+        Returns the number of the acquirings served from the pool.
+        @return the number of the acquirings served from the pool
+    */
+    public long getHitsCount() {
+        return hitsCount;
+    }
+
+    /**
+        Creates a report of the hit rate of the pool.
+        @return the report of the hit rate of the pool
+    */
+    public String createReport() {
+        final long acquiringsCount = this.acquiringsCount;
+        final long hitsCount       = this.hitsCount;
+        return "hit rate " + ( acquiringsCount == 0 ? 0 : hitsCount * 100 / acquiringsCount ) + "% of " + acquiringsCount + " acquirings";
+    }
+
+}
@@ -1,20 +1,20 @@
-
-package classes.utilities;
-
-
-/**
-    Side constants of a rectangle.
-    @author Belicza Andras
-*/
-public interface SideConsts {
-    
-    /** Left side. */
-    int SIDE_LEFT  = 0;
-    /** Right side. */
-    int SIDE_RIGHT = 1;
-    /** Up side. */
-    int SIDE_UP    = 2;
-    /** Down side. */
-    int SIDE_DOWN  = 3;
-
-}
+
+package classes.utilities;
+
+
+/**
+    Side constants of a rectangle.
+    @author Belicza Andras
+*/
+public interface SideConsts {
+    
+    /** Left side. */
+    int SIDE_LEFT  = 0;
+    /** Right side. */
+    int SIDE_RIGHT = 1;
+    /** Up side. */
+    int SIDE_UP    = 2;
+    /** Down side. */
+    int SIDE_DOWN  = 3;
+
+}
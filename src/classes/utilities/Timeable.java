@@ -1,16 +1,16 @@
-
-package classes.utilities;
-
-
-/**
-    Specifies a method to call when time-up event occurs.
-    @author Belicza Andras
-*/
-public interface Timeable {
-    
-    /**
-        To indicate time-up event.
-    */
-    void timeIsUp();
-    
-}
+
+package classes.utilities;
+
+
+/**
+    Specifies a method to call when time-up event occurs.
+    @author Belicza Andras
+*/
+public interface Timeable {
+    
+    /**
+        To indicate time-up event.
+    */
+    void timeIsUp();
+    
+}
@@ -0,0 +1,162 @@
+
+package classes.utilities;
+
+
+/**
+    A pool of worker threads to execute a task over a range of indices in parallel.
+    The range is split into as many consecutive parts as there are threads (the calling thread executes the first part),
+    and execute() returns when all the parts are done. The parts do not depend on the number of the threads
+    in any way other than their bounds, so a task which only writes the slots of its own indices gives the same result with any number of threads.
+    If parts throw runtime exceptions, the first one is rethrown by execute() after all the parts are done.
+*/
+public class WorkerPool {
+
+    /**
+        A task executed over a part of a range of indices.
+    */
+    public interface Task {
+
+        /**
+            Executes the task over a part of the range.
+            @param partIndex index of the part (the parts are executed in parallel, the task may keep work objects per part)
+            @param fromIndex first index of the part
+            @param toIndex index after the last index of the part
+        */
+        void execute( int partIndex, int fromIndex, int toIndex );
+
+    }
+
+    /** The worker threads. */
+    private final Thread[]   workers;
+    /** The task being executed. */
+    private Task             task;
+    /** Size of the range being executed. */
+    private int              count;
+    /** Number of the executions started (the workers start their parts when this changes). */
+    private int              generation;
+    /** Number of the parts not done yet in the actual execution. */
+    private int              pendingPartsCount;
+    /** Indicating that there was a request to close the pool. */
+    private boolean          requestedToClose;
+    /** The first runtime exception thrown by the parts of the actual execution, null if none. */
+    private RuntimeException partException;
+
+    /**
+        Creates a new WorkerPool, and starts its threads.
+        @param threadsCount number of the threads executing the tasks (including the calling thread)
+        @param name name of the threads
+    */
+    public WorkerPool( final int threadsCount, final String name ) {
+        workers = new Thread[ threadsCount - 1 ];
+        for ( int workerIndex = 0; workerIndex < workers.length; workerIndex++ ) {
+            final int partIndex = workerIndex + 1;
+            workers[ workerIndex ] = new Thread( name + ' ' + partIndex ) {
+                public void run() {
+                    work( partIndex );
+                }
+            };
+            workers[ workerIndex ].setDaemon( true );
+            workers[ workerIndex ].start();
+        }
+    }
+
+    /**
+        Returns the number of the threads executing the tasks (including the calling thread).
+        @return the number of the threads executing the tasks
+    */
+    public int getThreadsCount() {
+        return workers.length + 1;
+    }
+
+    /**
+        Executes a task over a range of indices, and waits until it is done.
+        @param task the task to execute
+        @param count size of the range (the indices are from 0 to count-1)
+        @throws RuntimeException the first runtime exception thrown by the parts of the task
+    */
+    public void execute( final Task task, final int count ) {
+        synchronized ( this ) {
+            this.task         = task;
+            this.count        = count;
+            pendingPartsCount = workers.length;
+            generation++;
+            notifyAll();
+        }
+        executePart( task, count, 0 );
+        synchronized ( this ) {
+            try {
+                while ( pendingPartsCount > 0 )
+                    wait();
+            }
+            catch ( InterruptedException ie ) {
+                Logging.logError( ie );
+            }
+            this.task = null;
+            if ( partException != null ) {
+                final RuntimeException exception = partException;
+                partException = null;
+                throw exception;
+            }
+        }
+    }
+
+    /**
+        Executes a part of the range of a task.
+        @param task the task to execute
+        @param count size of the range
+        @param partIndex index of the part
+    */
+    private void executePart( final Task task, final int count, final int partIndex ) {
+        final int partsCount = workers.length + 1;
+        try {
+            task.execute( partIndex, (int) ( (long) count * partIndex / partsCount ), (int) ( (long) count * ( partIndex + 1 ) / partsCount ) );
+        }
+        catch ( RuntimeException re ) {
+            synchronized ( this ) {
+                if ( partException == null )
+                    partException = re;
+            }
+        }
+    }
+
+    /**
+        The loop of a worker thread.
+        @param partIndex index of the part executed by the worker
+    */
+    private void work( final int partIndex ) {
+        int lastGeneration = 0;
+        while ( true ) {
+            final Task task;
+            final int  count;
+            synchronized ( this ) {
+                try {
+                    while ( generation == lastGeneration && !requestedToClose )
+                        wait();
+                }
+                catch ( InterruptedException ie ) {
+                    Logging.logError( ie );
+                    return;
+                }
+                if ( requestedToClose )
+                    return;
+                lastGeneration = generation;
+                task           = this.task;
+                count          = this.count;
+            }
+            executePart( task, count, partIndex );
+            synchronized ( this ) {
+                if ( --pendingPartsCount == 0 )
+                    notifyAll();
+            }
+        }
+    }
+
+    /**
+        Closes the pool: its threads end.
+    */
+    public synchronized void close() {
+        requestedToClose = true;
+        notifyAll();
+    }
+
+}
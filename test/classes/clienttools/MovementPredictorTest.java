@@ -0,0 +1,168 @@
+
+package classes.clienttools;
+
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+
+
+/**
+    Tests of the movement predictor: after a reconciliation with an authoritative state the replayed prediction must match
+    the movement stepped by the server rules through all the cycles, also when we have been idle for longer than the input history.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class MovementPredictorTest {
+
+    /** Width and height of the map in pixels. */
+    private static final int  MAP_SIZE         = 1024;
+    /** Duration of a cycle of the server in ms. */
+    private static final long CYCLE_DURATION   = 10l;
+    /** States of the control keys of our input frame (moving right). */
+    private static final int  CONTROL_KEY_BITS = 1 << Player.KEY_INDEX_RIGHT;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /** The map datas (empty). */
+    private static final byte[]        mapDatas      = new byte[ MAP_SIZE * MAP_SIZE ];
+    /** Movement rules stepping the reference states (the server rules). */
+    private static final MovementRules movementRules = new MovementRules( new Map( mapDatas, MAP_SIZE, MAP_SIZE ) );
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        testReconcile( 1 );
+        testReconcile( 3 );
+        testIdleReconcile( 1 );
+        testIdleReconcile( 3 );
+        System.out.println( failuresCount == 0 ? "MovementPredictorTest passed." : "MovementPredictorTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Creates a predictor of our worm (player 0).
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+        @return the predictor
+    */
+    private static MovementPredictor createPredictor( final int cyclesPerTick ) {
+        final MovementPredictor movementPredictor = new MovementPredictor( 0, MAP_SIZE, MAP_SIZE );
+        movementPredictor.setMapDatas( mapDatas );
+        movementPredictor.setCycleDuration( CYCLE_DURATION );
+        movementPredictor.setCyclesPerTick( cyclesPerTick );
+        return movementPredictor;
+    }
+
+    /**
+        Creates the initial state of our worm.
+        @return the initial state of our worm
+    */
+    private static PlayerState createInitialState() {
+        final PlayerState playerState = Player.createPlayerState();
+        playerState.position.x = MAP_SIZE / 4;
+        playerState.position.y = MAP_SIZE / 4;
+        return playerState;
+    }
+
+    /**
+        Steps a state by the server rules with our input through cycles.
+        @param playerState state to step
+        @param fromCycle the first cycle to step
+        @param toCycle the last cycle to step
+    */
+    private static void stepReference( final PlayerState playerState, final int fromCycle, final int toCycle ) {
+        final boolean[] controlKeyStates = new boolean[ Player.CONTROL_KEYS_COUNT ];
+        for ( int keyIndex = controlKeyStates.length - 1; keyIndex >= 0; keyIndex-- )
+            controlKeyStates[ keyIndex ] = ( CONTROL_KEY_BITS & ( 1 << keyIndex ) ) != 0;
+        for ( int cycle = fromCycle; cycle <= toCycle; cycle++ ) {
+            movementRules.calculatePlayerForce( playerState );
+            movementRules.handleMovingKeys( playerState, controlKeyStates, cycle );
+            movementRules.stepPlayer( playerState, 0 );
+        }
+    }
+
+    /**
+        Creates the authoritative state of a snapshot: our input frame of tick 0 was applied in the middle cycle of snapshot tick 0
+        (that is our predicted cycle 0), and the server stepped it until the end of the snapshot tick.
+        @param snapshotTick tick of the snapshot
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+        @return the states of the players of the snapshot
+    */
+    private static PlayerState[] createSnapshot( final int snapshotTick, final int cyclesPerTick ) {
+        final PlayerState authoritativeState = createInitialState();
+        stepReference( authoritativeState, 0, snapshotTick * cyclesPerTick + ( cyclesPerTick + 1 ) / 2 - 1 );
+        authoritativeState.lastInputFrameTick        = 0;
+        authoritativeState.lastInputFrameAppliedTick = 0;
+        return new PlayerState[] { authoritativeState };
+    }
+
+    /**
+        Predicts cycles with our input frame of tick 0.
+        @param movementPredictor the predictor
+        @param fromCycle the first cycle to predict
+        @param toCycle the last cycle to predict
+    */
+    private static void predict( final MovementPredictor movementPredictor, final int fromCycle, final int toCycle ) {
+        for ( int cycle = fromCycle; cycle <= toCycle; cycle++ )
+            movementPredictor.predict( 0, CONTROL_KEY_BITS, cycle * CYCLE_DURATION );
+    }
+
+    /**
+        Checks the predicted state against the reference state stepped through all the predicted cycles.
+        @param movementPredictor the predictor
+        @param lastCycle the last predicted cycle
+        @param message message of the check
+    */
+    private static void checkPredictedState( final MovementPredictor movementPredictor, final int lastCycle, final String message ) {
+        movementPredictor.predict( 0, CONTROL_KEY_BITS, lastCycle * CYCLE_DURATION );   // No new cycle, only publishes the predicted state
+        final PlayerState referenceState = createInitialState();
+        stepReference( referenceState, 0, lastCycle );
+        final PlayerState predictedState = movementPredictor.getPredictedState();
+        check( predictedState != null, message + ": the movement is not predicted" );
+        if ( predictedState != null )
+            check( predictedState.position.x == referenceState.position.x && predictedState.position.y == referenceState.position.y,
+                   message + ": predicted position " + predictedState.position.x + "," + predictedState.position.y + " instead of " + referenceState.position.x + "," + referenceState.position.y );
+    }
+
+    /**
+        Checks that the cycles not covered by a snapshot are replayed after a reconciliation.
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+    */
+    private static void testReconcile( final int cyclesPerTick ) {
+        final MovementPredictor movementPredictor = createPredictor( cyclesPerTick );
+        predict( movementPredictor, 0, 40 );
+        movementPredictor.reconcile( 5, createSnapshot( 5, cyclesPerTick ) );
+        checkPredictedState( movementPredictor, 40, cyclesPerTick + " cycle(s) per tick, reconciled" );
+        predict( movementPredictor, 41, 60 );
+        checkPredictedState( movementPredictor, 60, cyclesPerTick + " cycle(s) per tick, predicted after the reconciliation" );
+    }
+
+    /**
+        Checks that the prediction goes on when we have been idle (no new input frame) for longer than the input history.
+        @param cyclesPerTick number of cycles of the server in a snapshot tick
+    */
+    private static void testIdleReconcile( final int cyclesPerTick ) {
+        final MovementPredictor movementPredictor = createPredictor( cyclesPerTick );
+        predict( movementPredictor, 0, 20 );
+        movementPredictor.reconcile( 2, createSnapshot( 2, cyclesPerTick ) );
+        final int lastCycle = 400;
+        predict( movementPredictor, 21, lastCycle );
+        final int snapshotTick = ( lastCycle - 10 ) / cyclesPerTick;
+        movementPredictor.reconcile( snapshotTick, createSnapshot( snapshotTick, cyclesPerTick ) );
+        checkPredictedState( movementPredictor, lastCycle, cyclesPerTick + " cycle(s) per tick, reconciled after idling" );
+    }
+
+}
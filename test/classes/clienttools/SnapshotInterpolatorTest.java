@@ -0,0 +1,244 @@
+
+package classes.clienttools;
+
+import java.io.*;
+import classes.nettools.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Tests of the snapshot interpolator: the worms and the bullets have to be interpolated between the buffered snapshots around
+    the shown time, teleported worms and unchanged bullets must not be interpolated, there must be no extrapolation,
+    the buffered objects must not be modified, and the clock offset has to be smoothed or resynchronized.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class SnapshotInterpolatorTest {
+
+    /** Duration of a tick of the server in ms. */
+    private static final long  TICK_DURATION   = 50l;
+    /** Offset of the local clock to the clock of the server in ms. */
+    private static final long  CLOCK_OFFSET    = 1000l;
+    /** Tick of the first buffered snapshot. */
+    private static final int   FIRST_TICK      = 10;
+    /** Tick of the last buffered snapshot. */
+    private static final int   LAST_TICK       = 15;
+    /** Tick after which the teleporting worm is teleported. */
+    private static final int   TELEPORT_TICK   = 12;
+    /** Entity id of the moving bullet. */
+    private static final int   MOVING_BULLET   = 5;
+    /** Entity id of the bullet whose record does not change. */
+    private static final int   STILL_BULLET    = 6;
+    /** Allowed error of the interpolated coordinates. */
+    private static final float EPSILON         = 0.01f;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /** Encoder of the records of the bullets. */
+    private static final EntityCodec entityCodec      = new EntityCodec();
+    /** Record of the bullet whose record does not change (shared by the snapshots, as the snapshot history does). */
+    private static byte[]            stillBulletRecord;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if a bullet can't be decoded
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        testInterpolation();
+        testBounds();
+        testClockOffset();
+        testUnknownTickDuration();
+        System.out.println( failuresCount == 0 ? "SnapshotInterpolatorTest passed." : "SnapshotInterpolatorTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Returns the x coordinate of the moving worm at a tick.
+        @param tick the tick
+        @return the x coordinate of the moving worm
+    */
+    private static float getWormX( final double tick ) {
+        return (float) ( 100.0 + tick * 10.0 );
+    }
+
+    /**
+        Returns the x coordinate of the teleporting worm at a tick.
+        @param tick the tick
+        @return the x coordinate of the teleporting worm
+    */
+    private static float getTeleportingWormX( final int tick ) {
+        return tick <= TELEPORT_TICK ? 500.0f : 900.0f;
+    }
+
+    /**
+        Returns the x coordinate of the moving bullet at a tick.
+        @param tick the tick
+        @return the x coordinate of the moving bullet
+    */
+    private static float getBulletX( final double tick ) {
+        return (float) ( 300.0 + tick * 4.0 );
+    }
+
+    /**
+        Creates a bullet.
+        @param x x coordinate of the position of the bullet
+        @return the bullet
+    */
+    private static Bullet createBullet( final float x ) {
+        return new PointBullet( new FloatVector( x, 200.0f ), 0.0, 0, false, null );
+    }
+
+    /**
+        Buffers the snapshot of a tick: the moving worm, the teleporting worm, the moving bullet and the still bullet.
+        @param snapshotInterpolator the snapshot interpolator
+        @param tick tick of the snapshot
+        @param arrivalTime local arrival time of the snapshot
+        @throws IOException if a bullet can't be decoded
+    */
+    private static void addSnapshot( final SnapshotInterpolator snapshotInterpolator, final int tick, final long arrivalTime ) throws IOException {
+        final WorldSnapshot snapshot = new WorldSnapshot( tick );
+        final byte[] movingBulletRecord = entityCodec.encodeBullet( createBullet( getBulletX( tick ) ) );
+        if ( stillBulletRecord == null )
+            stillBulletRecord = entityCodec.encodeBullet( createBullet( 700.0f ) );
+        snapshot.addRecord( SnapshotConsts.SECTION_BULLETS, MOVING_BULLET, movingBulletRecord, EntityCodec.decodeBullet( movingBulletRecord ) );
+        snapshot.addRecord( SnapshotConsts.SECTION_BULLETS, STILL_BULLET , stillBulletRecord , EntityCodec.decodeBullet( stillBulletRecord  ) );
+        final PlayerState[] playerStates = new PlayerState[ 3 ];   // The last player is not in the game
+        playerStates[ 0 ] = Player.createPlayerState();
+        playerStates[ 0 ].position.x = getWormX( tick );
+        playerStates[ 0 ].position.y = 200.0f;
+        playerStates[ 1 ] = Player.createPlayerState();
+        playerStates[ 1 ].position.x = getTeleportingWormX( tick );
+        playerStates[ 1 ].position.y = 200.0f;
+        final Vector bullets = new Vector();
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_BULLETS ); index++ )
+            bullets.add( snapshot.getEntity( SnapshotConsts.SECTION_BULLETS, index ) );
+        snapshotInterpolator.addSnapshot( snapshot, new InformationsForDrawing( playerStates, bullets, new Vector(), new Vector() ), arrivalTime );
+    }
+
+    /**
+        Creates a snapshot interpolator with the snapshots of the ticks from FIRST_TICK to LAST_TICK buffered, arrived in time.
+        @return the snapshot interpolator
+        @throws IOException if a bullet can't be decoded
+    */
+    private static SnapshotInterpolator createSnapshotInterpolator() throws IOException {
+        final SnapshotInterpolator snapshotInterpolator = new SnapshotInterpolator();
+        snapshotInterpolator.setTickDuration( TICK_DURATION );
+        for ( int tick = FIRST_TICK; tick <= LAST_TICK; tick++ )
+            addSnapshot( snapshotInterpolator, tick, getTime( tick ) );
+        return snapshotInterpolator;
+    }
+
+    /**
+        Returns the local time of a tick.
+        @param tick the tick
+        @return the local time of the tick in ms
+    */
+    private static long getTime( final double tick ) {
+        return CLOCK_OFFSET + (long) ( tick * TICK_DURATION );
+    }
+
+    /**
+        Returns the bullet of an entity id from informations for drawing.
+        The bullets are listed in the order of the snapshot, which is the order of their entity ids.
+        @param informationsForDrawing the informations for drawing
+        @param id the entity id
+        @return the bullet, or null if there is no bullet of the entity id
+    */
+    private static Bullet getBullet( final InformationsForDrawing informationsForDrawing, final int id ) {
+        final int index = id == MOVING_BULLET ? 0 : 1;
+        return index < informationsForDrawing.bullets.size() ? (Bullet) informationsForDrawing.bullets.elementAt( index ) : null;
+    }
+
+    /**
+        Checks the positions of the entities shown at a tick.
+        @param informationsForDrawing the informations for drawing
+        @param tick the expected tick of the positions
+        @param teleportingWormTick the expected tick of the position of the teleporting worm
+        @param message message of the checks
+    */
+    private static void checkPositions( final InformationsForDrawing informationsForDrawing, final double tick, final int teleportingWormTick, final String message ) {
+        check( informationsForDrawing.playerStates[ 2 ] == null, message + ": the player not in the game is shown" );
+        check( Math.abs( informationsForDrawing.playerStates[ 0 ].position.x - getWormX( tick ) ) < EPSILON,
+               message + ": the worm is at " + informationsForDrawing.playerStates[ 0 ].position.x + " instead of " + getWormX( tick ) );
+        check( informationsForDrawing.playerStates[ 1 ].position.x == getTeleportingWormX( teleportingWormTick ),
+               message + ": the teleporting worm is at " + informationsForDrawing.playerStates[ 1 ].position.x + " instead of " + getTeleportingWormX( teleportingWormTick ) );
+        final Bullet movingBullet = getBullet( informationsForDrawing, MOVING_BULLET );
+        check( movingBullet != null && Math.abs( movingBullet.position.x - getBulletX( tick ) ) < EPSILON,
+               message + ": the moving bullet is at " + ( movingBullet == null ? "nowhere" : String.valueOf( movingBullet.position.x ) ) + " instead of " + getBulletX( tick ) );
+        check( getBullet( informationsForDrawing, STILL_BULLET ) != null, message + ": the still bullet is not shown" );
+    }
+
+    /**
+        Checks the interpolation between the buffered snapshots.
+        @throws IOException if a bullet can't be decoded
+    */
+    private static void testInterpolation() throws IOException {
+        final SnapshotInterpolator snapshotInterpolator = createSnapshotInterpolator();
+        final InformationsForDrawing informationsForDrawing = snapshotInterpolator.interpolate( getTime( 11.5 ) );
+        checkPositions( informationsForDrawing, 11.5, 11, "tick 11.5" );
+        check( snapshotInterpolator.getShownTick() == 11, "the shown tick is " + snapshotInterpolator.getShownTick() + " instead of 11" );
+        final InformationsForDrawing teleportInformations = snapshotInterpolator.interpolate( getTime( TELEPORT_TICK + 0.5 ) );
+        checkPositions( teleportInformations, TELEPORT_TICK + 0.5, TELEPORT_TICK, "tick " + ( TELEPORT_TICK + 0.5 ) + " (teleporting)" );
+        final InformationsForDrawing sameInformations = snapshotInterpolator.interpolate( getTime( 11.5 ) );
+        check( sameInformations.playerStates[ 0 ] != informationsForDrawing.playerStates[ 0 ], "the interpolated worm states are reused" );
+        check( Math.abs( sameInformations.playerStates[ 0 ].position.x - getWormX( 11.5 ) ) < EPSILON, "the buffered worm state has been modified by the interpolation" );
+        check( getBullet( sameInformations, STILL_BULLET ) == getBullet( informationsForDrawing, STILL_BULLET ), "the still bullet is decoded again" );
+        check( Math.abs( getBullet( sameInformations, MOVING_BULLET ).position.x - getBulletX( 11.5 ) ) < EPSILON, "the buffered bullet has been modified by the interpolation" );
+    }
+
+    /**
+        Checks that the oldest snapshot is shown before the buffered ones, and the last one after them (no extrapolation).
+        @throws IOException if a bullet can't be decoded
+    */
+    private static void testBounds() throws IOException {
+        final SnapshotInterpolator snapshotInterpolator = createSnapshotInterpolator();
+        check( new SnapshotInterpolator().interpolate( getTime( FIRST_TICK ) ) == null, "informations for drawing without buffered snapshots" );
+        checkPositions( snapshotInterpolator.interpolate( getTime( FIRST_TICK - 5 ) ), FIRST_TICK, FIRST_TICK, "before the buffered snapshots" );
+        check( snapshotInterpolator.getShownTick() == FIRST_TICK, "before the buffered snapshots the shown tick is " + snapshotInterpolator.getShownTick() );
+        checkPositions( snapshotInterpolator.interpolate( getTime( LAST_TICK + 5 ) ), LAST_TICK, LAST_TICK, "after the buffered snapshots" );
+        check( snapshotInterpolator.getShownTick() == LAST_TICK, "after the buffered snapshots the shown tick is " + snapshotInterpolator.getShownTick() );
+    }
+
+    /**
+        Checks that a late snapshot moves the clock offset by 1/8 of its lateness, and that a long pause resynchronizes the clock.
+        @throws IOException if a bullet can't be decoded
+    */
+    private static void testClockOffset() throws IOException {
+        final SnapshotInterpolator snapshotInterpolator = createSnapshotInterpolator();
+        final long lateness = 8 * TICK_DURATION / 2;   // The offset moves half a tick
+        addSnapshot( snapshotInterpolator, LAST_TICK + 1, getTime( LAST_TICK + 1 ) + lateness );
+        checkPositions( snapshotInterpolator.interpolate( getTime( 14.0 ) ), 13.5, 13, "after a late snapshot" );
+        final long pause = 10000l;
+        addSnapshot( snapshotInterpolator, LAST_TICK + 2, getTime( LAST_TICK + 2 ) + pause );
+        checkPositions( snapshotInterpolator.interpolate( getTime( LAST_TICK + 1.5 ) + pause ), LAST_TICK + 1.5, LAST_TICK + 1, "after a pause" );
+    }
+
+    /**
+        Checks that the last snapshot is shown while the duration of a tick is not known.
+        @throws IOException if a bullet can't be decoded
+    */
+    private static void testUnknownTickDuration() throws IOException {
+        final SnapshotInterpolator snapshotInterpolator = new SnapshotInterpolator();
+        for ( int tick = FIRST_TICK; tick <= LAST_TICK; tick++ )
+            addSnapshot( snapshotInterpolator, tick, getTime( tick ) );
+        checkPositions( snapshotInterpolator.interpolate( getTime( 11.5 ) ), LAST_TICK, LAST_TICK, "unknown tick duration" );
+    }
+
+}
@@ -0,0 +1,118 @@
+
+package classes.nettools;
+
+import java.nio.*;
+
+
+/**
+    Tests of the datagram sequencer: the ack and the ack bitfield written into the headers have to acknowledge exactly the received
+    remote sequence numbers of the ack window, and datagrams not newer than the newest received one have to be stale.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class DatagramSequencerTest {
+
+    /** Number of the remote sequence numbers tested. */
+    private static final int SEQUENCES_COUNT = 200;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        testNextSequence();
+        testEmptyHeader();
+        for ( int gap = 1; gap <= DatagramSequencer.ACK_WINDOW + 2; gap++ )
+            testReceivedSequences( gap );
+        testStale();
+        System.out.println( failuresCount == 0 ? "DatagramSequencerTest passed." : "DatagramSequencerTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Checks that the outgoing sequence numbers are consecutive from 0, and that the header holds the given one.
+    */
+    private static void testNextSequence() {
+        final DatagramSequencer datagramSequencer = new DatagramSequencer();
+        final ByteBuffer        header            = ByteBuffer.allocate( DatagramSequencer.HEADER_LENGTH );
+        for ( int expectedSequence = 0; expectedSequence < SEQUENCES_COUNT; expectedSequence++ ) {
+            final int sequence = datagramSequencer.nextSequence();
+            check( sequence == expectedSequence, "sequence " + sequence + " instead of " + expectedSequence );
+            header.clear();
+            datagramSequencer.writeHeader( header, sequence );
+            check( header.position() == DatagramSequencer.HEADER_LENGTH, "header length " + header.position() );
+            check( header.getInt( 0 ) == sequence, "header sequence " + header.getInt( 0 ) + " instead of " + sequence );
+        }
+    }
+
+    /**
+        Checks that nothing is acknowledged before a remote datagram is received.
+    */
+    private static void testEmptyHeader() {
+        final DatagramSequencer datagramSequencer = new DatagramSequencer();
+        final ByteBuffer        header            = ByteBuffer.allocate( DatagramSequencer.HEADER_LENGTH );
+        datagramSequencer.writeHeader( header, datagramSequencer.nextSequence() );
+        check( header.getInt( 4 ) == DatagramSequencer.NO_SEQUENCE, "ack " + header.getInt( 4 ) + " without received datagrams" );
+        check( !datagramSequencer.isStale( 0 ), "sequence 0 is stale without received datagrams" );
+        for ( int sequence = 0; sequence < SEQUENCES_COUNT; sequence++ )
+            check( !DatagramSequencer.isAcknowledged( sequence, header.getInt( 4 ), header.getInt( 8 ) ), "sequence " + sequence + " is acknowledged without received datagrams" );
+    }
+
+    /**
+        Receives every sequence number divisible by a gap, and checks after each that exactly the received ones
+        of the ack window are acknowledged by the written header.
+        @param gap difference of the received sequence numbers
+    */
+    private static void testReceivedSequences( final int gap ) {
+        final DatagramSequencer datagramSequencer = new DatagramSequencer();
+        final ByteBuffer        header            = ByteBuffer.allocate( DatagramSequencer.HEADER_LENGTH );
+        for ( int receivedSequence = 0; receivedSequence < SEQUENCES_COUNT; receivedSequence += gap ) {
+            check( !datagramSequencer.isStale( receivedSequence ), "gap " + gap + ": sequence " + receivedSequence + " is stale" );
+            datagramSequencer.markReceived( receivedSequence );
+            header.clear();
+            datagramSequencer.writeHeader( header, datagramSequencer.nextSequence() );
+            final int ack     = header.getInt( 4 );
+            final int ackBits = header.getInt( 8 );
+            check( ack == receivedSequence, "gap " + gap + ": ack " + ack + " instead of " + receivedSequence );
+            for ( int sequence = 0; sequence <= receivedSequence + gap; sequence++ ) {
+                final boolean expected = sequence <= receivedSequence && sequence % gap == 0 && receivedSequence - sequence < DatagramSequencer.ACK_WINDOW;
+                check( DatagramSequencer.isAcknowledged( sequence, ack, ackBits ) == expected,
+                       "gap " + gap + ", ack " + ack + ": sequence " + sequence + ( expected ? " is not acknowledged" : " is acknowledged" ) );
+            }
+        }
+    }
+
+    /**
+        Checks that the datagrams not newer than the newest received one are stale, and that marking them changes nothing.
+    */
+    private static void testStale() {
+        final DatagramSequencer datagramSequencer = new DatagramSequencer();
+        final ByteBuffer        header            = ByteBuffer.allocate( DatagramSequencer.HEADER_LENGTH );
+        datagramSequencer.markReceived( 10 );
+        datagramSequencer.markReceived( 12 );
+        check( datagramSequencer.isStale( 12 ), "the newest received sequence is not stale" );
+        check( datagramSequencer.isStale( 11 ), "an older sequence is not stale" );
+        check( !datagramSequencer.isStale( 13 ), "a newer sequence is stale" );
+        datagramSequencer.markReceived( 11 );
+        datagramSequencer.writeHeader( header, datagramSequencer.nextSequence() );
+        check( header.getInt( 4 ) == 12, "ack " + header.getInt( 4 ) + " after marking a stale sequence" );
+        check( !DatagramSequencer.isAcknowledged( 11, header.getInt( 4 ), header.getInt( 8 ) ), "a stale sequence is acknowledged after marking it" );
+        check( DatagramSequencer.isAcknowledged( 10, header.getInt( 4 ), header.getInt( 8 ) ), "a received sequence is not acknowledged after marking a stale one" );
+    }
+
+}
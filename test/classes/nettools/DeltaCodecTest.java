@@ -0,0 +1,140 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.util.*;
+
+
+/**
+    Tests of the delta codec: applying the delta of two snapshots to the base must give the target snapshot,
+    the decoded entities of the unchanged records must be taken over, and the delta of equal snapshots must be empty.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class DeltaCodecTest {
+
+    /** Number of the random snapshot pairs tested. */
+    private static final int  PAIRS_COUNT = 500;
+    /** Maximal entity id of the random snapshots. */
+    private static final int  MAX_ID      = 400;
+    /** Seed of the random snapshots. */
+    private static final long RANDOM_SEED = 4321l;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if encoding or decoding a delta fails
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        final Random random = new Random( RANDOM_SEED );
+        for ( int pair = 0; pair < PAIRS_COUNT; pair++ ) {
+            final WorldSnapshot base   = createRandomSnapshot( random, pair, null );
+            final WorldSnapshot target = createRandomSnapshot( random, pair + 1, random.nextBoolean() ? base : null );
+            testDelta( base, target, "pair " + pair );
+            testDelta( new WorldSnapshot( pair ), target, "pair " + pair + " against the empty snapshot" );
+            testDelta( target, new WorldSnapshot( pair + 2 ), "pair " + pair + " to the empty snapshot" );
+        }
+        testEqualSnapshots( createRandomSnapshot( random, 0, null ) );
+        System.out.println( failuresCount == 0 ? "DeltaCodecTest passed." : "DeltaCodecTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Creates a random snapshot.
+        @param random random generator
+        @param tick tick of the snapshot
+        @param similarSnapshot if not null, most of the entities are taken from this snapshot (some are changed, removed or added)
+        @return the random snapshot
+    */
+    private static WorldSnapshot createRandomSnapshot( final Random random, final int tick, final WorldSnapshot similarSnapshot ) {
+        final WorldSnapshot snapshot = new WorldSnapshot( tick );
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            final int density = random.nextInt( 4 );   // Also empty sections
+            for ( int id = 0; id < MAX_ID; id++ ) {
+                final int similarIndex = similarSnapshot == null ? -1 : similarSnapshot.indexOf( section, id );
+                if ( similarIndex >= 0 && random.nextInt( 8 ) > 0 ) {
+                    if ( random.nextInt( 4 ) > 0 )   // Unchanged
+                        snapshot.addRecord( section, id, similarSnapshot.getRecord( section, similarIndex ), null );
+                    else                             // Changed, sometimes to an equal record in a new array
+                        snapshot.addRecord( section, id, random.nextBoolean() ? (byte[]) similarSnapshot.getRecord( section, similarIndex ).clone() : createRandomRecord( random ), null );
+                }
+                else if ( random.nextInt( 16 ) < density )
+                    snapshot.addRecord( section, id, createRandomRecord( random ), null );
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+        Creates a random record.
+        @param random random generator
+        @return the random record
+    */
+    private static byte[] createRandomRecord( final Random random ) {
+        final byte[] record = new byte[ random.nextInt( 4 ) == 0 ? random.nextInt( 300 ) : random.nextInt( 20 ) ];
+        random.nextBytes( record );
+        return record;
+    }
+
+    /**
+        Encodes the delta of two snapshots, applies it to the base, and checks the result against the target.
+        The entities of the base are set, so it can be checked that the unchanged ones are taken over.
+        @param base the base snapshot
+        @param target the target snapshot
+        @param message message of the checks
+        @throws IOException if encoding or decoding the delta fails
+    */
+    private static void testDelta( final WorldSnapshot base, final WorldSnapshot target, final String message ) throws IOException {
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ )
+            for ( int index = base.getSize( section ) - 1; index >= 0; index-- )
+                base.setEntity( section, index, new Integer( base.getId( section, index ) ) );
+        final ByteArrayOutputStream deltaBuffer = new ByteArrayOutputStream();
+        DeltaCodec.writeDelta( new DataOutputStream( deltaBuffer ), base, target );
+        final DataInputStream input  = new DataInputStream( new ByteArrayInputStream( deltaBuffer.toByteArray() ) );
+        final WorldSnapshot   result = DeltaCodec.readDelta( input, base, target.getTick() );
+        check( input.available() == 0, message + ": " + input.available() + " bytes of the delta are not read" );
+        check( result.getTick() == target.getTick(), message + ": tick " + result.getTick() + " instead of " + target.getTick() );
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            if ( result.getSize( section ) != target.getSize( section ) ) {
+                check( false, message + ", section " + section + ": " + result.getSize( section ) + " entities instead of " + target.getSize( section ) );
+                continue;
+            }
+            for ( int index = 0; index < target.getSize( section ); index++ ) {
+                final int id = target.getId( section, index );
+                check( result.getId( section, index ) == id, message + ", section " + section + ": id " + result.getId( section, index ) + " instead of " + id );
+                check( Arrays.equals( result.getRecord( section, index ), target.getRecord( section, index ) ), message + ", section " + section + ", id " + id + ": the record differs" );
+                final byte[] baseRecord = base.findRecord( section, id );
+                final boolean unchanged = baseRecord != null && Arrays.equals( baseRecord, target.getRecord( section, index ) );
+                check( unchanged == ( result.getEntity( section, index ) != null ), message + ", section " + section + ", id " + id
+                       + ( unchanged ? ": the entity of the unchanged record is not taken over" : ": the changed record has the entity of the base" ) );
+            }
+        }
+    }
+
+    /**
+        Checks that the delta of equal snapshots contains only the zero counts.
+        @param snapshot the snapshot
+        @throws IOException if encoding the delta fails
+    */
+    private static void testEqualSnapshots( final WorldSnapshot snapshot ) throws IOException {
+        final ByteArrayOutputStream deltaBuffer = new ByteArrayOutputStream();
+        DeltaCodec.writeDelta( new DataOutputStream( deltaBuffer ), snapshot, snapshot );
+        check( deltaBuffer.size() == SnapshotConsts.SECTIONS_COUNT * 2, "the delta of equal snapshots is " + deltaBuffer.size() + " bytes long" );
+    }
+
+}
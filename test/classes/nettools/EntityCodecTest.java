@@ -0,0 +1,189 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.awt.*;
+import classes.*;
+import classes.servertools.*;
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+import classes.servertools.gamecore.decorations.*;
+import java.util.Arrays;
+import java.util.Vector;     // Only the vector, because Map exists in here too
+
+
+/**
+    Tests of the entity codec: every entity class has to be decoded as it was encoded.
+    The positions and velocities are taken from the quantization grid, so they have to be decoded exactly.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class EntityCodecTest {
+
+    /** The codec under test. */
+    private static final EntityCodec entityCodec = new EntityCodec();
+    /** Number of the failed checks. */
+    private static int               failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if a record is corrupt
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        testBullet( new PointBullet( new FloatVector( 100.125f, 200.5f ), 0.0, 0, false, null ), 12.5f, -3.25f );
+        testBullet( new PointBullet( new FloatVector( 0.0f, 0.0f ), 0.0, 0, true, null ), -0.00390625f, 0.0f );
+        testBullet( new Rocket( new FloatVector( 1023.875f, 1.0f ), 0.0, null ), 100.0f, 100.0f );
+        testBullet( new ExplosiveGrenade( 0, new FloatVector( 64.0f, 63.875f ), 0.0, null ), -64.0f, 63.5f );
+        testBullet( new SplinterGrenade( 0, new FloatVector( 5.25f, 4000.0f ), 0.0, null ), 0.5f, -0.5f );
+        testPolylineShot( new Laser( 0, createPoints( new int[] { 10, 74, 11, 0 }, new int[] { 20, 20, -44, 8191 } ), null ) );
+        testPolylineShot( new Lightning( 0, createPoints( new int[] { 300, 236, 237 }, new int[] { 0, 64, 63 } ), null ) );
+        testExplosion( new Explosion( 640, 480, 30, 0, null ) );
+        testExplosion( new Explosion( 0, 8192, 1, 0, null ) );
+        testDecorationBurst( new DecorationBurst( 0, 100, 200, 10, 20, 300, 0x12345678, true, null ), 63 );
+        testDecorationBurst( new DecorationBurst( 0, 0, 64, 1, 1, 1, -1, false, new Color( 0x80ff0010, true ) ), 64 );
+        testPlayer( false );
+        testPlayer( true );
+        System.out.println( failuresCount == 0 ? "EntityCodecTest passed." : "EntityCodecTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Creates the points of a polyline shot.
+        @param xPoints the x coordinates of the points
+        @param yPoints the y coordinates of the points
+        @return the points
+    */
+    private static Vector createPoints( final int[] xPoints, final int[] yPoints ) {
+        final Vector points = new Vector( xPoints.length );
+        for ( int pointIndex = 0; pointIndex < xPoints.length; pointIndex++ )
+            points.add( new Point( xPoints[ pointIndex ], yPoints[ pointIndex ] ) );
+        return points;
+    }
+
+    /**
+        Tests the encoding of a bullet.
+        @param bullet the bullet
+        @param velocityX x coordinate of the velocity to be given to the bullet
+        @param velocityY y coordinate of the velocity to be given to the bullet
+        @throws IOException if the record is corrupt
+    */
+    private static void testBullet( final Bullet bullet, final float velocityX, final float velocityY ) throws IOException {
+        bullet.getVelocity().x = velocityX;
+        bullet.getVelocity().y = velocityY;
+        final String name    = bullet.getClass().getName();
+        final Bullet decoded = EntityCodec.decodeBullet( entityCodec.encodeBullet( bullet ) );
+        check( decoded.getClass() == bullet.getClass(), name + " decoded as " + decoded.getClass().getName() );
+        check( decoded.position.x == bullet.position.x && decoded.position.y == bullet.position.y, name + " position" );
+        check( decoded.getVelocity().x == velocityX && decoded.getVelocity().y == velocityY, name + " velocity" );
+        if ( bullet instanceof PointBullet )
+            check( ( (PointBullet) decoded ).isDoubleSized() == ( (PointBullet) bullet ).isDoubleSized(), name + " double sized" );
+    }
+
+    /**
+        Tests the encoding of a polyline shot.
+        @param polylineShot the polyline shot
+        @throws IOException if the record is corrupt
+    */
+    private static void testPolylineShot( final PolylineShot polylineShot ) throws IOException {
+        final String       name    = polylineShot.getClass().getName();
+        final PolylineShot decoded = EntityCodec.decodePolylineShot( entityCodec.encodePolylineShot( polylineShot ) );
+        check( decoded.getClass() == polylineShot.getClass(), name + " decoded as " + decoded.getClass().getName() );
+        check( Arrays.equals( decoded.getXPoints(), polylineShot.getXPoints() ), name + " x points" );
+        check( Arrays.equals( decoded.getYPoints(), polylineShot.getYPoints() ), name + " y points" );
+    }
+
+    /**
+        Tests the encoding of an explosion.
+        @param explosion the explosion
+        @throws IOException if the record is corrupt
+    */
+    private static void testExplosion( final Explosion explosion ) throws IOException {
+        final Explosion decoded = EntityCodec.decodeExplosion( entityCodec.encodeExplosion( explosion ) );
+        check( decoded.getPositionX() == explosion.getPositionX() && decoded.getPositionY() == explosion.getPositionY(), "explosion position" );
+        check( decoded.getRange() == explosion.getRange(), "explosion range" );
+    }
+
+    /**
+        Tests the encoding of a decoration burst.
+        @param decorationBurst the decoration burst
+        @param spawnTick tick to be given to the decoration burst
+        @throws IOException if the record is corrupt
+    */
+    private static void testDecorationBurst( final DecorationBurst decorationBurst, final int spawnTick ) throws IOException {
+        decorationBurst.setSpawnTick( spawnTick );
+        final DecorationBurst decoded = EntityCodec.decodeDecorationBurst( entityCodec.encodeDecorationBurst( decorationBurst ) );
+        check( decoded.getSpawnTick() == spawnTick, "decoration burst spawn tick" );
+        check( decoded.getPositionX() == decorationBurst.getPositionX() && decoded.getPositionY() == decorationBurst.getPositionY(), "decoration burst position" );
+        check( decoded.getWidth() == decorationBurst.getWidth() && decoded.getHeight() == decorationBurst.getHeight(), "decoration burst size" );
+        check( decoded.getCount() == decorationBurst.getCount() && decoded.getSeed() == decorationBurst.getSeed(), "decoration burst count and seed" );
+        check( decoded.isRubble() == decorationBurst.isRubble(), "decoration burst rubble" );
+        if ( !decorationBurst.isRubble() )
+            check( decoded.getColor().getRGB() == decorationBurst.getColor().getRGB(), "decoration burst color" );
+    }
+
+    /**
+        Tests the encodings of a player: its state, informations and summary.
+        @param onRope tells whether the worm of the player is on a rope
+        @throws IOException if a record is corrupt
+    */
+    private static void testPlayer( final boolean onRope ) throws IOException {
+        final PlayerState playerState = Player.createPlayerState();
+        playerState.position.x                = 333.375f;
+        playerState.position.y                = 64.0f;
+        playerState.getVelocity().x           = -1.5f;
+        playerState.getVelocity().y           = 0.25f;
+        playerState.mousePosition.x           = 400.0f;
+        playerState.mousePosition.y           = -8.125f;
+        playerState.setPositionType( 2 );
+        playerState.direction                 = 3;
+        playerState.phase                     = 1;
+        playerState.weaponIndex               = 7;
+        playerState.weapon                    = new WeaponStatus( 64, 63 );
+        playerState.hitPoint                  = -1;
+        playerState.oxygenBottleLevel         = 0;
+        playerState.lastInputFrameTick        = Integer.MAX_VALUE;
+        playerState.lastInputFrameAppliedTick = SnapshotConsts.NO_TICK;
+        playerState.name                      = "rpd";
+        playerState.wormColorIndex            = 5;
+        playerState.killCounter               = 64;
+        playerState.deathCounter              = -64;
+        if ( onRope ) {
+            playerState.rope = new Rope( playerState.position );
+            playerState.rope.position.x = 12.5f;
+            playerState.rope.position.y = 700.0f;
+        }
+        final byte[]      infoRecord = entityCodec.encodePlayerInfo( playerState );
+        final PlayerState decoded    = EntityCodec.decodePlayerState( entityCodec.encodePlayerState( playerState ), infoRecord );
+        check( decoded.position.x == playerState.position.x && decoded.position.y == playerState.position.y, "player position" );
+        check( decoded.getVelocity().x == playerState.getVelocity().x && decoded.getVelocity().y == playerState.getVelocity().y, "player velocity" );
+        check( decoded.mousePosition.x == playerState.mousePosition.x && decoded.mousePosition.y == playerState.mousePosition.y, "player mouse position" );
+        check( decoded.getPositionType() == playerState.getPositionType(), "player position type" );
+        check( decoded.direction == playerState.direction && decoded.phase == playerState.phase, "player direction and phase" );
+        check( decoded.weaponIndex == playerState.weaponIndex, "player weapon index" );
+        check( decoded.weapon.getReloadingTime() == 63 && decoded.weapon.getMaxReloadingTime() == 64, "player weapon status" );
+        check( decoded.hitPoint == playerState.hitPoint && decoded.oxygenBottleLevel == playerState.oxygenBottleLevel, "player hit point and oxygen" );
+        check( decoded.lastInputFrameTick == playerState.lastInputFrameTick && decoded.lastInputFrameAppliedTick == playerState.lastInputFrameAppliedTick, "player input frame ticks" );
+        check( onRope == ( decoded.rope != null ), "player rope" );
+        if ( onRope )
+            check( decoded.rope.position.x == playerState.rope.position.x && decoded.rope.position.y == playerState.rope.position.y, "player rope end position" );
+        check( playerState.name.equals( decoded.name ) && decoded.wormColorIndex == playerState.wormColorIndex, "player name and color" );
+        check( decoded.killCounter == playerState.killCounter && decoded.deathCounter == playerState.deathCounter, "player counters" );
+        final PlayerState summarized = EntityCodec.decodePlayerSummary( entityCodec.encodePlayerSummary( playerState ), null );
+        check( (int) summarized.position.x >> GeneralConsts.WALL_WIDTH_SHIFT  == (int) playerState.position.x >> GeneralConsts.WALL_WIDTH_SHIFT
+            && (int) summarized.position.y >> GeneralConsts.WALL_HEIGHT_SHIFT == (int) playerState.position.y >> GeneralConsts.WALL_HEIGHT_SHIFT, "player summary wall cell" );
+    }
+
+}
@@ -0,0 +1,227 @@
+
+package classes.nettools;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+
+
+/**
+    Tests of the frame assembler: the frames have to be assembled the same whatever pieces their bytes arrive in,
+    the unread rest of a payload has to be skipped, and invalid frame headers have to be refused.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class FrameAssemblerTest implements TransportConsts {
+
+    /** Payload lengths of the test frames (the last one is larger than the initial buffer of the assembler). */
+    private static final int[] PAYLOAD_LENGTHS = new int[] { 0, 1, 5, 300, 0, 20000, 7 };
+    /** Sizes of the pieces the bytes arrive in. */
+    private static final int[] PIECE_SIZES     = new int[] { 1, 2, 3, 4, 5, 7, 64, 8191, 100000 };
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        A channel giving its bytes in pieces of a fixed size (like a socket channel receiving segments).
+    */
+    private static class PieceChannel implements ReadableByteChannel {
+
+        /** The bytes to give. */
+        private final ByteBuffer bytes;
+        /** Size of the pieces. */
+        private final int        pieceSize;
+
+        /**
+            Creates a new PieceChannel.
+            @param bytes the bytes to give
+            @param pieceSize size of the pieces
+        */
+        PieceChannel( final byte[] bytes, final int pieceSize ) {
+            this.bytes     = ByteBuffer.wrap( bytes );
+            this.pieceSize = pieceSize;
+        }
+
+        /**
+            Reads the next piece.
+            @param destination buffer to read into
+            @return number of bytes read, or -1 if all bytes have been given
+        */
+        public int read( final ByteBuffer destination ) {
+            if ( !bytes.hasRemaining() )
+                return -1;
+            final int length = Math.min( pieceSize, Math.min( bytes.remaining(), destination.remaining() ) );
+            for ( int index = 0; index < length; index++ )
+                destination.put( bytes.get() );
+            return length;
+        }
+
+        /**
+            Tells whether the channel is open.
+            @return always true
+        */
+        public boolean isOpen() {
+            return true;
+        }
+
+        /**
+            Closes the channel (does nothing).
+        */
+        public void close() {
+        }
+
+    }
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if a frame can't be written
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        testPartialReads();
+        testSkippedPayload();
+        testInvalidLength();
+        testInputFrameRoundTrip();
+        System.out.println( failuresCount == 0 ? "FrameAssemblerTest passed." : "FrameAssemblerTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Returns the value of a byte of the payload of a test frame.
+        @param frameIndex index of the frame
+        @param byteIndex index of the byte in the payload
+        @return the value of the byte
+    */
+    private static byte getPayloadByte( final int frameIndex, final int byteIndex ) {
+        return (byte) ( frameIndex * 31 + byteIndex * 7 );
+    }
+
+    /**
+        Writes the test frames.
+        @return the bytes of the test frames
+    */
+    private static byte[] writeTestFrames() {
+        final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        ByteBuffer frameBuffer = null;
+        for ( int frameIndex = 0; frameIndex < PAYLOAD_LENGTHS.length; frameIndex++ ) {
+            final PayloadBuffer payload = new PayloadBuffer();
+            for ( int byteIndex = 0; byteIndex < PAYLOAD_LENGTHS[ frameIndex ]; byteIndex++ )
+                payload.write( getPayloadByte( frameIndex, byteIndex ) );
+            frameBuffer = FrameAssembler.writeFrame( frameBuffer, (byte) frameIndex, payload );
+            frames.write( frameBuffer.array(), 0, frameBuffer.limit() );
+        }
+        return frames.toByteArray();
+    }
+
+    /**
+        Checks that the frames are assembled the same whatever pieces their bytes arrive in.
+        @throws IOException if the assembler refuses a frame
+    */
+    private static void testPartialReads() throws IOException {
+        final byte[] frames = writeTestFrames();
+        for ( int pieceSizeIndex = 0; pieceSizeIndex < PIECE_SIZES.length; pieceSizeIndex++ ) {
+            final PieceChannel   channel        = new PieceChannel( frames, PIECE_SIZES[ pieceSizeIndex ] );
+            final FrameAssembler frameAssembler = new FrameAssembler();
+            int frameIndex = 0;
+            while ( true ) {
+                if ( !frameAssembler.nextFrame() ) {
+                    if ( frameAssembler.readFrom( channel ) < 0 )
+                        break;
+                    continue;
+                }
+                final String     message = "pieces of " + PIECE_SIZES[ pieceSizeIndex ] + ", frame " + frameIndex;
+                final ByteBuffer payload = frameAssembler.getFramePayload();
+                check( frameIndex < PAYLOAD_LENGTHS.length, message + ": unexpected frame" );
+                if ( frameIndex >= PAYLOAD_LENGTHS.length )
+                    break;
+                check( frameAssembler.getFrameType() == frameIndex, message + ": type " + frameAssembler.getFrameType() );
+                check( payload.remaining() == PAYLOAD_LENGTHS[ frameIndex ], message + ": payload length " + payload.remaining() );
+                boolean payloadMatches = true;
+                for ( int byteIndex = 0; byteIndex < PAYLOAD_LENGTHS[ frameIndex ] && payload.hasRemaining(); byteIndex++ )
+                    payloadMatches &= payload.get() == getPayloadByte( frameIndex, byteIndex );
+                check( payloadMatches, message + ": payload differs" );
+                frameIndex++;
+            }
+            check( frameIndex == PAYLOAD_LENGTHS.length, "pieces of " + PIECE_SIZES[ pieceSizeIndex ] + ": " + frameIndex + " frames assembled" );
+        }
+    }
+
+    /**
+        Checks that the unread rest of a payload is skipped by the next frame.
+        @throws IOException if the assembler refuses a frame
+    */
+    private static void testSkippedPayload() throws IOException {
+        final PieceChannel   channel        = new PieceChannel( writeTestFrames(), Integer.MAX_VALUE );
+        final FrameAssembler frameAssembler = new FrameAssembler();
+        for ( int frameIndex = 0; frameIndex < PAYLOAD_LENGTHS.length; frameIndex++ ) {
+            while ( !frameAssembler.nextFrame() )
+                if ( frameAssembler.readFrom( channel ) < 0 ) {
+                    check( false, "skipped payloads: frame " + frameIndex + " is not assembled" );
+                    return;
+                }
+            check( frameAssembler.getFrameType() == frameIndex, "skipped payloads: frame " + frameIndex + " has type " + frameAssembler.getFrameType() );
+            if ( frameAssembler.getFramePayload().hasRemaining() )
+                frameAssembler.getFramePayload().get();   // Only the first byte is read
+        }
+        check( !frameAssembler.nextFrame() && frameAssembler.readFrom( channel ) < 0, "skipped payloads: unexpected frame" );
+    }
+
+    /**
+        Checks that a frame header with an invalid payload length is refused.
+    */
+    private static void testInvalidLength() {
+        final ByteBuffer header = ByteBuffer.allocate( FRAME_HEADER_LENGTH );
+        header.putInt( -1 );
+        header.put( FRAME_STATE_UPDATE );
+        final FrameAssembler frameAssembler = new FrameAssembler();
+        boolean refused = false;
+        try {
+            frameAssembler.readFrom( new PieceChannel( header.array(), Integer.MAX_VALUE ) );
+            frameAssembler.nextFrame();
+        }
+        catch ( IOException ie ) {
+            refused = true;
+        }
+        check( refused, "a negative payload length is not refused" );
+    }
+
+    /**
+        Checks that an input frame sent in a frame of the push transport is read back as it was written.
+        @throws IOException if writing fails
+    */
+    private static void testInputFrameRoundTrip() throws IOException {
+        final InputFrame    inputFrame = new InputFrame( 12345, 0x2b, 123.5f, -7.25f, 3, -2, 800, 600 );
+        final PayloadBuffer payload    = new PayloadBuffer();
+        inputFrame.writeTo( new DataOutputStream( payload ) );
+        final ByteBuffer frame = FrameAssembler.writeFrame( null, FRAME_INPUT, payload );
+        final byte[] frameBytes = new byte[ frame.remaining() ];
+        frame.get( frameBytes );
+        final PieceChannel   channel        = new PieceChannel( frameBytes, 3 );
+        final FrameAssembler frameAssembler = new FrameAssembler();
+        while ( !frameAssembler.nextFrame() )
+            if ( frameAssembler.readFrom( channel ) < 0 ) {
+                check( false, "input frame: the frame is not assembled" );
+                return;
+            }
+        check( frameAssembler.getFrameType() == FRAME_INPUT, "input frame: type " + frameAssembler.getFrameType() );
+        final InputFrame readInputFrame = InputFrame.readFrom( frameAssembler.getFramePayload() );
+        check( readInputFrame.tick == inputFrame.tick && readInputFrame.controlKeyBits == inputFrame.controlKeyBits
+               && readInputFrame.aimX == inputFrame.aimX && readInputFrame.aimY == inputFrame.aimY
+               && readInputFrame.weaponSelection == inputFrame.weaponSelection && readInputFrame.weaponRotation == inputFrame.weaponRotation
+               && readInputFrame.viewWidth == inputFrame.viewWidth && readInputFrame.viewHeight == inputFrame.viewHeight, "input frame: read back differently" );
+        check( !frameAssembler.getFramePayload().hasRemaining(), "input frame: payload is longer than the encoded input frame" );
+    }
+
+}
@@ -0,0 +1,143 @@
+
+package classes.nettools;
+
+import java.nio.*;
+import java.util.*;
+
+
+/**
+    Tests of the map journal: a client applying the updates must end up with the map datas of the server, the full update is
+    shared while the version does not change, and a full update must hold the map datas of its version even if walls are changed meanwhile.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class MapJournalTest implements SnapshotConsts {
+
+    /** Size of the test map datas. */
+    private static final int MAP_DATAS_LENGTH         = 1 << 16;
+    /** Size of the map datas changed by another thread while full updates are created. */
+    private static final int CHANGED_MAP_DATAS_LENGTH = 1 << 20;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws InterruptedException if the test is interrupted
+    */
+    public static void main( final String[] arguments ) throws InterruptedException {
+        testUpdates();
+        testCachedFullUpdate();
+        testConcurrentChanges();
+        System.out.println( failuresCount == 0 ? "MapJournalTest passed." : "MapJournalTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Applies an update to the map datas of a client.
+        @param clientDatas map datas of the client
+        @param clientVersion version of the map datas of the client
+        @param update the update to be applied
+        @return the new version of the map datas of the client
+    */
+    private static int applyUpdate( final byte[] clientDatas, final int clientVersion, final byte[] update ) {
+        final ByteBuffer input       = ByteBuffer.wrap( update );
+        final int        newVersion  = input.getInt();
+        final int        baseVersion = input.getInt();
+        if ( input.get() == MAP_UPDATE_FULL ) {
+            check( input.getInt() == clientDatas.length, "full update of a different map size" );
+            input.get( clientDatas );
+        }
+        else {
+            check( baseVersion == clientVersion, "changes update from version " + baseVersion + " applied to version " + clientVersion );
+            for ( int changesCount = input.getInt(); changesCount > 0; changesCount-- )
+                clientDatas[ input.getInt() ] = input.get();
+        }
+        check( !input.hasRemaining(), "update longer than its content" );
+        return newVersion;
+    }
+
+    /**
+        Checks that clients of different versions get the map datas of the server by the updates.
+    */
+    private static void testUpdates() {
+        final byte[]     datas      = new byte[ MAP_DATAS_LENGTH ];
+        final MapJournal mapJournal = new MapJournal( datas );
+        check( mapJournal.createUpdate( 0 ) == null, "update of the unchanged map" );
+        final byte[] clientDatas   = new byte[ MAP_DATAS_LENGTH ];
+        int          clientVersion = applyUpdate( clientDatas, NO_MAP_VERSION, mapJournal.createUpdate( NO_MAP_VERSION ) );
+        check( clientVersion == 0, "full update of version " + clientVersion + " instead of 0" );
+        for ( int round = 1; round <= 20; round++ ) {
+            for ( int change = round * 37; change > 0; change-- )
+                mapJournal.setWall( ( change * 7919 + round * 104729 ) % MAP_DATAS_LENGTH, (byte) ( round + change ) );
+            final byte[] update = mapJournal.createUpdate( clientVersion );
+            check( update[ 8 ] == MAP_UPDATE_CHANGES, "round " + round + ": full update instead of the changes" );
+            clientVersion = applyUpdate( clientDatas, clientVersion, update );
+            check( clientVersion == mapJournal.getVersion(), "round " + round + ": client version " + clientVersion + " instead of " + mapJournal.getVersion() );
+            check( Arrays.equals( clientDatas, datas ), "round " + round + ": the map datas of the client differ" );
+        }
+        for ( int change = MAP_JOURNAL_LENGTH; change >= 0; change-- )
+            mapJournal.setWall( change, (byte) ( datas[ change ] + 1 ) );
+        final byte[] update = mapJournal.createUpdate( clientVersion );
+        check( update[ 8 ] == MAP_UPDATE_FULL, "the changes instead of the full update for a client lagging more than the journal" );
+        clientVersion = applyUpdate( clientDatas, clientVersion, update );
+        check( clientVersion == mapJournal.getVersion() && Arrays.equals( clientDatas, datas ), "the map datas of a lagging client differ" );
+    }
+
+    /**
+        Checks that the full update is shared while the version does not change, and is recreated after a change.
+    */
+    private static void testCachedFullUpdate() {
+        final byte[]     datas      = new byte[ MAP_DATAS_LENGTH ];
+        final MapJournal mapJournal = new MapJournal( datas );
+        final byte[] fullUpdate = mapJournal.createUpdate( NO_MAP_VERSION );
+        check( mapJournal.createUpdate( NO_MAP_VERSION ) == fullUpdate, "the full update of the same version is encoded again" );
+        mapJournal.setWall( 5, (byte) 3 );
+        final byte[] changedFullUpdate = mapJournal.createUpdate( NO_MAP_VERSION );
+        check( changedFullUpdate != fullUpdate, "the full update of the previous version is returned after a change" );
+        final byte[] clientDatas = new byte[ MAP_DATAS_LENGTH ];
+        check( applyUpdate( clientDatas, NO_MAP_VERSION, changedFullUpdate ) == 1 && clientDatas[ 5 ] == 3, "the full update after a change does not hold the change" );
+    }
+
+    /**
+        Checks that a full update holds the map datas of its version while another thread changes walls.
+        The n-th change sets wall n, so the map datas of version v have exactly the walls before v set.
+        @throws InterruptedException if the test is interrupted
+    */
+    private static void testConcurrentChanges() throws InterruptedException {
+        final MapJournal mapJournal = new MapJournal( new byte[ CHANGED_MAP_DATAS_LENGTH ] );
+        final Thread changerThread = new Thread() {
+            public void run() {
+                for ( int wallIndex = 0; wallIndex < CHANGED_MAP_DATAS_LENGTH; wallIndex++ )
+                    mapJournal.setWall( wallIndex, (byte) 1 );
+            }
+        };
+        changerThread.start();
+        final byte[] clientDatas = new byte[ CHANGED_MAP_DATAS_LENGTH ];
+        do {
+            final int version = applyUpdate( clientDatas, NO_MAP_VERSION, mapJournal.createUpdate( NO_MAP_VERSION ) );
+            int firstUnsetWall = 0;
+            while ( firstUnsetWall < CHANGED_MAP_DATAS_LENGTH && clientDatas[ firstUnsetWall ] == 1 )
+                firstUnsetWall++;
+            int setWallsCount = firstUnsetWall;
+            for ( int wallIndex = firstUnsetWall; wallIndex < CHANGED_MAP_DATAS_LENGTH; wallIndex++ )
+                setWallsCount += clientDatas[ wallIndex ];
+            check( firstUnsetWall == version && setWallsCount == version, "full update of version " + version + " holds " + setWallsCount + " changes" );
+        } while ( changerThread.isAlive() );
+        changerThread.join();
+    }
+
+}
@@ -0,0 +1,126 @@
+
+package classes.nettools;
+
+import classes.clienttools.*;
+
+
+/**
+    Tests of the message log and the message receiver: every message has to be delivered once and in order, even if updates
+    are lost, repeated or overlap (when the acknowledgement of the client is late), and a client lagging more than the log
+    gets the last messages of the log.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class MessageLogTest implements SnapshotConsts {
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        testDelivery();
+        testRepeatedUpdates();
+        testLaggingClient();
+        System.out.println( failuresCount == 0 ? "MessageLogTest passed." : "MessageLogTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Returns the text of a test message.
+        @param sequence sequence of the message
+        @return the text of the message
+    */
+    private static String getMessage( final int sequence ) {
+        return "Message " + sequence + ( sequence % 3 == 0 ? " \u00e1rv\u00edzt\u0171r\u0151" : "" );
+    }
+
+    /**
+        Checks that the new messages of the receiver are the messages of a range of sequences.
+        @param messageReceiver the message receiver
+        @param firstSequence sequence of the first expected message
+        @param lastSequence sequence of the last expected message
+        @param description description of the checked update
+    */
+    private static void checkMessages( final MessageReceiver messageReceiver, final int firstSequence, final int lastSequence, final String description ) {
+        final int expectedCount = Math.max( lastSequence - firstSequence + 1, 0 );
+        check( messageReceiver.getMessages().size() == expectedCount, description + ": " + messageReceiver.getMessages().size() + " new messages instead of " + expectedCount );
+        for ( int index = Math.min( messageReceiver.getMessages().size(), expectedCount ) - 1; index >= 0; index-- )
+            check( getMessage( firstSequence + index ).equals( messageReceiver.getMessages().get( index ) ), description + ": message " + index + " is " + messageReceiver.getMessages().get( index ) );
+    }
+
+    /**
+        Checks that the messages are delivered when the client acknowledges every update.
+    */
+    private static void testDelivery() {
+        final MessageLog      messageLog      = new MessageLog();
+        final MessageReceiver messageReceiver = new MessageReceiver();
+        check( messageLog.createUpdate( messageReceiver.getLastSequence() ) == null, "update of the empty log" );
+        int sequence = NO_MESSAGE_SEQUENCE;
+        for ( int round = 1; round <= 40; round++ ) {
+            final int firstSequence = sequence + 1;
+            for ( int count = round % 5; count > 0; count-- )
+                messageLog.add( getMessage( ++sequence ) );
+            final byte[] update = messageLog.createUpdate( messageReceiver.getLastSequence() );
+            if ( firstSequence > sequence ) {
+                check( update == null, "round " + round + ": update without new messages" );
+                continue;
+            }
+            check( MessageLog.getLastSequence( update ) == sequence, "round " + round + ": last sequence of the update is " + MessageLog.getLastSequence( update ) );
+            check( messageReceiver.applyUpdate( update ), "round " + round + ": the update has no new messages" );
+            checkMessages( messageReceiver, firstSequence, sequence, "round " + round );
+            check( messageReceiver.getLastSequence() == sequence, "round " + round + ": the receiver is at sequence " + messageReceiver.getLastSequence() );
+        }
+    }
+
+    /**
+        Checks that repeated and overlapping updates (created before the acknowledgement arrived) don't deliver messages again.
+    */
+    private static void testRepeatedUpdates() {
+        final MessageLog      messageLog      = new MessageLog();
+        final MessageReceiver messageReceiver = new MessageReceiver();
+        for ( int sequence = 1; sequence <= 3; sequence++ )
+            messageLog.add( getMessage( sequence ) );
+        final byte[] firstUpdate = messageLog.createUpdate( NO_MESSAGE_SEQUENCE );
+        messageReceiver.applyUpdate( firstUpdate );
+        checkMessages( messageReceiver, 1, 3, "first update" );
+        check( !messageReceiver.applyUpdate( firstUpdate ), "the repeated update has new messages" );
+        checkMessages( messageReceiver, 1, 0, "repeated update" );
+        for ( int sequence = 4; sequence <= 6; sequence++ )
+            messageLog.add( getMessage( sequence ) );
+        final byte[] overlappingUpdate = messageLog.createUpdate( NO_MESSAGE_SEQUENCE );   // The acknowledgement of the first update has not arrived yet
+        check( messageReceiver.applyUpdate( overlappingUpdate ), "the overlapping update has no new messages" );
+        checkMessages( messageReceiver, 4, 6, "overlapping update" );
+        check( !messageReceiver.applyUpdate( firstUpdate ), "the late first update has new messages" );
+        check( messageReceiver.getLastSequence() == 6, "the late first update sets the receiver back to sequence " + messageReceiver.getLastSequence() );
+    }
+
+    /**
+        Checks that a client lagging more than the log gets the last messages of the log.
+    */
+    private static void testLaggingClient() {
+        final MessageLog      messageLog      = new MessageLog();
+        final MessageReceiver messageReceiver = new MessageReceiver();
+        final int             lastSequence    = MESSAGE_LOG_LENGTH * 3 + 5;
+        for ( int sequence = 1; sequence <= lastSequence; sequence++ )
+            messageLog.add( getMessage( sequence ) );
+        check( messageReceiver.applyUpdate( messageLog.createUpdate( NO_MESSAGE_SEQUENCE ) ), "the update of the lagging client has no new messages" );
+        checkMessages( messageReceiver, lastSequence - MESSAGE_LOG_LENGTH + 1, lastSequence, "lagging client" );
+        check( messageReceiver.getLastSequence() == lastSequence, "the lagging client is at sequence " + messageReceiver.getLastSequence() );
+    }
+
+}
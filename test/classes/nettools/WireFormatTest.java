@@ -0,0 +1,116 @@
+
+package classes.nettools;
+
+import java.io.*;
+
+
+/**
+    Tests of the wire format: every value has to be read back as it was written.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class WireFormatTest {
+
+    /** Varint values at the boundaries of the encoded lengths. */
+    private static final int[] VAR_INT_VALUES = new int[] { 0, 1, -1, 63, -63, 64, -64, 65, -65, 8191, -8192, 8192, -8193,
+                                                            Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1 };
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if reading or writing fails
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        testVarIntRoundTrips();
+        testVarIntLengths();
+        testCorruptVarInt();
+        testQuantizedRoundTrips();
+        System.out.println( failuresCount == 0 ? "WireFormatTest passed." : "WireFormatTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Writes a varint.
+        @param value value to be written
+        @return the written bytes
+        @throws IOException if writing fails
+    */
+    private static byte[] writeVarInt( final int value ) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        WireFormat.writeVarInt( new DataOutputStream( buffer ), value );
+        return buffer.toByteArray();
+    }
+
+    /**
+        Tests that the boundary values are read back as they were written, and nothing else is read.
+        @throws IOException if reading or writing fails
+    */
+    private static void testVarIntRoundTrips() throws IOException {
+        for ( int valueIndex = 0; valueIndex < VAR_INT_VALUES.length; valueIndex++ ) {
+            final int                  value = VAR_INT_VALUES[ valueIndex ];
+            final ByteArrayInputStream bytes = new ByteArrayInputStream( writeVarInt( value ) );
+            final int                  read  = WireFormat.readVarInt( new DataInputStream( bytes ) );
+            check( read == value, "varint " + value + " read back as " + read );
+            check( bytes.available() == 0, "varint " + value + " has " + bytes.available() + " unread byte(s)" );
+        }
+    }
+
+    /**
+        Tests the encoded lengths at the boundaries: 7 bits per byte of the zigzag value.
+        @throws IOException if writing fails
+    */
+    private static void testVarIntLengths() throws IOException {
+        check( writeVarInt(   0 ).length == 1, "0 is not 1 byte" );
+        check( writeVarInt(  -1 ).length == 1, "-1 is not 1 byte" );
+        check( writeVarInt(  63 ).length == 1, "63 is not 1 byte" );
+        check( writeVarInt( -64 ).length == 1, "-64 is not 1 byte" );
+        check( writeVarInt(  64 ).length == 2, "64 is not 2 bytes" );
+        check( writeVarInt( -65 ).length == 2, "-65 is not 2 bytes" );
+        check( writeVarInt( Integer.MAX_VALUE ).length == 5, "Integer.MAX_VALUE is not 5 bytes" );
+        check( writeVarInt( Integer.MIN_VALUE ).length == 5, "Integer.MIN_VALUE is not 5 bytes" );
+    }
+
+    /**
+        Tests that a varint without an end byte is reported as corrupt.
+    */
+    private static void testCorruptVarInt() {
+        try {
+            WireFormat.readVarInt( new DataInputStream( new ByteArrayInputStream( new byte[] { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0 } ) ) );
+            check( false, "corrupt varint is read" );
+        }
+        catch ( IOException ie ) {
+        }
+    }
+
+    /**
+        Tests that the values on the quantization grid are read back exactly, and the others within half a step.
+        @throws IOException if reading or writing fails
+    */
+    private static void testQuantizedRoundTrips() throws IOException {
+        final float[] values = new float[] { 0.0f, 0.125f, -0.125f, 1023.875f, -4096.5f, 0.3f, -7.77f };
+        for ( int valueIndex = 0; valueIndex < values.length; valueIndex++ ) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            WireFormat.writeQuantized( new DataOutputStream( buffer ), values[ valueIndex ], SnapshotConsts.POSITION_SCALE );
+            final float read = WireFormat.readQuantized( new DataInputStream( new ByteArrayInputStream( buffer.toByteArray() ) ), SnapshotConsts.POSITION_SCALE );
+            check( Math.abs( read - values[ valueIndex ] ) <= 0.5f / SnapshotConsts.POSITION_SCALE, "quantized " + values[ valueIndex ] + " read back as " + read );
+            if ( values[ valueIndex ] * SnapshotConsts.POSITION_SCALE == Math.round( values[ valueIndex ] * SnapshotConsts.POSITION_SCALE ) )
+                check( read == values[ valueIndex ], "quantized " + values[ valueIndex ] + " on the grid read back as " + read );
+        }
+    }
+
+}
@@ -0,0 +1,351 @@
+
+package classes.servertools;
+
+import java.io.*;
+import java.util.*;
+import classes.nettools.*;
+
+
+/**
+    Tests of the interest filter: a client must get only the entities near its view (and the unbounded ones), and when the
+    changed entities don't fit into the snapshot budget, they must be packed by priority (own worm, nearer worms, nearer projectiles,
+    cosmetic entities), the deferred ones must keep their previous records, and the client must get everything in later ticks.
+    The snapshots are made up here (the snapshot history is only asked for its last snapshot), the records are not real encoded entities.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class InterestFilterTest {
+
+    /** Width and height of the terrain. */
+    private static final int TERRAIN_SIZE    = 4096;
+    /** Index of the player of the client. */
+    private static final int OWN_INDEX       = 0;
+    /** X coordinate of the position of the own worm. */
+    private static final int OWN_X           = 1000;
+    /** Y coordinate of the position of the own worm. */
+    private static final int OWN_Y           = 1000;
+    /** Width of the view of the client. */
+    private static final int VIEW_WIDTH      = 640;
+    /** Height of the view of the client. */
+    private static final int VIEW_HEIGHT     = 480;
+    /** Overhead of a changed record in a delta assumed by the interest filter. */
+    private static final int RECORD_OVERHEAD = 3;
+
+    /** Positions of the worms (x, y), the first one is the own worm. */
+    private static final int[][] WORM_POSITIONS   = { { OWN_X, OWN_Y }, { 1100, 1050 }, { 3000, 3000 }, { 1400, 1300 } };
+    /** Ids of the worms of interest in the view. */
+    private static final int[]   VIEWED_WORM_IDS  = { 0, 1, 3 };
+    /** Ids of the bullets of the area test. */
+    private static final int[]   AREA_BULLET_IDS  = { 10, 11, 12 };
+    /** Positions of the bullets of the area test (x, y). */
+    private static final int[][] AREA_BULLET_POSITIONS = { { 900, 900 }, { 2000, 500 }, { 590, 670 } };
+    /** Ids of the bullets of interest in the view. */
+    private static final int[]   VIEWED_BULLET_IDS = { 10, 12 };
+    /** Id of the first bullet of the budget test. */
+    private static final int     FIRST_BULLET_ID  = 100;
+    /** Number of the bullets of the budget test. */
+    private static final int     BULLETS_COUNT    = 20;
+    /** Id of the decoration burst. */
+    private static final int     BURST_ID         = 20;
+
+    /** Lengths of the records of the sections. */
+    private static final int[]   RECORD_LENGTHS   = new int[ SnapshotConsts.SECTIONS_COUNT ];
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The static initializer. We initializing the RECORD_LENGTHS.
+    */
+    static {
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_PLAYER_INFOS      ] = 10;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_PLAYER_STATES     ] = 20;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_BULLETS           ] = 12;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_EXPLOSIONS        ] = 8;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_POLYLINE_SHOTS    ] = 8;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_PLAYER_SUMMARIES  ] = 6;
+        RECORD_LENGTHS[ SnapshotConsts.SECTION_DECORATION_BURSTS ] = 30;
+    }
+
+    /**
+        Snapshot history serving a made up last snapshot.
+    */
+    private static class TestSnapshotHistory extends SnapshotHistory {
+
+        /** The last snapshot. */
+        private WorldSnapshot lastSnapshot = EMPTY_SNAPSHOT;
+
+        /**
+            Creates a new TestSnapshotHistory.
+        */
+        TestSnapshotHistory() {
+            super( new Player[ 0 ], new Vector(), new Vector(), new Vector(), new Vector() );
+        }
+
+        /**
+            Returns the last snapshot.
+            @return the last snapshot
+        */
+        public WorldSnapshot getLastSnapshot() {
+            return lastSnapshot;
+        }
+
+        /**
+            Sets the last snapshot.
+            @param lastSnapshot the last snapshot
+        */
+        void setLastSnapshot( final WorldSnapshot lastSnapshot ) {
+            this.lastSnapshot = lastSnapshot;
+        }
+
+    }
+
+    /**
+        The client: applies the deltas to the snapshots it has received.
+    */
+    private static class TestClient {
+
+        /** The received snapshots, indexed by tick. */
+        private final WorldSnapshot[] receivedSnapshots = new WorldSnapshot[ SnapshotConsts.HISTORY_LENGTH ];
+        /** Tick of the last received snapshot. */
+        private int                   lastTick          = SnapshotConsts.NO_TICK;
+
+        /**
+            Applies a delta.
+            @param delta the delta
+            @return the received snapshot
+            @throws IOException if the delta is invalid
+        */
+        WorldSnapshot applyDelta( final byte[] delta ) throws IOException {
+            final DataInputStream input    = new DataInputStream( new ByteArrayInputStream( delta ) );
+            final int             tick     = input.readInt();
+            final int             baseTick = input.readInt();
+            input.readInt();   // Counter of the changes of the changeable server options
+            final WorldSnapshot   base     = baseTick == SnapshotConsts.NO_TICK ? SnapshotHistory.EMPTY_SNAPSHOT : receivedSnapshots[ baseTick % receivedSnapshots.length ];
+            check( base != null && base.getTick() == baseTick, "delta of tick " + tick + " against the unknown tick " + baseTick );
+            final WorldSnapshot snapshot = DeltaCodec.readDelta( input, base, tick );
+            receivedSnapshots[ tick % receivedSnapshots.length ] = snapshot;
+            lastTick = tick;
+            return snapshot;
+        }
+
+        /**
+            Returns the tick of the last received snapshot.
+            @return the tick of the last received snapshot
+        */
+        int getLastTick() {
+            return lastTick;
+        }
+
+    }
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws IOException if a delta is invalid
+    */
+    public static void main( final String[] arguments ) throws IOException {
+        testArea();
+        testWholeWorld();
+        testBudget();
+        System.out.println( failuresCount == 0 ? "InterestFilterTest passed." : "InterestFilterTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Creates a record.
+        @param section section of the record
+        @param id entity id of the record
+        @param version version of the content of the record
+        @return the record
+    */
+    private static byte[] createRecord( final int section, final int id, final int version ) {
+        final byte[] record = new byte[ RECORD_LENGTHS[ section ] ];
+        record[ 0 ] = (byte) id;
+        record[ 1 ] = (byte) version;
+        return record;
+    }
+
+    /**
+        Adds the records of the worms to a snapshot: the infos, the states and the summaries.
+        @param snapshot the snapshot
+    */
+    private static void addWorms( final WorldSnapshot snapshot ) {
+        for ( int id = 0; id < WORM_POSITIONS.length; id++ ) {
+            final int x = WORM_POSITIONS[ id ][ 0 ], y = WORM_POSITIONS[ id ][ 1 ];
+            snapshot.addRecord( SnapshotConsts.SECTION_PLAYER_INFOS    , id, createRecord( SnapshotConsts.SECTION_PLAYER_INFOS    , id, 0 ), null );
+            snapshot.addRecord( SnapshotConsts.SECTION_PLAYER_STATES   , id, createRecord( SnapshotConsts.SECTION_PLAYER_STATES   , id, 0 ), null, x, y, x, y );
+            snapshot.addRecord( SnapshotConsts.SECTION_PLAYER_SUMMARIES, id, createRecord( SnapshotConsts.SECTION_PLAYER_SUMMARIES, id, 0 ), null );
+        }
+    }
+
+    /**
+        Creates the snapshot of the area test.
+        @param tick tick of the snapshot
+        @return the snapshot
+    */
+    private static WorldSnapshot createAreaSnapshot( final int tick ) {
+        final WorldSnapshot snapshot = new WorldSnapshot( tick );
+        addWorms( snapshot );
+        for ( int bulletIndex = 0; bulletIndex < AREA_BULLET_IDS.length; bulletIndex++ ) {
+            final int x = AREA_BULLET_POSITIONS[ bulletIndex ][ 0 ], y = AREA_BULLET_POSITIONS[ bulletIndex ][ 1 ];
+            snapshot.addRecord( SnapshotConsts.SECTION_BULLETS, AREA_BULLET_IDS[ bulletIndex ], createRecord( SnapshotConsts.SECTION_BULLETS, AREA_BULLET_IDS[ bulletIndex ], 0 ), null, x, y, x, y );
+        }
+        snapshot.addRecord( SnapshotConsts.SECTION_DECORATION_BURSTS, BURST_ID, createRecord( SnapshotConsts.SECTION_DECORATION_BURSTS, BURST_ID, 0 ), null );
+        return snapshot;
+    }
+
+    /**
+        Checks the ids of a section of a snapshot.
+        @param snapshot the snapshot
+        @param section the section
+        @param expectedIds the expected ids in ascending order
+        @param message message of the check
+    */
+    private static void checkIds( final WorldSnapshot snapshot, final int section, final int[] expectedIds, final String message ) {
+        boolean same = snapshot.getSize( section ) == expectedIds.length;
+        for ( int index = 0; same && index < expectedIds.length; index++ )
+            same = snapshot.getId( section, index ) == expectedIds[ index ];
+        final StringBuffer ids = new StringBuffer();
+        for ( int index = 0; index < snapshot.getSize( section ); index++ )
+            ids.append( ' ' ).append( snapshot.getId( section, index ) );
+        check( same, message + ", section " + section + ": ids" + ids );
+    }
+
+    /**
+        Checks that the client gets the entities near its view and the unbounded ones.
+        @throws IOException if a delta is invalid
+    */
+    private static void testArea() throws IOException {
+        final TestSnapshotHistory snapshotHistory = new TestSnapshotHistory();
+        final InterestFilter      interestFilter  = new InterestFilter( snapshotHistory, OWN_INDEX, TERRAIN_SIZE, TERRAIN_SIZE );
+        interestFilter.setViewSize( VIEW_WIDTH, VIEW_HEIGHT );
+        snapshotHistory.setLastSnapshot( createAreaSnapshot( 0 ) );
+        final WorldSnapshot snapshot = new TestClient().applyDelta( interestFilter.createDelta( SnapshotConsts.NO_TICK, 0 ) );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_INFOS     , new int[] { 0, 1, 2, 3 }, "area" );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_SUMMARIES , new int[] { 0, 1, 2, 3 }, "area" );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_STATES    , VIEWED_WORM_IDS         , "area" );
+        checkIds( snapshot, SnapshotConsts.SECTION_BULLETS          , VIEWED_BULLET_IDS       , "area" );
+        checkIds( snapshot, SnapshotConsts.SECTION_DECORATION_BURSTS, new int[] { BURST_ID }  , "area" );
+    }
+
+    /**
+        Checks that the client gets every entity if its view size is unknown, or if it is larger than the terrain.
+        @throws IOException if a delta is invalid
+    */
+    private static void testWholeWorld() throws IOException {
+        final int[][] viewSizes = { { 0, 0 }, { -5, VIEW_HEIGHT }, { VIEW_WIDTH, -1 }, { 100000, 100000 } };
+        for ( int viewSizeIndex = 0; viewSizeIndex < viewSizes.length; viewSizeIndex++ ) {
+            final TestSnapshotHistory snapshotHistory = new TestSnapshotHistory();
+            final InterestFilter      interestFilter  = new InterestFilter( snapshotHistory, OWN_INDEX, TERRAIN_SIZE, TERRAIN_SIZE );
+            interestFilter.setViewSize( viewSizes[ viewSizeIndex ][ 0 ], viewSizes[ viewSizeIndex ][ 1 ] );
+            snapshotHistory.setLastSnapshot( createAreaSnapshot( 0 ) );
+            final WorldSnapshot snapshot = new TestClient().applyDelta( interestFilter.createDelta( SnapshotConsts.NO_TICK, 0 ) );
+            final String        message  = "view size " + viewSizes[ viewSizeIndex ][ 0 ] + "x" + viewSizes[ viewSizeIndex ][ 1 ];
+            checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_STATES, new int[] { 0, 1, 2, 3 }, message );
+            checkIds( snapshot, SnapshotConsts.SECTION_BULLETS      , AREA_BULLET_IDS          , message );
+        }
+    }
+
+    /**
+        Creates the snapshot of the budget test: the worms and bullets at growing distances from the own worm.
+        @param tick tick of the snapshot
+        @param bulletsVersion version of the records of the bullets
+        @return the snapshot
+    */
+    private static WorldSnapshot createBudgetSnapshot( final int tick, final int bulletsVersion ) {
+        final WorldSnapshot snapshot = new WorldSnapshot( tick );
+        addWorms( snapshot );
+        for ( int bulletIndex = 0; bulletIndex < BULLETS_COUNT; bulletIndex++ ) {
+            final int x = OWN_X + ( BULLETS_COUNT - bulletIndex ) * 50, y = OWN_Y;   // Farther ones have smaller ids
+            snapshot.addRecord( SnapshotConsts.SECTION_BULLETS, FIRST_BULLET_ID + bulletIndex, createRecord( SnapshotConsts.SECTION_BULLETS, FIRST_BULLET_ID + bulletIndex, bulletsVersion ), null, x, y, x, y );
+        }
+        snapshot.addRecord( SnapshotConsts.SECTION_DECORATION_BURSTS, BURST_ID, createRecord( SnapshotConsts.SECTION_DECORATION_BURSTS, BURST_ID, 0 ), null );
+        return snapshot;
+    }
+
+    /**
+        Returns the number of the bytes a record takes in the budget.
+        @param section section of the record
+        @return the number of the bytes the record takes in the budget
+    */
+    private static int getBudgetLength( final int section ) {
+        return RECORD_LENGTHS[ section ] + RECORD_OVERHEAD;
+    }
+
+    /**
+        Checks the packing into the snapshot budget by priority, the deferred entities, and that the client gets everything in later ticks.
+        @throws IOException if a delta is invalid
+    */
+    private static void testBudget() throws IOException {
+        final TestSnapshotHistory snapshotHistory = new TestSnapshotHistory();
+        final InterestFilter      interestFilter  = new InterestFilter( snapshotHistory, OWN_INDEX, TERRAIN_SIZE, TERRAIN_SIZE );
+        final TestClient          client          = new TestClient();
+        final int                 fittingBullets  = 5;
+        final int                 budget          = WORM_POSITIONS.length * ( getBudgetLength( SnapshotConsts.SECTION_PLAYER_INFOS ) + getBudgetLength( SnapshotConsts.SECTION_PLAYER_STATES ) )
+                                                    + fittingBullets * getBudgetLength( SnapshotConsts.SECTION_BULLETS );
+        interestFilter.setSnapshotBudget( budget );
+
+        // First tick: the infos and the own worm are mandatory, then the worms, then the nearest bullets; no room for the cosmetic entities
+        int tick = 0;
+        snapshotHistory.setLastSnapshot( createBudgetSnapshot( tick, 0 ) );
+        WorldSnapshot snapshot = client.applyDelta( interestFilter.createDelta( client.getLastTick(), 0 ) );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_INFOS , new int[] { 0, 1, 2, 3 }, "first packed tick" );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_STATES, new int[] { 0, 1, 2, 3 }, "first packed tick" );
+        final int[] nearestBulletIds = new int[ fittingBullets ];
+        for ( int index = 0; index < fittingBullets; index++ )
+            nearestBulletIds[ index ] = FIRST_BULLET_ID + BULLETS_COUNT - fittingBullets + index;
+        checkIds( snapshot, SnapshotConsts.SECTION_BULLETS          , nearestBulletIds, "first packed tick" );
+        checkIds( snapshot, SnapshotConsts.SECTION_PLAYER_SUMMARIES , new int[ 0 ]    , "first packed tick" );
+        checkIds( snapshot, SnapshotConsts.SECTION_DECORATION_BURSTS, new int[ 0 ]    , "first packed tick" );
+
+        // The same tick requested again against the same base is the same packing
+        check( Arrays.equals( interestFilter.createDelta( SnapshotConsts.NO_TICK, 0 ), interestFilter.createDelta( SnapshotConsts.NO_TICK, 0 ) ), "the same tick against the same base is packed differently" );
+
+        // The deferred entities arrive in the next ticks
+        for ( tick = 1; tick <= 10; tick++ ) {
+            snapshotHistory.setLastSnapshot( createBudgetSnapshot( tick, 0 ) );
+            snapshot = client.applyDelta( interestFilter.createDelta( client.getLastTick(), 0 ) );
+        }
+        checkSameRecords( snapshot, snapshotHistory.getLastSnapshot(), "after the deferred ticks" );
+
+        // Changed bullets: the nearest ones fit, the farther ones keep their previous records
+        snapshotHistory.setLastSnapshot( createBudgetSnapshot( tick, 1 ) );
+        snapshot = client.applyDelta( interestFilter.createDelta( client.getLastTick(), 0 ) );
+        final int changedFittingBullets = budget / getBudgetLength( SnapshotConsts.SECTION_BULLETS );
+        check( snapshot.getSize( SnapshotConsts.SECTION_BULLETS ) == BULLETS_COUNT, "changed bullets: " + snapshot.getSize( SnapshotConsts.SECTION_BULLETS ) + " bullets" );
+        for ( int index = 0; index < snapshot.getSize( SnapshotConsts.SECTION_BULLETS ); index++ ) {
+            final int expectedVersion = index >= BULLETS_COUNT - changedFittingBullets ? 1 : 0;
+            check( snapshot.getRecord( SnapshotConsts.SECTION_BULLETS, index )[ 1 ] == expectedVersion, "changed bullets: bullet " + snapshot.getId( SnapshotConsts.SECTION_BULLETS, index )
+                   + " has version " + snapshot.getRecord( SnapshotConsts.SECTION_BULLETS, index )[ 1 ] + " instead of " + expectedVersion );
+        }
+    }
+
+    /**
+        Checks that two snapshots have the same entities with equal records.
+        @param snapshot the snapshot to check
+        @param expectedSnapshot the expected snapshot
+        @param message message of the check
+    */
+    private static void checkSameRecords( final WorldSnapshot snapshot, final WorldSnapshot expectedSnapshot, final String message ) {
+        for ( int section = 0; section < SnapshotConsts.SECTIONS_COUNT; section++ ) {
+            check( snapshot.getSize( section ) == expectedSnapshot.getSize( section ), message + ", section " + section + ": " + snapshot.getSize( section ) + " entities instead of " + expectedSnapshot.getSize( section ) );
+            for ( int index = Math.min( snapshot.getSize( section ), expectedSnapshot.getSize( section ) ) - 1; index >= 0; index-- )
+                check( snapshot.getId( section, index ) == expectedSnapshot.getId( section, index ) && Arrays.equals( snapshot.getRecord( section, index ), expectedSnapshot.getRecord( section, index ) ),
+                       message + ", section " + section + ": entity " + snapshot.getId( section, index ) + " differs" );
+        }
+    }
+
+}
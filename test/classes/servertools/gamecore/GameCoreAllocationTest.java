@@ -0,0 +1,103 @@
+
+package classes.servertools.gamecore;
+
+import java.lang.reflect.*;
+import classes.*;
+import classes.options.*;
+import classes.servertools.*;
+import classes.utilities.*;
+
+
+/**
+    Test of the allocations of the game core: in the steady state (the pools are filled up) a cycle must not allocate,
+    neither when volleys of bullets are fired and stepped, sequentially or in parallel. It fails if the average allocated bytes of a cycle exceed the threshold
+    (reading the allocation meter itself allocates a few bytes per round).
+    Run it by its main method, it exits with a nonzero status if the check fails.
+*/
+public class GameCoreAllocationTest {
+
+    /** Maximal average allocated bytes of a cycle (a single object allocated in every cycle exceeds it). */
+    private static final int MAX_BYTES_PER_CYCLE         = 8;
+    /** Number of the measured rounds (the first one only warms up). */
+    private static final int ROUNDS_COUNT                = 4;
+    /** Number of the cycles of a round. */
+    private static final int CYCLES_PER_ROUND            = 20000;
+    /** A volley of bullets is fired in every this many cycles. */
+    private static final int FIRE_AT_CYCLES_COUNT        = 10;
+    /** Number of the bullets of a volley when the bullets are stepped sequentially. */
+    private static final int BULLETS_PER_VOLLEY          = 20;
+    /** Number of the bullets of a volley when the bullets are stepped in parallel (enough to step them in parallel indeed). */
+    private static final int PARALLEL_BULLETS_PER_VOLLEY = 100;
+    /** Number of the threads stepping the bullets in parallel (the meter only sees the calling thread, which steps the first part). */
+    private static final int PARALLEL_THREADS_COUNT      = 2;
+    /** Width and height of the map in walls. */
+    private static final int MAP_SIZE                    = 64;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+        @throws Exception if the server options can't be created
+    */
+    public static void main( final String[] arguments ) throws Exception {
+        if ( !AllocationMeter.isSupported() ) {
+            System.out.println( "GameCoreAllocationTest skipped: the allocated bytes are not supported by the runtime." );
+            return;
+        }
+        final long maxBytesPerCycle = Math.max( measureBytesPerCycle( 1, BULLETS_PER_VOLLEY ), measureBytesPerCycle( PARALLEL_THREADS_COUNT, PARALLEL_BULLETS_PER_VOLLEY ) );
+        if ( maxBytesPerCycle > MAX_BYTES_PER_CYCLE ) {
+            System.out.println( "GameCoreAllocationTest FAILED: " + maxBytesPerCycle + " bytes per cycle, the threshold is " + MAX_BYTES_PER_CYCLE + "." );
+            System.exit( 1 );
+        }
+        System.out.println( "GameCoreAllocationTest passed." );
+    }
+
+    /**
+        Fires volleys of bullets through a game core, and measures the allocated bytes of its cycles.
+        @param threadsCount number of the threads stepping the bullets
+        @param bulletsPerVolley number of the bullets of a volley
+        @return the maximal average allocated bytes of a cycle in the measured rounds
+        @throws Exception if the server options can't be created
+    */
+    private static long measureBytesPerCycle( final int threadsCount, final int bulletsPerVolley ) throws Exception {
+        final ServerOptions serverOptions = createServerOptions();
+        serverOptions.bulletSteppingThreadsCount = threadsCount;
+        final GameCoreHandler gameCoreHandler = new GameCoreHandler( null, serverOptions, new Player[ 4 ], new Map( new byte[ MAP_SIZE * MAP_SIZE ], MAP_SIZE, MAP_SIZE ) );
+        final AllocationMeter allocationMeter = new AllocationMeter();
+        final FloatVector     position        = new FloatVector();
+        long maxBytesPerCycle = 0l;
+        for ( int round = 0; round < ROUNDS_COUNT; round++ ) {
+            final long allocatedBytes = allocationMeter.getAllocatedBytes();
+            int maxBulletsCount = 0;
+            for ( int cycle = 0; cycle < CYCLES_PER_ROUND; cycle++ ) {
+                if ( cycle % FIRE_AT_CYCLES_COUNT == 0 )
+                    for ( int bulletIndex = 0; bulletIndex < bulletsPerVolley; bulletIndex++ ) {
+                        position.x = ( MAP_SIZE << GeneralConsts.WALL_WIDTH_SHIFT  ) / 2;   // The bullet copies the position
+                        position.y = ( MAP_SIZE << GeneralConsts.WALL_HEIGHT_SHIFT ) / 2;
+                        gameCoreHandler.getBullets().add( gameCoreHandler.createPointBullet( position, bulletIndex * 6.0 / bulletsPerVolley, 1, false, null ) );
+                    }
+                maxBulletsCount = Math.max( maxBulletsCount, gameCoreHandler.getBullets().size() );
+                gameCoreHandler.calculateNextMoment();
+            }
+            final long bytesPerCycle = ( allocationMeter.getAllocatedBytes() - allocatedBytes ) / CYCLES_PER_ROUND;
+            System.out.println( threadsCount + " thread(s), round " + round + ": " + bytesPerCycle + " bytes per cycle, max " + maxBulletsCount + " bullets, pools: " + gameCoreHandler.createPoolsReport() );
+            if ( round > 0 )
+                maxBytesPerCycle = Math.max( maxBytesPerCycle, bytesPerCycle );
+        }
+        gameCoreHandler.close();
+        return maxBytesPerCycle;
+    }
+
+    /**
+        Creates server options without their dialog (the constructor creates the dialog, which needs a display).
+        The options have their zero values, the game core handler does not need more.
+        @return the server options
+        @throws Exception if the runtime can't create objects without constructor
+    */
+    private static ServerOptions createServerOptions() throws Exception {
+        final Field unsafeField = Class.forName( "sun.misc.Unsafe" ).getDeclaredField( "theUnsafe" );
+        unsafeField.setAccessible( true );
+        final Object unsafe = unsafeField.get( null );
+        return (ServerOptions) unsafe.getClass().getMethod( "allocateInstance", new Class[] { Class.class } ).invoke( unsafe, new Object[] { ServerOptions.class } );
+    }
+
+}
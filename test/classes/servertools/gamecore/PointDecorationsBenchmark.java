@@ -0,0 +1,110 @@
+
+package classes.servertools.gamecore;
+
+import java.util.*;
+import classes.*;
+import classes.servertools.gamecore.decorations.*;
+
+
+/**
+    Benchmark of the stepping of the point decorations: compares the array based pass of MovementRules.stepPointDecorations()
+    to stepping every point decoration as a moving object by calculateForce() and MovingObject.step().
+    It is not part of the tests, run it by its main method; the optional argument is the number of the point decorations (100000 by default).
+    The point decorations removed by the walls are added again in every cycle, so the number of the stepped point decorations stays the same.
+*/
+public class PointDecorationsBenchmark {
+
+    /** Default number of the point decorations in flight. */
+    private static final int DEFAULT_POINTS_COUNT  = 100000;
+    /** Number of the warm-up cycles (to let the JIT compile the loops). */
+    private static final int WARM_UP_CYCLES_COUNT  = 500;
+    /** Number of the measured cycles. */
+    private static final int MEASURED_CYCLES_COUNT = 500;
+
+    /**
+        The entry point of the benchmark.
+        @param arguments used to take arguments from the running environment - the number of the point decorations is optional
+    */
+    public static void main( final String[] arguments ) {
+        final int           pointsCount   = arguments.length > 0 ? Integer.parseInt( arguments[ 0 ] ) : DEFAULT_POINTS_COUNT;
+        final Map           map           = PointDecorationsStepTest.createMap();
+        final MovementRules movementRules = new MovementRules( map );
+        for ( int round = 1; round <= 3; round++ ) {
+            final double pointDecorationsTime = measurePointDecorations( movementRules, pointsCount, WARM_UP_CYCLES_COUNT );
+            final double movingObjectsTime    = measureMovingObjects   ( movementRules, map, pointsCount, WARM_UP_CYCLES_COUNT );
+            System.out.println( "Round " + round + ", " + pointsCount + " point decorations: array pass " + format( pointDecorationsTime ) + " ms/cycle, moving objects " + format( movingObjectsTime ) + " ms/cycle." );
+        }
+    }
+
+    /**
+        Formats a time for printing.
+        @param time time in ms
+        @return the formatted time
+    */
+    private static String format( final double time ) {
+        return String.valueOf( Math.round( time * 1000.0 ) / 1000.0 );
+    }
+
+    /**
+        Measures the array based pass.
+        @param movementRules the movement rules
+        @param pointsCount number of the point decorations
+        @param warmUpCyclesCount number of the cycles stepped before measuring
+        @return the average time of a cycle in ms
+    */
+    private static double measurePointDecorations( final MovementRules movementRules, final int pointsCount, final int warmUpCyclesCount ) {
+        final Random           random           = new Random( 1l );
+        final PointDecorations pointDecorations = new PointDecorations();
+        long startTime = 0l;
+        for ( int cycle = -warmUpCyclesCount; cycle < MEASURED_CYCLES_COUNT; cycle++ ) {
+            if ( cycle == 0 )
+                startTime = System.currentTimeMillis();
+            PointDecorationsStepTest.addPointDecorations( pointDecorations, pointsCount - pointDecorations.size(), random );
+            movementRules.stepPointDecorations( pointDecorations, 0 );
+        }
+        return ( System.currentTimeMillis() - startTime ) / (double) MEASURED_CYCLES_COUNT;
+    }
+
+    /**
+        Measures the stepping of moving objects.
+        @param movementRules the movement rules
+        @param map the map
+        @param pointsCount number of the moving objects
+        @param warmUpCyclesCount number of the cycles stepped before measuring
+        @return the average time of a cycle in ms
+    */
+    private static double measureMovingObjects( final MovementRules movementRules, final Map map, final int pointsCount, final int warmUpCyclesCount ) {
+        final Random           random           = new Random( 1l );
+        final PointDecorations pointDecorations = new PointDecorations();
+        PointDecorationsStepTest.addPointDecorations( pointDecorations, pointsCount, random );
+        final MovingObject[] referenceObjects = PointDecorationsStepTest.createReferenceObjects( pointDecorations );
+        int  count     = referenceObjects.length;
+        long startTime = 0l;
+        for ( int cycle = -warmUpCyclesCount; cycle < MEASURED_CYCLES_COUNT; cycle++ ) {
+            if ( cycle == 0 )
+                startTime = System.currentTimeMillis();
+            for ( ; count < pointsCount; count++ )   // The removed ones are added again the same way as the point decorations (by reusing the objects)
+                resetReferenceObject( referenceObjects[ count ], random );
+            count = PointDecorationsStepTest.stepReferenceObjects( movementRules, map, referenceObjects, count );
+        }
+        return ( System.currentTimeMillis() - startTime ) / (double) MEASURED_CYCLES_COUNT;
+    }
+
+    /**
+        Resets a moving object to the state of a newly added point decoration.
+        @param referenceObject the moving object
+        @param random random generator of the position and direction
+    */
+    private static void resetReferenceObject( final MovingObject referenceObject, final Random random ) {
+        final int mapWidth  = PointDecorationsStepTest.MAP_WIDTH  << GeneralConsts.WALL_WIDTH_SHIFT;
+        final int mapHeight = PointDecorationsStepTest.MAP_HEIGHT << GeneralConsts.WALL_HEIGHT_SHIFT;
+        referenceObject.position.x = mapWidth  * ( 0.1f + 0.8f * random.nextFloat() );
+        referenceObject.position.y = mapHeight * ( 0.1f + 0.8f * random.nextFloat() );
+        final double direction = random.nextDouble() * 2.0 * Math.PI;
+        random.nextBoolean();   // Rubble or not, as for the point decorations
+        referenceObject.velocity.x =  PointDecorations.VELOCITY * (float) Math.cos( direction );
+        referenceObject.velocity.y = -PointDecorations.VELOCITY * (float) Math.sin( direction );
+        referenceObject.positionType = MovingObjectConsts.POSITION_TYPE_IN_AIR;
+    }
+
+}
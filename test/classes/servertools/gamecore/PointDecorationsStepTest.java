@@ -0,0 +1,167 @@
+
+package classes.servertools.gamecore;
+
+import java.awt.*;
+import java.util.*;
+import classes.*;
+import classes.servertools.gamecore.decorations.*;
+
+
+/**
+    Tests of the stepping of the point decorations: the array based pass of MovementRules.stepPointDecorations() must give
+    the same floats, bit for bit, as stepping every point decoration as a moving object by calculateForce() and MovingObject.step(),
+    and it must remove the same point decorations. Point decorations are stepped in air and in water, and they hit walls.
+    (Point bullets are not covered: they are still stepped as moving objects, axis by axis, there is no other path to compare.)
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class PointDecorationsStepTest implements MovingObjectConsts {
+
+    /** Width of the test map in walls. */
+    static final int  MAP_WIDTH    = 64;
+    /** Height of the test map in walls. */
+    static final int  MAP_HEIGHT   = 64;
+    /** Number of the point decorations stepped. */
+    private static final int  POINTS_COUNT = 5000;
+    /** Number of the cycles stepped. */
+    private static final int  CYCLES_COUNT = 300;
+    /** Seed of the random positions and directions. */
+    private static final long RANDOM_SEED  = 1234l;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        final Map              map              = createMap();
+        final MovementRules    movementRules    = new MovementRules( map );
+        final PointDecorations pointDecorations = new PointDecorations();
+        addPointDecorations( pointDecorations, POINTS_COUNT, new Random( RANDOM_SEED ) );
+        final MovingObject[] referenceObjects = createReferenceObjects( pointDecorations );
+        int referenceObjectsCount = referenceObjects.length;
+        for ( int cycle = 0; cycle < CYCLES_COUNT && failuresCount == 0; cycle++ ) {
+            movementRules.stepPointDecorations( pointDecorations, 0 );
+            referenceObjectsCount = stepReferenceObjects( movementRules, map, referenceObjects, referenceObjectsCount );
+            checkSameStates( pointDecorations, referenceObjects, referenceObjectsCount, cycle );
+        }
+        check( referenceObjectsCount < POINTS_COUNT && referenceObjectsCount > 0, "the walls are not hit or all the point decorations are removed: " + referenceObjectsCount + " remained" );
+        System.out.println( failuresCount == 0 ? "PointDecorationsStepTest passed." : "PointDecorationsStepTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Creates the test map: air in the upper half, water in the lower half, stone around the map and some brick walls inside.
+        @return the test map
+    */
+    static Map createMap() {
+        final byte[] datas       = new byte[ MAP_WIDTH * MAP_HEIGHT ];
+        final int    heightShift = Map.calculateHeightShift( MAP_WIDTH );
+        for ( int y = 0; y < MAP_HEIGHT; y++ )
+            for ( int x = 0; x < MAP_WIDTH; x++ ) {
+                byte wall = y < MAP_HEIGHT / 2 ? Map.WALL_EMPTY : ( y == MAP_HEIGHT / 2 ? Map.WALL_WATER_SURFACE : Map.WALL_WATER );
+                if ( x == 0 || y == 0 || x == MAP_WIDTH - 1 || y == MAP_HEIGHT - 1 )
+                    wall = Map.WALL_STONE;
+                else if ( x % 8 == 4 && y % 8 == 4 )
+                    wall = Map.WALL_BRICK;
+                datas[ ( y << heightShift ) + x ] = wall;
+            }
+        return new Map( datas, MAP_WIDTH, MAP_HEIGHT );
+    }
+
+    /**
+        Adds point decorations at random positions of the test map with random directions.
+        @param pointDecorations store of the point decorations
+        @param count number of the point decorations to add
+        @param random random generator of the positions and directions
+    */
+    static void addPointDecorations( final PointDecorations pointDecorations, final int count, final Random random ) {
+        final int mapWidth  = MAP_WIDTH  << GeneralConsts.WALL_WIDTH_SHIFT;
+        final int mapHeight = MAP_HEIGHT << GeneralConsts.WALL_HEIGHT_SHIFT;
+        for ( int index = 0; index < count; index++ )
+            pointDecorations.add( mapWidth * ( 0.1f + 0.8f * random.nextFloat() ), mapHeight * ( 0.1f + 0.8f * random.nextFloat() ), random.nextDouble() * 2.0 * Math.PI, random.nextBoolean(), Color.red );
+    }
+
+    /**
+        Creates moving objects having the same physical properties and states as the point decorations.
+        @param pointDecorations store of the point decorations
+        @return the moving objects
+    */
+    static MovingObject[] createReferenceObjects( final PointDecorations pointDecorations ) {
+        final MovingObject[] referenceObjects = new MovingObject[ pointDecorations.size() ];
+        for ( int index = 0; index < referenceObjects.length; index++ ) {
+            final MovingObject referenceObject = new MovingObject( PointDecorations.MASS, PointDecorations.SHAPE_RESISTANCE_RATE, PointDecorations.CAPACITY, PointDecorations.ANTI_GRAVITATION_RATE );
+            referenceObject.position.x = pointDecorations.getPositionsX ()[ index ];
+            referenceObject.position.y = pointDecorations.getPositionsY ()[ index ];
+            referenceObject.velocity.x = pointDecorations.getVelocitiesX()[ index ];
+            referenceObject.velocity.y = pointDecorations.getVelocitiesY()[ index ];
+            referenceObject.positionType = ( pointDecorations.getFlags()[ index ] & PointDecorations.FLAG_IN_WATER ) != 0 ? POSITION_TYPE_IN_WATER : POSITION_TYPE_IN_AIR;
+            referenceObjects[ index ] = referenceObject;
+        }
+        return referenceObjects;
+    }
+
+    /**
+        Steps the moving objects one cycle the way every moving object is stepped: by calculateForce() and MovingObject.step().
+        Objects hitting the map are removed the way point decorations are removed (the last one is moved to the place of the removed one).
+        @param movementRules the movement rules
+        @param map the map
+        @param referenceObjects the moving objects
+        @param count number of the moving objects
+        @return the new number of the moving objects
+    */
+    static int stepReferenceObjects( final MovementRules movementRules, final Map map, final MovingObject[] referenceObjects, final int count ) {
+        int newCount = count;
+        for ( int index = count - 1; index >= 0; index-- ) {
+            final MovingObject referenceObject = referenceObjects[ index ];
+            movementRules.calculateForce( referenceObject );
+            referenceObject.step( STEPPING_AXIS_BOTH, STEPPING_DIRECTION_FORWARD );
+            final byte wall = map.getWall( (int) referenceObject.position.x >> GeneralConsts.WALL_WIDTH_SHIFT, (int) referenceObject.position.y >> GeneralConsts.WALL_HEIGHT_SHIFT );
+            if ( wall == Map.WALL_STONE || wall == Map.WALL_BRICK )
+                referenceObjects[ index ] = referenceObjects[ --newCount ];
+            else
+                referenceObject.positionType = wall == Map.WALL_EMPTY ? POSITION_TYPE_IN_AIR : POSITION_TYPE_IN_WATER;
+        }
+        return newCount;
+    }
+
+    /**
+        Checks that the point decorations have the same states as the moving objects.
+        @param pointDecorations store of the point decorations
+        @param referenceObjects the moving objects
+        @param count number of the moving objects
+        @param cycle the stepped cycle
+    */
+    private static void checkSameStates( final PointDecorations pointDecorations, final MovingObject[] referenceObjects, final int count, final int cycle ) {
+        check( pointDecorations.size() == count, "cycle " + cycle + ": " + pointDecorations.size() + " point decorations instead of " + count );
+        for ( int index = Math.min( count, pointDecorations.size() ) - 1; index >= 0; index-- ) {
+            final MovingObject referenceObject = referenceObjects[ index ];
+            final boolean      inWater         = ( pointDecorations.getFlags()[ index ] & PointDecorations.FLAG_IN_WATER ) != 0;
+            if ( Float.floatToIntBits( pointDecorations.getPositionsX ()[ index ] ) != Float.floatToIntBits( referenceObject.position.x )
+              || Float.floatToIntBits( pointDecorations.getPositionsY ()[ index ] ) != Float.floatToIntBits( referenceObject.position.y )
+              || Float.floatToIntBits( pointDecorations.getVelocitiesX()[ index ] ) != Float.floatToIntBits( referenceObject.velocity.x )
+              || Float.floatToIntBits( pointDecorations.getVelocitiesY()[ index ] ) != Float.floatToIntBits( referenceObject.velocity.y )
+              || inWater != ( referenceObject.positionType == POSITION_TYPE_IN_WATER ) ) {
+                check( false, "cycle " + cycle + ", point decoration " + index + ": position " + pointDecorations.getPositionsX()[ index ] + "," + pointDecorations.getPositionsY()[ index ]
+                              + " velocity " + pointDecorations.getVelocitiesX()[ index ] + "," + pointDecorations.getVelocitiesY()[ index ] + ( inWater ? " in water" : " in air" )
+                              + " instead of " + referenceObject.position.x + "," + referenceObject.position.y + " velocity " + referenceObject.velocity.x + "," + referenceObject.velocity.y );
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+
+package classes.utilities;
+
+import classes.servertools.gamecore.*;
+import classes.servertools.gamecore.bullets.*;
+
+
+/**
+    Tests of the object pool: the released objects have to be acquired once each, the objects beyond the capacity must be dropped,
+    and the hit rate has to be counted. The pooled objects of the game core (the point bullets and the explosions) are checked too:
+    a reused object must be the same as a newly created one.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class ObjectPoolTest {
+
+    /** Capacity of the tested pool. */
+    private static final int CAPACITY = 16;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        testAcquiring();
+        testCapacity();
+        testPointBulletReuse();
+        testExplosionReuse();
+        System.out.println( failuresCount == 0 ? "ObjectPoolTest passed." : "ObjectPoolTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Checks that every released object is acquired exactly once, and that the acquirings and the hits are counted.
+    */
+    private static void testAcquiring() {
+        final ObjectPool objectPool = new ObjectPool( CAPACITY );
+        check( objectPool.acquire() == null, "an object is acquired from the empty pool" );
+        check( objectPool.createReport().equals( "hit rate 0% of 1 acquirings" ), "report of the empty pool: " + objectPool.createReport() );
+        final Object[] objects = new Object[ CAPACITY / 2 ];
+        for ( int index = 0; index < objects.length; index++ )
+            objectPool.release( objects[ index ] = new Object() );
+        final boolean[] acquired = new boolean[ objects.length ];
+        for ( int count = 0; count < objects.length; count++ ) {
+            final Object object = objectPool.acquire();
+            int index = objects.length - 1;
+            while ( index >= 0 && objects[ index ] != object )
+                index--;
+            check( index >= 0 && !acquired[ index ], "acquiring " + count + ": " + ( index < 0 ? "not a released object" : "the object is acquired again" ) );
+            if ( index >= 0 )
+                acquired[ index ] = true;
+        }
+        check( objectPool.acquire() == null, "an object is acquired from the emptied pool" );
+        check( objectPool.getAcquiringsCount() == objects.length + 2, objectPool.getAcquiringsCount() + " acquirings instead of " + ( objects.length + 2 ) );
+        check( objectPool.getHitsCount() == objects.length, objectPool.getHitsCount() + " hits instead of " + objects.length );
+        check( objectPool.createReport().equals( "hit rate 80% of 10 acquirings" ), "report: " + objectPool.createReport() );
+    }
+
+    /**
+        Checks that the objects released to the full pool are dropped.
+    */
+    private static void testCapacity() {
+        final ObjectPool objectPool = new ObjectPool( CAPACITY );
+        for ( int count = 0; count < CAPACITY + 3; count++ )
+            objectPool.release( new Integer( count ) );
+        for ( int count = 0; count < CAPACITY; count++ ) {
+            final Object object = objectPool.acquire();
+            check( object instanceof Integer && ( (Integer) object ).intValue() < CAPACITY, "acquiring " + count + " from the full pool: " + object );
+        }
+        check( objectPool.acquire() == null, "more objects are pooled than the capacity" );
+    }
+
+    /**
+        Checks that a used point bullet initialized for reuse is the same as a newly created one.
+    */
+    private static void testPointBulletReuse() {
+        final PointBullet pointBullet = new PointBullet( new FloatVector( 10.0f, 20.0f ), 1.0, 5, true, null );
+        pointBullet.setEntityId( 7 );
+        pointBullet.setPositionType( MovingObjectConsts.POSITION_TYPE_IN_WATER );
+        pointBullet.step( MovingObjectConsts.STEPPING_AXIS_BOTH, MovingObjectConsts.STEPPING_DIRECTION_FORWARD );
+        final FloatVector position = new FloatVector( 300.0f, 400.0f );
+        pointBullet.init( position, 2.0, 3, false, null );
+        final PointBullet newPointBullet = new PointBullet( position, 2.0, 3, false, null );
+        check( pointBullet.position.x == newPointBullet.position.x && pointBullet.position.y == newPointBullet.position.y, "position of the reused point bullet: " + pointBullet.position.x + "," + pointBullet.position.y );
+        check( pointBullet.getVelocity().x == newPointBullet.getVelocity().x && pointBullet.getVelocity().y == newPointBullet.getVelocity().y,
+               "velocity of the reused point bullet: " + pointBullet.getVelocity().x + "," + pointBullet.getVelocity().y );
+        check( pointBullet.getPositionType() == newPointBullet.getPositionType(), "position type of the reused point bullet: " + pointBullet.getPositionType() );
+        check( pointBullet.getEntityId() == newPointBullet.getEntityId(), "entity id of the reused point bullet: " + pointBullet.getEntityId() );
+        check( pointBullet.isDoubleSized() == newPointBullet.isDoubleSized(), "the reused point bullet is double sized" );
+    }
+
+    /**
+        Checks that a used explosion initialized for reuse is the same as a newly created one.
+    */
+    private static void testExplosionReuse() {
+        final Explosion explosion = new Explosion( 10, 20, 30, 40, null );
+        explosion.setEntityId( 7 );
+        explosion.decreaseAndGetRange();
+        explosion.init( 100, 200, 50, 60, null );
+        final Explosion newExplosion = new Explosion( 100, 200, 50, 60, null );
+        check( explosion.getPositionX() == newExplosion.getPositionX() && explosion.getPositionY() == newExplosion.getPositionY(), "position of the reused explosion: " + explosion.getPositionX() + "," + explosion.getPositionY() );
+        check( explosion.getRange() == newExplosion.getRange(), "range of the reused explosion: " + explosion.getRange() );
+        check( explosion.getEntityId() == newExplosion.getEntityId(), "entity id of the reused explosion: " + explosion.getEntityId() );
+    }
+
+}
@@ -0,0 +1,152 @@
+
+package classes.utilities;
+
+
+/**
+    Tests of the worker pool: the split of the range into parts, the join of the parts, and the rethrowing of the exceptions of the parts.
+    Run it by its main method, it exits with a nonzero status if a check fails.
+*/
+public class WorkerPoolTest {
+
+    /** Maximal number of the threads tested. */
+    private static final int  MAX_THREADS_COUNT = 5;
+    /** Maximal size of the ranges tested. */
+    private static final int  MAX_COUNT         = 50;
+    /** Time a slow part works for (ms). */
+    private static final long SLOW_PART_TIME    = 50l;
+
+    /** Number of the failed checks. */
+    private static int failuresCount;
+
+    /**
+        The entry point of the test.
+        @param arguments used to take arguments from the running environment - not used here
+    */
+    public static void main( final String[] arguments ) {
+        for ( int threadsCount = 1; threadsCount <= MAX_THREADS_COUNT; threadsCount++ ) {
+            final WorkerPool workerPool = new WorkerPool( threadsCount, "Test worker" );
+            testRangeSplit( workerPool );
+            testJoin( workerPool );
+            testPartException( workerPool );
+            workerPool.close();
+        }
+        System.out.println( failuresCount == 0 ? "WorkerPoolTest passed." : "WorkerPoolTest: " + failuresCount + " check(s) failed." );
+        if ( failuresCount > 0 )
+            System.exit( 1 );
+    }
+
+    /**
+        Checks a condition.
+        @param condition the condition
+        @param message message to be printed if the condition does not hold
+    */
+    private static void check( final boolean condition, final String message ) {
+        if ( !condition ) {
+            failuresCount++;
+            System.out.println( "FAILED: " + message );
+        }
+    }
+
+    /**
+        Checks that the parts start at count * partIndex / partsCount, and that every index of the range is executed exactly once, by its own part.
+        @param workerPool the worker pool to test
+    */
+    private static void testRangeSplit( final WorkerPool workerPool ) {
+        final int partsCount = workerPool.getThreadsCount();
+        for ( int count = 0; count <= MAX_COUNT; count++ ) {
+            final int[] executionsCounts = new int[ count ];
+            final int[] partIndices      = new int[ count ];
+            final int[] fromIndices      = new int[ partsCount ];
+            final int[] toIndices        = new int[ partsCount ];
+            workerPool.execute( new WorkerPool.Task() {
+                public void execute( final int partIndex, final int fromIndex, final int toIndex ) {
+                    fromIndices[ partIndex ] = fromIndex;
+                    toIndices  [ partIndex ] = toIndex;
+                    for ( int index = fromIndex; index < toIndex; index++ ) {
+                        executionsCounts[ index ]++;
+                        partIndices     [ index ] = partIndex;
+                    }
+                }
+            }, count );
+            for ( int partIndex = 0; partIndex < partsCount; partIndex++ ) {
+                check( fromIndices[ partIndex ] == count * partIndex / partsCount, partsCount + " parts of " + count + ": part " + partIndex + " starts at " + fromIndices[ partIndex ] );
+                check( toIndices[ partIndex ] == count * ( partIndex + 1 ) / partsCount, partsCount + " parts of " + count + ": part " + partIndex + " ends at " + toIndices[ partIndex ] );
+            }
+            for ( int index = 0; index < count; index++ ) {
+                check( executionsCounts[ index ] == 1, partsCount + " parts of " + count + ": index " + index + " is executed " + executionsCounts[ index ] + " times" );
+                check( fromIndices[ partIndices[ index ] ] <= index && index < toIndices[ partIndices[ index ] ], partsCount + " parts of " + count + ": index " + index + " is executed by part " + partIndices[ index ] + " outside of its range" );
+            }
+        }
+    }
+
+    /**
+        Checks that execute() returns only when all the parts are done, even if the workers are slower than the calling thread.
+        @param workerPool the worker pool to test
+    */
+    private static void testJoin( final WorkerPool workerPool ) {
+        final int   partsCount = workerPool.getThreadsCount();
+        final int[] doneParts  = new int[ partsCount ];
+        workerPool.execute( new WorkerPool.Task() {
+            public void execute( final int partIndex, final int fromIndex, final int toIndex ) {
+                if ( partIndex > 0 )
+                    try {
+                        Thread.sleep( SLOW_PART_TIME );
+                    }
+                    catch ( InterruptedException ie ) {
+                    }
+                doneParts[ partIndex ]++;
+            }
+        }, partsCount );
+        for ( int partIndex = 0; partIndex < partsCount; partIndex++ )
+            check( doneParts[ partIndex ] == 1, partsCount + " parts: part " + partIndex + " is done " + doneParts[ partIndex ] + " times when execute() returns" );
+    }
+
+    /**
+        Checks that the exception of a part is rethrown by execute() after all the other parts are done, and that the pool remains usable.
+        @param workerPool the worker pool to test
+    */
+    private static void testPartException( final WorkerPool workerPool ) {
+        final int              partsCount      = workerPool.getThreadsCount();
+        final int              failingPart     = partsCount - 1;
+        final int[]            doneParts       = new int[ partsCount ];
+        final RuntimeException thrownException = new IllegalStateException( "Failing part" );
+        RuntimeException caughtException = null;
+        try {
+            workerPool.execute( new WorkerPool.Task() {
+                public void execute( final int partIndex, final int fromIndex, final int toIndex ) {
+                    if ( partIndex == failingPart )
+                        throw thrownException;
+                    try {
+                        Thread.sleep( SLOW_PART_TIME );
+                    }
+                    catch ( InterruptedException ie ) {
+                    }
+                    doneParts[ partIndex ]++;
+                }
+            }, partsCount );
+        }
+        catch ( RuntimeException re ) {
+            caughtException = re;
+        }
+        check( caughtException == thrownException, partsCount + " parts: the exception of the failing part is not rethrown: " + caughtException );
+        for ( int partIndex = 0; partIndex < partsCount; partIndex++ )
+            if ( partIndex != failingPart )
+                check( doneParts[ partIndex ] == 1, partsCount + " parts: part " + partIndex + " is not done when the exception is rethrown" );
+        final int[] executionsCount = new int[ 1 ];
+        try {
+            workerPool.execute( new WorkerPool.Task() {
+                public void execute( final int partIndex, final int fromIndex, final int toIndex ) {
+                    if ( fromIndex < toIndex )
+                        synchronized ( executionsCount ) {
+                            executionsCount[ 0 ] += toIndex - fromIndex;
+                        }
+                }
+            }, MAX_COUNT );
+        }
+        catch ( RuntimeException re ) {
+            check( false, partsCount + " parts: an exception is rethrown again after the failed execution: " + re );
+        }
+        check( executionsCount[ 0 ] == MAX_COUNT, partsCount + " parts: the pool executes " + executionsCount[ 0 ] + " indices after the failed execution" );
+    }
+
+}
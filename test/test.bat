@@ -0,0 +1,15 @@
+v:\j2sdk1.4.2_04\bin\javac -classpath ..\src classes\nettools\*.java classes\servertools\*.java classes\servertools\gamecore\*.java classes\utilities\*.java classes\clienttools\*.java
+java -cp ..\src;. classes.nettools.WireFormatTest
+java -cp ..\src;. classes.nettools.DeltaCodecTest
+java -cp ..\src;. classes.nettools.FrameAssemblerTest
+java -cp ..\src;. classes.nettools.DatagramSequencerTest
+java -cp ..\src;. classes.nettools.MapJournalTest
+java -cp ..\src;. classes.nettools.MessageLogTest
+java -cp ..\src;. classes.nettools.EntityCodecTest
+java -cp ..\src;. classes.servertools.gamecore.GameCoreAllocationTest
+java -cp ..\src;. classes.servertools.gamecore.PointDecorationsStepTest
+java -cp ..\src;. classes.servertools.InterestFilterTest
+java -cp ..\src;. classes.utilities.WorkerPoolTest
+java -cp ..\src;. classes.utilities.ObjectPoolTest
+java -cp ..\src;. classes.clienttools.MovementPredictorTest
+java -cp ..\src;. classes.clienttools.SnapshotInterpolatorTest